@@ -0,0 +1,94 @@
+package benchmarks;
+
+import src.BulkLineWriter;
+import src.DateUtils;
+import src.UserInputFormatter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Random;
+
+
+/**
+ * Compare, en lignes par seconde, l'écriture de lignes de relevé par les méthodes de
+ * {@link UserInputFormatter} et {@link DateUtils} (une String par champ, puis un BufferedWriter UTF-8)
+ * et par {@link BulkLineWriter}. Les deux fichiers produits sont comparés.
+ *
+ * Usage : java benchmarks.BulkLineWriterBenchmark [lines]
+ */
+public final class BulkLineWriterBenchmark {
+
+    private static final String PATTERN = "dd/MM/yyyy";
+
+    private BulkLineWriterBenchmark() {
+        throw new UnsupportedOperationException("Cette classe ne peut pas être instanciée.");
+    }
+
+    public static void main(String[] args) throws IOException {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        int distinct = 4096;
+        Random random = new Random(42);
+        LocalDate[] dates = new LocalDate[distinct];
+        String[] labels = new String[distinct];
+        String[] cards = new String[distinct];
+        double[] prices = new double[distinct];
+        double[] amounts = new double[distinct];
+        for (int i = 0; i < distinct; i++) {
+            dates[i] = LocalDate.of(2024, 1, 1).plusDays(random.nextInt(366));
+            labels[i] = i % 5 == 0 ? "Prélèvement échéance n°" + i : "Achat magasin " + i;
+            cards[i] = String.format("%04d %04d %04d %04d", random.nextInt(10_000), random.nextInt(10_000),
+                    random.nextInt(10_000), random.nextInt(10_000));
+            prices[i] = random.nextInt(1_000_000) / 100.0;
+            amounts[i] = (random.nextDouble() - 0.5) * 20_000;
+        }
+
+        Path strings = Files.createTempFile("releve-strings", ".txt");
+        Path bytes = Files.createTempFile("releve-bytes", ".txt");
+        try {
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                try (Writer out = Files.newBufferedWriter(strings, StandardCharsets.UTF_8)) {
+                    for (int i = 0; i < lines; i++) {
+                        int r = i & (distinct - 1);
+                        out.write(DateUtils.formatDate(dates[r], PATTERN));
+                        out.write(';');
+                        out.write(labels[r]);
+                        out.write(';');
+                        out.write(UserInputFormatter.maskCreditCard(cards[r]));
+                        out.write(';');
+                        out.write(UserInputFormatter.formatPrice(prices[r], "EUR"));
+                        out.write(';');
+                        out.write(UserInputFormatter.formatAmount(amounts[r]));
+                        out.write('\n');
+                    }
+                }
+                double stringRate = lines / ((System.nanoTime() - start) / 1e9);
+
+                start = System.nanoTime();
+                BulkLineWriter.Template line = BulkLineWriter.template("{date:" + PATTERN + "};{text};{card};{price};{amount}\n");
+                try (BulkLineWriter out = BulkLineWriter.open(bytes)) {
+                    for (int i = 0; i < lines; i++) {
+                        int r = i & (distinct - 1);
+                        out.begin(line).date(dates[r]).text(labels[r]).card(cards[r])
+                                .price(prices[r], "EUR").amount(amounts[r]).end();
+                    }
+                }
+                double byteRate = lines / ((System.nanoTime() - start) / 1e9);
+
+                boolean identical = Files.mismatch(strings, bytes) < 0;
+                System.out.printf("tour %d : Strings %,.0f lignes/s, BulkLineWriter %,.0f lignes/s (x%.1f), %,d octets, identiques : %b%n",
+                        round, stringRate, byteRate, byteRate / stringRate, Files.size(bytes), identical);
+            }
+        } finally {
+            Files.deleteIfExists(strings);
+            Files.deleteIfExists(bytes);
+        }
+    }
+
+}
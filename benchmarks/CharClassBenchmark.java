@@ -0,0 +1,69 @@
+package benchmarks;
+
+import src.CharClass;
+
+import java.util.Random;
+
+
+/**
+ * Compare les chemins scalaire et vectoriel de {@link CharClass} selon la longueur de l'entrée,
+ * pour situer le seuil à partir duquel le chemin vectoriel est plus rapide.
+ *
+ * Usage : java --add-modules jdk.incubator.vector -cp ... benchmarks.CharClassBenchmark [totalChars]
+ */
+public final class CharClassBenchmark {
+
+    private static final int[] LENGTHS = {4, 8, 16, 24, 32, 48, 64, 128, 256, 1024, 4096};
+
+    private CharClassBenchmark() {
+        throw new UnsupportedOperationException("Cette classe ne peut pas être instanciée.");
+    }
+
+    public static void main(String[] args) {
+        if (!CharClass.isVectorAvailable()) {
+            System.out.println("API Vector indisponible : lancer avec --add-modules jdk.incubator.vector"
+                    + " et les classes de vector/ dans le classpath.");
+            return;
+        }
+        long totalChars = args.length > 0 ? Long.parseLong(args[0]) : 200_000_000L;
+        CharClass alphanumeric = CharClass.ASCII_ALPHANUMERIC;
+        char[] chars = alphanumericText(1 << 16, new Random(7));
+
+        for (int round = 0; round < 3; round++) {
+            int crossover = -1;
+            System.out.printf("tour %d%n%8s %14s %14s %8s%n", round, "longueur", "scalaire ns", "vectoriel ns", "gain");
+            for (int length : LENGTHS) {
+                int calls = (int) (totalChars / length);
+                double scalar = nanosPerCall(alphanumeric, chars, length, calls, false);
+                double vector = nanosPerCall(alphanumeric, chars, length, calls, true);
+                if (crossover < 0 && vector < scalar) crossover = length;
+                System.out.printf("%8d %14.1f %14.1f %7.2fx%n", length, scalar, vector, scalar / vector);
+            }
+            System.out.println("le chemin vectoriel gagne à partir de " + crossover + " caractères");
+        }
+    }
+
+    private static double nanosPerCall(CharClass charClass, char[] chars, int length, int calls, boolean vector) {
+        int positions = chars.length - length;
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0, from = 0; i < calls; i++, from = (from + 61) % positions) {
+            sink += vector
+                    ? charClass.indexOfMismatchVector(chars, from, from + length)
+                    : charClass.indexOfMismatchScalar(chars, from, from + length);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) System.out.print("");
+        return (double) elapsed / calls;
+    }
+
+    private static char[] alphanumericText(int length, Random random) {
+        String alphabet = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        return chars;
+    }
+
+}
@@ -0,0 +1,178 @@
+package benchmarks;
+
+import src.DateUtils;
+import src.EpochDayParser;
+import src.FlowStage;
+import src.UserInputFormatter;
+import src.UserInputValidator;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+
+
+/**
+ * Mesure le débit et la latence d'une chaîne validation → normalisation → enrichissement de dates
+ * construite avec {@link FlowStage}, derrière un abonné volontairement lent, pour plusieurs tailles de
+ * lot, avec et sans fusion des étapes.
+ *
+ * <p>La latence va de la soumission d'un événement à sa réception par l'abonné ; la colonne « retenus »
+ * additionne le plus grand nombre d'éléments retenus par chaque étape.</p>
+ *
+ * Usage : java benchmarks.FlowStageBenchmark [events] [sinkNanosPerEvent] [parallelism]
+ */
+public final class FlowStageBenchmark {
+
+    private FlowStageBenchmark() {
+        throw new UnsupportedOperationException("Cette classe ne peut pas être instanciée.");
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int events = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        long sinkNanos = args.length > 1 ? Long.parseLong(args[1]) : 5_000;
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        String[] emails = new String[events];
+        String[] dates = new String[events];
+        for (int i = 0; i < events; i++) {
+            emails[i] = i % 10 == 0 ? "invalide-" + i : " Client." + i + "@Exemple.FR ";
+            dates[i] = String.format("%04d-%02d-%02d", 1950 + i % 60, 1 + i % 12, 1 + i % 28);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            System.out.printf("tour %d (abonné : %d ns par événement, %d événements)%n", round, sinkNanos, events);
+            for (int batchSize : new int[]{16, 256}) {
+                run("séparées", false, 1, batchSize, emails, dates, sinkNanos);
+                run("fusionnées", true, 1, batchSize, emails, dates, sinkNanos);
+                if (parallelism > 1) run("fusionnées ×" + parallelism, true, parallelism, batchSize, emails, dates, sinkNanos);
+            }
+        }
+    }
+
+    private static void run(String label, boolean fused, int parallelism, int batchSize,
+                            String[] emails, String[] dates, long sinkNanos) throws InterruptedException {
+        Executor executor = ForkJoinPool.commonPool();
+        EpochDayParser parser = EpochDayParser.forPattern("yyyy-MM-dd");
+        LocalDate today = LocalDate.of(2025, 1, 1);
+
+        FlowStage<Event, Event> validation = FlowStage.filter(e -> UserInputValidator.isValidEmail(e.email.trim()),
+                executor, parallelism, batchSize);
+        FlowStage<Event, Event> normalization = FlowStage.map(e -> e.withEmail(UserInputFormatter.formatEmail(e.email)),
+                executor, parallelism, batchSize);
+        FlowStage<Event, Event> enrichment = FlowStage.map(e -> {
+            int epochDay = parser.parse(e.date);
+            if (epochDay == EpochDayParser.INVALID) return null;
+            LocalDate birthDate = LocalDate.ofEpochDay(epochDay);
+            return e.withAge(DateUtils.calculateAge(birthDate, today), DateUtils.isWorkingDay(birthDate));
+        }, executor, parallelism, batchSize);
+
+        SlowSubscriber sink = new SlowSubscriber(emails.length, sinkNanos);
+        SubmissionPublisher<Event> source = new SubmissionPublisher<>(executor, batchSize);
+        FlowStage<?, ?>[] stages;
+        if (fused) {
+            FlowStage<Event, Event> all = validation.fuse(normalization).fuse(enrichment);
+            source.subscribe(all);
+            all.subscribe(sink);
+            stages = new FlowStage<?, ?>[]{all};
+        } else {
+            source.subscribe(validation);
+            validation.subscribe(normalization);
+            normalization.subscribe(enrichment);
+            enrichment.subscribe(sink);
+            stages = new FlowStage<?, ?>[]{validation, normalization, enrichment};
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < emails.length; i++) {
+            source.submit(new Event(emails[i], dates[i], System.nanoTime()));
+        }
+        source.close();
+        sink.done.await();
+        long elapsed = System.nanoTime() - start;
+
+        int held = 0;
+        for (FlowStage<?, ?> stage : stages) {
+            held += stage.getHighWaterMark();
+        }
+        long[] latencies = Arrays.copyOf(sink.latencies, sink.received);
+        Arrays.sort(latencies);
+        System.out.printf("  %-16s lots de %3d : %,9.0f év./s, latence p50 %,8.1f µs, p99 %,9.1f µs, retenus %4d%n",
+                label, batchSize, sink.received / (elapsed / 1e9),
+                latencies[latencies.length / 2] / 1e3, latencies[latencies.length * 99 / 100] / 1e3, held);
+    }
+
+
+    private static final class Event {
+        final String email;
+        final String date;
+        final long submitted;
+        final int age;
+        final boolean bornOnWorkingDay;
+
+        Event(String email, String date, long submitted) {
+            this(email, date, submitted, -1, false);
+        }
+
+        private Event(String email, String date, long submitted, int age, boolean bornOnWorkingDay) {
+            this.email = email;
+            this.date = date;
+            this.submitted = submitted;
+            this.age = age;
+            this.bornOnWorkingDay = bornOnWorkingDay;
+        }
+
+        Event withEmail(String newEmail) {
+            return new Event(newEmail, date, submitted, age, bornOnWorkingDay);
+        }
+
+        Event withAge(int newAge, boolean workingDay) {
+            return new Event(email, date, submitted, newAge, workingDay);
+        }
+    }
+
+    /** Abonné qui demande un événement à la fois et occupe le processeur {@code nanos} ns par événement. */
+    private static final class SlowSubscriber implements Flow.Subscriber<Event> {
+        final long nanos;
+        final long[] latencies;
+        final CountDownLatch done = new CountDownLatch(1);
+        Flow.Subscription subscription;
+        int received;
+
+        SlowSubscriber(int capacity, long nanos) {
+            this.latencies = new long[capacity];
+            this.nanos = nanos;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(Event event) {
+            latencies[received++] = System.nanoTime() - event.submitted;
+            long deadline = System.nanoTime() + nanos;
+            while (System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            throwable.printStackTrace();
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            done.countDown();
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package benchmarks;
+
+import src.InputClassifier;
+import src.UserInputValidator;
+
+import java.util.Random;
+
+
+/**
+ * Compare, en valeurs par seconde, le classement d'une colonne de contacts libre par les cinq méthodes
+ * de {@link UserInputValidator} appelées l'une après l'autre et par {@link InputClassifier#classify}.
+ * Les deux résultats sont comparés.
+ *
+ * Usage : java benchmarks.InputClassifierBenchmark [values]
+ */
+public final class InputClassifierBenchmark {
+
+    private InputClassifierBenchmark() {
+        throw new UnsupportedOperationException("Cette classe ne peut pas être instanciée.");
+    }
+
+    public static void main(String[] args) {
+        int values = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        int distinct = 4096;
+        Random random = new Random(42);
+        String[] column = new String[distinct];
+        for (int i = 0; i < distinct; i++) {
+            switch (random.nextInt(6)) {
+                case 0: column[i] = "client" + i + "@exemple.fr"; break;
+                case 1: column[i] = String.format("06 %02d %02d %02d %02d", random.nextInt(100), random.nextInt(100),
+                        random.nextInt(100), random.nextInt(100)); break;
+                case 2: column[i] = "https://www.exemple" + i + ".fr/contact?id=" + i; break;
+                case 3: column[i] = String.format("%05d", random.nextInt(100_000)); break;
+                case 4: column[i] = String.format("%04d %04d %04d %04d", random.nextInt(10_000), random.nextInt(10_000),
+                        random.nextInt(10_000), random.nextInt(10_000)); break;
+                default: column[i] = "Voir avec le service " + i; break;
+            }
+        }
+
+        for (int round = 0; round < 3; round++) {
+            long checksum = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < values; i++) {
+                String s = column[i & (distinct - 1)];
+                int types = 0;
+                if (UserInputValidator.isValidEmail(s)) types |= InputClassifier.EMAIL;
+                if (UserInputValidator.isValidPhoneNumber(s)) types |= InputClassifier.PHONE_NUMBER;
+                if (UserInputValidator.isValidUrl(s)) types |= InputClassifier.URL;
+                if (UserInputValidator.isValidPostalCode(s)) types |= InputClassifier.POSTAL_CODE;
+                if (UserInputValidator.isValidCreditCardNumber(s)) types |= InputClassifier.CREDIT_CARD_NUMBER;
+                checksum += types * (long) (i & 7);
+            }
+            double validatorRate = values / ((System.nanoTime() - start) / 1e9);
+
+            long classifierChecksum = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < values; i++) {
+                classifierChecksum += InputClassifier.classify(column[i & (distinct - 1)]) * (long) (i & 7);
+            }
+            double classifierRate = values / ((System.nanoTime() - start) / 1e9);
+
+            System.out.printf("tour %d : validateurs %,.0f valeurs/s, InputClassifier %,.0f valeurs/s (x%.1f), identiques : %b%n",
+                    round, validatorRate, classifierRate, classifierRate / validatorRate, checksum == classifierChecksum);
+        }
+    }
+
+}
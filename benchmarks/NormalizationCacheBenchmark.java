@@ -0,0 +1,68 @@
+package benchmarks;
+
+import src.NormalizationCache;
+import src.UserInputFormatter;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.UnaryOperator;
+
+
+/**
+ * Compare le débit de removeAccents + capitalizeWords avec et sans {@link NormalizationCache}
+ * sur des entrées tirées selon une loi de Zipf.
+ *
+ * Usage : java benchmarks.NormalizationCacheBenchmark [distinctValues] [lookups] [cacheSize]
+ */
+public final class NormalizationCacheBenchmark {
+
+    private NormalizationCacheBenchmark() {
+        throw new UnsupportedOperationException("Cette classe ne peut pas être instanciée.");
+    }
+
+    public static void main(String[] args) {
+        int distinct = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+        int cacheSize = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+
+        String[] inputs = zipfInputs(distinct, lookups, 1.0, new Random(42));
+        UnaryOperator<String> operation =
+                s -> UserInputFormatter.capitalizeWords(UserInputFormatter.removeAccents(s));
+
+        for (int iteration = 0; iteration < 3; iteration++) {
+            NormalizationCache cache = new NormalizationCache(operation, cacheSize);
+            double uncached = throughput(operation, inputs);
+            double cached = throughput(cache, inputs);
+            System.out.printf("itération %d : sans cache %.0f op/s, avec cache %.0f op/s (x%.2f), taux de succès %.1f %%%n",
+                    iteration, uncached, cached, cached / uncached, cache.getHitRate() * 100);
+        }
+    }
+
+    private static double throughput(UnaryOperator<String> operation, String[] inputs) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (String input : inputs) {
+            sink += operation.apply(input).length();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) System.out.print("");
+        return inputs.length / (elapsed / 1e9);
+    }
+
+    private static String[] zipfInputs(int distinct, int count, double exponent, Random random) {
+        double[] cumulative = new double[distinct];
+        double total = 0;
+        for (int rank = 0; rank < distinct; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        String[] inputs = new String[count];
+        for (int i = 0; i < count; i++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            int rank = index >= 0 ? index : Math.min(-index - 1, distinct - 1);
+            inputs[i] = "émilie-" + rank + " dé la fontaine";
+        }
+        return inputs;
+    }
+
+}
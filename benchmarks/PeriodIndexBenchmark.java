@@ -0,0 +1,57 @@
+package benchmarks;
+
+import src.DateUtils;
+import src.PeriodIndex;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+
+/**
+ * Compare la recherche de toutes les paires de périodes qui se chevauchent :
+ * appels deux à deux à {@link DateUtils#periodsOverlap} contre {@link PeriodIndex#findAllOverlappingPairs()}.
+ *
+ * Usage : java benchmarks.PeriodIndexBenchmark [periods]
+ */
+public final class PeriodIndexBenchmark {
+
+    private PeriodIndexBenchmark() {
+        throw new UnsupportedOperationException("Cette classe ne peut pas être instanciée.");
+    }
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        Random random = new Random(42);
+        LocalDate[] starts = new LocalDate[n];
+        LocalDate[] ends = new LocalDate[n];
+        int[] startDays = new int[n];
+        int[] endDays = new int[n];
+        LocalDate origin = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < n; i++) {
+            starts[i] = origin.plusDays(random.nextInt(3_650));
+            ends[i] = starts[i].plusDays(random.nextInt(14));
+            startDays[i] = (int) starts[i].toEpochDay();
+            endDays[i] = (int) ends[i].toEpochDay();
+        }
+
+        for (int iteration = 0; iteration < 3; iteration++) {
+            long begin = System.nanoTime();
+            long pairwise = 0;
+            for (int i = 0; i < n; i++) {
+                for (int j = i + 1; j < n; j++) {
+                    if (DateUtils.periodsOverlap(starts[i], ends[i], starts[j], ends[j])) pairwise++;
+                }
+            }
+            long pairwiseNanos = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            long indexed = PeriodIndex.of(startDays, endDays).findAllOverlappingPairs().length;
+            long indexedNanos = System.nanoTime() - begin;
+
+            System.out.printf("itération %d : deux à deux %d paires en %d ms, index %d paires en %d ms (x%.0f)%n",
+                    iteration, pairwise, pairwiseNanos / 1_000_000, indexed, indexedNanos / 1_000_000,
+                    (double) pairwiseNanos / indexedNanos);
+        }
+    }
+
+}
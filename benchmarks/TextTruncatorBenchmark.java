@@ -0,0 +1,65 @@
+package benchmarks;
+
+import src.TextTruncator;
+import src.UserInputFormatter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+
+/**
+ * Compare le temps d'un extrait de 200 caractères d'un document de plusieurs mégaoctets : lecture
+ * complète puis {@link UserInputFormatter#truncateText}, ou lecture du seul début par {@link TextTruncator}.
+ *
+ * Usage : java benchmarks.TextTruncatorBenchmark [megabytes]
+ */
+public final class TextTruncatorBenchmark {
+
+    private static final int MAX_LENGTH = 200;
+
+    private TextTruncatorBenchmark() {
+        throw new UnsupportedOperationException("Cette classe ne peut pas être instanciée.");
+    }
+
+    public static void main(String[] args) throws IOException {
+        int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        Path file = Files.createTempFile("document", ".txt");
+        try {
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                String sentence = "Le contrat est conclu pour une durée déterminée de douze mois. ";
+                for (long written = 0; written < megabytes * 1_000_000L; written += sentence.length()) {
+                    out.write(sentence);
+                }
+            }
+
+            for (int round = 0; round < 3; round++) {
+                int documents = 20;
+                long start = System.nanoTime();
+                String whole = null;
+                for (int i = 0; i < documents; i++) {
+                    whole = UserInputFormatter.truncateText(Files.readString(file, StandardCharsets.UTF_8), MAX_LENGTH);
+                }
+                double wholeMillis = (System.nanoTime() - start) / 1e6 / documents;
+
+                start = System.nanoTime();
+                String streamed = null;
+                for (int i = 0; i < documents; i++) {
+                    try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                        streamed = TextTruncator.excerpt(in, MAX_LENGTH, false);
+                    }
+                }
+                double streamedMillis = (System.nanoTime() - start) / 1e6 / documents;
+
+                System.out.printf("tour %d : document entier %.2f ms, TextTruncator %.3f ms (x%.0f), identiques : %b%n",
+                        round, wholeMillis, streamedMillis, wholeMillis / streamedMillis, whole.equals(streamed));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
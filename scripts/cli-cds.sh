@@ -0,0 +1,29 @@
+#!/bin/sh
+# Compile les sources, les empaquette dans un jar et crée une archive AppCDS pour src.StreamingCli.
+#
+# L'archive contient les classes chargées pendant une exécution d'entraînement
+# (JDK et projet), déjà analysées et vérifiées : les lancements suivants les
+# chargent directement depuis l'archive. AppCDS n'accepte que des jars dans le classpath.
+#
+# Usage : scripts/cli-cds.sh [répertoire de sortie]
+set -e
+
+cd "$(dirname "$0")/.."
+OUT="${1:-out}"
+
+rm -rf "$OUT/classes"
+javac -encoding UTF-8 -d "$OUT/classes" src/*.java
+jar --create --file "$OUT/cw-helper.jar" --main-class src.StreamingCli -C "$OUT/classes" .
+
+printf '%s\n' \
+    'Éloïse Dupré;eloise.dupre@Mail.FR;29/02/2024' \
+    'jean martin;not-an-email;31/04/2024' |
+java -XX:ArchiveClassesAtExit="$OUT/cli.jsa" -jar "$OUT/cw-helper.jar" \
+    --column=1 --parallel --batch=1 --invalid=blank \
+    accents capitalize upper lower email is-email is-phone is-url is-postal is-card \
+    is-integer is-double is-alpha is-alnum initials truncate:20 \
+    is-date:dd/MM/yyyy is-working-day:dd/MM/yyyy 'date:dd/MM/yyyy>yyyy-MM-dd' age:yyyy-MM-dd \
+    > /dev/null
+
+echo "Archive créée : $OUT/cli.jsa"
+echo "Lancement : java -XX:SharedArchiveFile=$OUT/cli.jsa -XX:TieredStopAtLevel=1 -jar $OUT/cw-helper.jar ..."
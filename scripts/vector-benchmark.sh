@@ -0,0 +1,13 @@
+#!/bin/sh
+# Compile les sources avec le noyau vectoriel de src.CharClass (module incubateur
+# jdk.incubator.vector) et lance benchmarks.CharClassBenchmark.
+#
+# Usage : scripts/vector-benchmark.sh [nombre total de caractères par mesure]
+set -e
+
+cd "$(dirname "$0")/.."
+OUT=out/vector-classes
+
+rm -rf "$OUT"
+javac -encoding UTF-8 --add-modules jdk.incubator.vector -d "$OUT" src/*.java vector/*.java benchmarks/CharClassBenchmark.java
+java --add-modules jdk.incubator.vector -cp "$OUT" benchmarks.CharClassBenchmark "$@"
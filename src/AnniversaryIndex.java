@@ -0,0 +1,179 @@
+package src;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Objects;
+
+
+/**
+ * Index d'identifiants par jour anniversaire (mois et jour), pour répondre à « qui fête son anniversaire
+ * aujourd'hui ? » sans appeler {@link DateUtils#isBirthday(LocalDate, LocalDate)} sur chaque enregistrement.
+ *
+ * <p>Les identifiants sont rangés dans 366 tableaux primitifs, un par jour de l'année. Une requête coûte
+ * un temps proportionnel à la taille du résultat ; l'ajout est en O(1) amorti, la suppression en
+ * O(taille du jour). Les méthodes sont synchronisées.</p>
+ */
+public final class AnniversaryIndex {
+
+    /**
+     * Traitement des anniversaires du 29 février les années non bissextiles.
+     */
+    public enum LeapDayRule {
+        /** Fêtés le 28 février. */
+        FEBRUARY_28,
+        /** Fêtés le 1er mars. */
+        MARCH_1,
+        /** Non fêtés. */
+        SKIP
+    }
+
+    private static final int DAYS = 366;
+    private static final int[] DAYS_BEFORE_MONTH = {0, 31, 60, 91, 121, 152, 182, 213, 244, 274, 305, 335};
+    private static final int LEAP_DAY = bucketOf(2, 29);
+
+    private final LeapDayRule leapDayRule;
+    private final int[][] ids = new int[DAYS][];
+    private final int[] sizes = new int[DAYS];
+    private int size;
+
+
+    /**
+     * Crée un index vide, les anniversaires du 29 février étant fêtés le 28 février les années non bissextiles.
+     */
+    public AnniversaryIndex() {
+        this(LeapDayRule.FEBRUARY_28);
+    }
+
+    /**
+     * Crée un index vide.
+     *
+     * @param leapDayRule Traitement des anniversaires du 29 février les années non bissextiles.
+     */
+    public AnniversaryIndex(LeapDayRule leapDayRule) {
+        this.leapDayRule = Objects.requireNonNull(leapDayRule, "La règle du 29 février ne peut pas être null.");
+        for (int i = 0; i < DAYS; i++) {
+            ids[i] = new int[4];
+        }
+    }
+
+
+    /**
+     * Ajoute un enregistrement.
+     *
+     * @param id   L'identifiant de l'enregistrement.
+     * @param date La date de naissance (ou de début de contrat).
+     */
+    public synchronized void add(int id, LocalDate date) {
+        Objects.requireNonNull(date, "La date ne peut pas être null.");
+        int bucket = bucketOf(date.getMonthValue(), date.getDayOfMonth());
+        if (sizes[bucket] == ids[bucket].length) {
+            ids[bucket] = Arrays.copyOf(ids[bucket], ids[bucket].length * 2);
+        }
+        ids[bucket][sizes[bucket]++] = id;
+        size++;
+    }
+
+    /**
+     * Retire un enregistrement.
+     *
+     * @param id   L'identifiant de l'enregistrement.
+     * @param date La date sous laquelle il a été ajouté.
+     * @return true si l'enregistrement a été trouvé et retiré.
+     */
+    public synchronized boolean remove(int id, LocalDate date) {
+        if (date == null) return false;
+        int bucket = bucketOf(date.getMonthValue(), date.getDayOfMonth());
+        int[] values = ids[bucket];
+        for (int i = 0; i < sizes[bucket]; i++) {
+            if (values[i] == id) {
+                values[i] = values[--sizes[bucket]];
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Le nombre d'enregistrements indexés.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+
+    /**
+     * Renvoie les enregistrements dont l'anniversaire tombe à une date donnée.
+     *
+     * @param date La date.
+     * @return Les identifiants concernés.
+     */
+    public synchronized int[] dueOn(LocalDate date) {
+        if (date == null) return new int[0];
+        int[] result = new int[countOn(date)];
+        appendOn(date, result, 0);
+        return result;
+    }
+
+    /**
+     * Renvoie les enregistrements dont l'anniversaire tombe dans les {@code days} jours à partir d'une date.
+     *
+     * @param from La première date (incluse).
+     * @param days Le nombre de jours à couvrir.
+     * @return Les identifiants concernés, dans l'ordre des dates ; un identifiant apparaît une fois par
+     *         anniversaire compris dans la période.
+     */
+    public synchronized int[] dueWithin(LocalDate from, int days) {
+        if (from == null || days <= 0) return new int[0];
+        int count = 0;
+        LocalDate date = from;
+        for (int i = 0; i < days; i++, date = date.plusDays(1)) {
+            count += countOn(date);
+        }
+        int[] result = new int[count];
+        int position = 0;
+        date = from;
+        for (int i = 0; i < days; i++, date = date.plusDays(1)) {
+            position = appendOn(date, result, position);
+        }
+        return result;
+    }
+
+
+    private int countOn(LocalDate date) {
+        int count = sizes[bucketOf(date.getMonthValue(), date.getDayOfMonth())];
+        if (celebratesLeapDay(date)) count += sizes[LEAP_DAY];
+        return count;
+    }
+
+    private int appendOn(LocalDate date, int[] result, int position) {
+        int bucket = bucketOf(date.getMonthValue(), date.getDayOfMonth());
+        System.arraycopy(ids[bucket], 0, result, position, sizes[bucket]);
+        position += sizes[bucket];
+        if (celebratesLeapDay(date)) {
+            System.arraycopy(ids[LEAP_DAY], 0, result, position, sizes[LEAP_DAY]);
+            position += sizes[LEAP_DAY];
+        }
+        return position;
+    }
+
+    private boolean celebratesLeapDay(LocalDate date) {
+        if (date.isLeapYear()) return false;
+        switch (leapDayRule) {
+            case FEBRUARY_28:
+                return date.getMonthValue() == 2 && date.getDayOfMonth() == 28;
+            case MARCH_1:
+                return date.getMonthValue() == 3 && date.getDayOfMonth() == 1;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Numéro du jour dans une année bissextile (0 pour le 1er janvier, 365 pour le 31 décembre).
+     */
+    private static int bucketOf(int month, int day) {
+        return DAYS_BEFORE_MONTH[month - 1] + day - 1;
+    }
+
+}
@@ -0,0 +1,161 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+
+/**
+ * Applique une chaîne d'étapes de normalisation (par exemple celles de {@link UserInputFormatter})
+ * à des colonnes entières, en parallèle, et déduplique les résultats : deux résultats égaux
+ * partagent une seule et même instance de String.
+ */
+public final class BatchNormalizer {
+
+    /** En-tête d'un objet String (champs compris) avec des références compressées. */
+    private static final int STRING_HEADER_BYTES = 24;
+
+    /** En-tête du tableau de bytes qui porte le contenu d'une String. */
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private final List<UnaryOperator<String>> steps;
+    private final ConcurrentHashMap<String, String> canonical = new ConcurrentHashMap<>();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+
+    /**
+     * Crée un normaliseur appliquant les étapes dans l'ordre donné.
+     *
+     * @param steps Les étapes de normalisation, par exemple {@code UserInputFormatter::removeAccents}.
+     */
+    @SafeVarargs
+    public BatchNormalizer(UnaryOperator<String>... steps) {
+        if (steps == null || steps.length == 0) {
+            throw new IllegalArgumentException("Au moins une étape de normalisation est requise.");
+        }
+        List<UnaryOperator<String>> copy = new ArrayList<>(steps.length);
+        for (UnaryOperator<String> step : steps) {
+            copy.add(Objects.requireNonNull(step, "Une étape de normalisation ne peut pas être null."));
+        }
+        this.steps = List.copyOf(copy);
+    }
+
+
+    /**
+     * Normalise une valeur et renvoie l'instance canonique du résultat.
+     *
+     * @param input La valeur à normaliser.
+     * @return Le résultat normalisé, partagé avec tous les résultats égaux déjà produits.
+     */
+    public String normalize(String input) {
+        String result = input;
+        for (UnaryOperator<String> step : steps) {
+            result = step.apply(result);
+        }
+        processed.increment();
+        if (result == null) return null;
+
+        String existing = canonical.putIfAbsent(result, result);
+        if (existing == null) return result;
+        if (existing != result) {
+            deduplicated.increment();
+            // Si les étapes ont rendu l'entrée elle-même, l'appelant la conserve : rien n'est libéré.
+            if (result != input) bytesSaved.add(estimateSize(result));
+        }
+        return existing;
+    }
+
+
+    /**
+     * Normalise une colonne entière en parallèle.
+     *
+     * @param column Les valeurs à normaliser.
+     * @return Un nouveau tableau contenant les résultats normalisés, dans le même ordre.
+     */
+    public String[] normalizeColumn(String[] column) {
+        if (column == null) return new String[0];
+        String[] results = new String[column.length];
+        IntStream.range(0, column.length)
+                .parallel()
+                .forEach(i -> results[i] = normalize(column[i]));
+        return results;
+    }
+
+
+    /**
+     * Normalise une colonne entière en parallèle.
+     *
+     * @param column Les valeurs à normaliser.
+     * @return Une nouvelle liste contenant les résultats normalisés, dans le même ordre.
+     */
+    public List<String> normalizeColumn(List<String> column) {
+        if (column == null) return new ArrayList<>();
+        return new ArrayList<>(Arrays.asList(normalizeColumn(column.toArray(new String[0]))));
+    }
+
+
+    /**
+     * @return Le nombre de valeurs normalisées depuis la création ou le dernier {@link #clear()}.
+     */
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+
+    /**
+     * @return Le nombre de résultats distincts actuellement conservés dans la table canonique.
+     */
+    public int getDistinctCount() {
+        return canonical.size();
+    }
+
+    /**
+     * @return Le nombre de résultats remplacés par une instance canonique déjà existante.
+     */
+    public long getDeduplicatedCount() {
+        return deduplicated.sum();
+    }
+
+    /**
+     * Estime la mémoire économisée : la taille des copies produites par les étapes qui ont pu être
+     * libérées au profit d'une instance canonique. Une entrée rendue telle quelle par les étapes n'est
+     * pas comptée, puisque l'appelant la référence toujours.
+     *
+     * @return Le nombre estimé d'octets économisés.
+     */
+    public long getEstimatedBytesSaved() {
+        return bytesSaved.sum();
+    }
+
+
+    /**
+     * Vide la table canonique et remet les statistiques à zéro.
+     */
+    public void clear() {
+        canonical.clear();
+        processed.reset();
+        deduplicated.reset();
+        bytesSaved.reset();
+    }
+
+
+    /**
+     * Estime la taille en mémoire d'une String (chaînes compactes, références compressées).
+     */
+    static long estimateSize(String value) {
+        boolean latin1 = true;
+        for (int i = 0; i < value.length() && latin1; i++) {
+            latin1 = value.charAt(i) <= 0xFF;
+        }
+        long payload = latin1 ? value.length() : 2L * value.length();
+        long array = (ARRAY_HEADER_BYTES + payload + 7) & ~7L;
+        return STRING_HEADER_BYTES + array;
+    }
+
+}
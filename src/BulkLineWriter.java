@@ -0,0 +1,506 @@
+package src;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+
+/**
+ * Écriture en masse de lignes formatées (factures, relevés) directement en octets UTF-8.
+ *
+ * <p>Chaque ligne suit un {@link Template} : du texte fixe, encodé une seule fois, et des champs écrits
+ * comme le feraient {@link UserInputFormatter#formatAmount(double)}, {@link UserInputFormatter#formatPrice(double, String)},
+ * {@link UserInputFormatter#maskCreditCard(String)} et {@link DateUtils#formatDate(LocalDate, String)}, mais
+ * chiffre par chiffre dans un {@link ByteBuffer} direct réutilisé, sans String intermédiaire ni encodeur
+ * de charset pour l'ASCII. Le tampon est vidé dans le {@link FileChannel} par blocs entiers.</p>
+ *
+ * <pre>
+ * BulkLineWriter.Template line = BulkLineWriter.template("{date:dd/MM/yyyy};{card};{price}\n");
+ * try (BulkLineWriter out = BulkLineWriter.open(path)) {
+ *     out.begin(line).date(day).card(number).price(19.99, "EUR").end();
+ * }
+ * </pre>
+ *
+ * <p>Les montants suivent la locale par défaut au moment de la création de l'écrivain, comme
+ * {@code String.format}. Les cas rares (montant à un demi-centime près, NaN, valeurs énormes, locale
+ * sans chiffres ASCII) passent par les méthodes de {@link UserInputFormatter}, pour un résultat identique
+ * octet pour octet. Un écrivain n'est pas thread-safe.</p>
+ */
+public final class BulkLineWriter implements Closeable {
+
+    /** Taille par défaut du tampon : 1 Mio. */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private static final byte[] CARD_MASK = "**** **** **** ".getBytes(StandardCharsets.US_ASCII);
+    private static final double MAX_FAST_AMOUNT = 1e9;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final byte decimalSeparator;
+    private final char[] digits = new char[20];
+
+    private Template template;
+    private int field;
+    private long lines;
+    private long bytesWritten;
+
+
+    /**
+     * Crée un écrivain sur un canal ouvert en écriture ; {@link #close()} ferme le canal.
+     *
+     * @param channel    Le canal de destination.
+     * @param bufferSize Taille du tampon direct, en octets (au moins 64).
+     */
+    public BulkLineWriter(FileChannel channel, int bufferSize) {
+        this.channel = Objects.requireNonNull(channel, "Le canal ne peut pas être null.");
+        if (bufferSize < 64) throw new IllegalArgumentException("Tampon trop petit : " + bufferSize);
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+        boolean asciiNumbers = symbols.getZeroDigit() == '0' && symbols.getMinusSign() == '-'
+                && symbols.getDecimalSeparator() < 0x80;
+        // 0 : les montants passent toujours par String.format.
+        this.decimalSeparator = asciiNumbers ? (byte) symbols.getDecimalSeparator() : 0;
+    }
+
+    /**
+     * Crée (ou remplace) un fichier et renvoie un écrivain avec un tampon de {@link #DEFAULT_BUFFER_SIZE} octets.
+     *
+     * @param path Le fichier.
+     * @return L'écrivain.
+     * @throws IOException si le fichier ne peut pas être ouvert.
+     */
+    public static BulkLineWriter open(Path path) throws IOException {
+        return new BulkLineWriter(FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Compile un modèle de ligne. Les champs sont {@code {amount}}, {@code {price}}, {@code {card}},
+     * {@code {date:PATTERN}}, {@code {text}} et {@code {number}} ; {@code {{} s'écrit {@code {}.
+     *
+     * @param pattern Le modèle, par exemple {@code "{date:dd/MM/yyyy};{text};{amount}\n"}.
+     * @return Le modèle compilé, réutilisable par plusieurs écrivains.
+     */
+    public static Template template(String pattern) {
+        return Template.compile(Objects.requireNonNull(pattern, "Le modèle ne peut pas être null."));
+    }
+
+
+    /**
+     * Commence une ligne.
+     *
+     * @param line Le modèle de la ligne.
+     * @return Cet écrivain.
+     */
+    public BulkLineWriter begin(Template line) {
+        if (template != null) throw new IllegalStateException("La ligne précédente n'est pas terminée.");
+        template = Objects.requireNonNull(line, "Le modèle ne peut pas être null.");
+        field = 0;
+        putBytes(line.literals[0]);
+        return this;
+    }
+
+    /**
+     * Écrit un champ {@code {amount}}, comme {@link UserInputFormatter#formatAmount(double)}.
+     *
+     * @param amount Le montant.
+     * @return Cet écrivain.
+     */
+    public BulkLineWriter amount(double amount) {
+        next(Kind.AMOUNT);
+        putAmount(amount);
+        return closeField();
+    }
+
+    /**
+     * Écrit un champ {@code {price}}, comme {@link UserInputFormatter#formatPrice(double, String)}.
+     *
+     * @param price    Le prix.
+     * @param currency La devise.
+     * @return Cet écrivain.
+     */
+    public BulkLineWriter price(double price, String currency) {
+        next(Kind.PRICE);
+        putAmount(price);
+        ensure(1);
+        buffer.put((byte) ' ');
+        putText(String.valueOf(currency));
+        return closeField();
+    }
+
+    /**
+     * Écrit un champ {@code {card}}, comme {@link UserInputFormatter#maskCreditCard(String)}.
+     *
+     * @param creditCard Le numéro de carte.
+     * @return Cet écrivain.
+     */
+    public BulkLineWriter card(String creditCard) {
+        next(Kind.CARD);
+        if (creditCard != null && creditCard.length() >= 4) {
+            int found = 0;
+            for (int i = creditCard.length() - 1; i >= 0 && found < 4; i--) {
+                char c = creditCard.charAt(i);
+                if (c >= '0' && c <= '9') digits[3 - found++] = c;
+            }
+            if (found == 4) {
+                putBytes(CARD_MASK);
+                ensure(4);
+                for (int i = 0; i < 4; i++) {
+                    buffer.put((byte) digits[i]);
+                }
+            } else {
+                putText(UserInputFormatter.maskCreditCard(creditCard));
+            }
+        }
+        return closeField();
+    }
+
+    /**
+     * Écrit un champ {@code {date:PATTERN}}, comme {@link DateUtils#formatDate(LocalDate, String)}.
+     *
+     * @param date La date.
+     * @return Cet écrivain.
+     */
+    public BulkLineWriter date(LocalDate date) {
+        next(Kind.DATE);
+        EpochDayParser layout = template.dateLayouts[field];
+        int year = date == null ? 0 : date.getYear();
+        if (layout != null && year >= 1 && year <= 9999) {
+            ensure(layout.length());
+            for (int i = 0; i < layout.length(); i++) {
+                char literal = layout.literalAt(i);
+                buffer.put((byte) (literal != 0 ? literal : digitAt(date, layout, i)));
+            }
+        } else {
+            putText(DateFormats.format(date, template.datePatterns[field]));
+        }
+        return closeField();
+    }
+
+    /**
+     * Écrit un champ {@code {text}} ("null" pour null).
+     *
+     * @param text Le texte.
+     * @return Cet écrivain.
+     */
+    public BulkLineWriter text(CharSequence text) {
+        next(Kind.TEXT);
+        putText(text == null ? "null" : text);
+        return closeField();
+    }
+
+    /**
+     * Écrit un champ {@code {number}}.
+     *
+     * @param number Le nombre.
+     * @return Cet écrivain.
+     */
+    public BulkLineWriter number(long number) {
+        next(Kind.NUMBER);
+        if (number == Long.MIN_VALUE) {
+            putText(Long.toString(number));
+        } else {
+            ensure(20);
+            if (number < 0) buffer.put((byte) '-');
+            putDigits(Math.abs(number), 1);
+        }
+        return closeField();
+    }
+
+    /**
+     * Termine la ligne en cours.
+     *
+     * @return Cet écrivain.
+     */
+    public BulkLineWriter end() {
+        if (template == null) throw new IllegalStateException("Aucune ligne en cours.");
+        if (field != template.kinds.length) {
+            throw new IllegalStateException("Champ manquant : " + template.kinds[field].placeholder);
+        }
+        template = null;
+        lines++;
+        return this;
+    }
+
+
+    /**
+     * Écrit le contenu du tampon dans le canal.
+     */
+    public void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                bytesWritten += channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Vide le tampon et ferme le canal.
+     *
+     * @throws IOException si l'écriture ou la fermeture échoue.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } catch (UncheckedIOException e) {
+            channel.close();
+            throw e.getCause();
+        }
+        channel.close();
+    }
+
+    /**
+     * @return Le nombre de lignes terminées.
+     */
+    public long getLineCount() {
+        return lines;
+    }
+
+    /**
+     * @return Le nombre d'octets écrits dans le canal (hors tampon non vidé).
+     */
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+
+    private void next(Kind kind) {
+        if (template == null) throw new IllegalStateException("Aucune ligne en cours.");
+        if (field >= template.kinds.length || template.kinds[field] != kind) {
+            throw new IllegalStateException("Champ attendu : "
+                    + (field < template.kinds.length ? template.kinds[field].placeholder : "fin de ligne"));
+        }
+    }
+
+    private BulkLineWriter closeField() {
+        putBytes(template.literals[++field]);
+        return this;
+    }
+
+    private void putAmount(double amount) {
+        double abs = Math.abs(amount);
+        if (decimalSeparator == 0 || !(abs < MAX_FAST_AMOUNT)) {
+            putText(UserInputFormatter.formatAmount(amount));
+            return;
+        }
+        double scaled = abs * 100;
+        long cents = (long) scaled;
+        double fraction = scaled - cents;
+        // String.format arrondit la représentation décimale la plus courte : près d'un demi-centime,
+        // l'erreur binaire de abs * 100 pourrait donner l'autre arrondi.
+        if (Math.abs(fraction - 0.5) < 1e-3) {
+            putText(UserInputFormatter.formatAmount(amount));
+            return;
+        }
+        if (fraction > 0.5) cents++;
+        ensure(16);
+        if (Double.doubleToRawLongBits(amount) < 0) buffer.put((byte) '-');
+        putDigits(cents / 100, 1);
+        buffer.put(decimalSeparator);
+        putDigits(cents % 100, 2);
+    }
+
+    /** Écrit un entier positif sur au moins {@code minDigits} chiffres ; la place doit être réservée. */
+    private void putDigits(long value, int minDigits) {
+        int count = 0;
+        do {
+            digits[count++] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0 || count < minDigits);
+        while (count > 0) {
+            buffer.put((byte) digits[--count]);
+        }
+    }
+
+    private static int digitAt(LocalDate date, EpochDayParser layout, int position) {
+        int offset;
+        int value;
+        int width;
+        if (position >= layout.yearOffset() && position < layout.yearOffset() + 4) {
+            offset = position - layout.yearOffset();
+            value = date.getYear();
+            width = 4;
+        } else if (position >= layout.monthOffset() && position < layout.monthOffset() + 2) {
+            offset = position - layout.monthOffset();
+            value = date.getMonthValue();
+            width = 2;
+        } else {
+            offset = position - layout.dayOffset();
+            value = date.getDayOfMonth();
+            width = 2;
+        }
+        for (int i = width - 1; i > offset; i--) {
+            value /= 10;
+        }
+        return '0' + value % 10;
+    }
+
+    private void putBytes(byte[] bytes) {
+        int written = 0;
+        while (written < bytes.length) {
+            if (!buffer.hasRemaining()) flush();
+            int count = Math.min(buffer.remaining(), bytes.length - written);
+            buffer.put(bytes, written, count);
+            written += count;
+        }
+    }
+
+    /** Encode en UTF-8 : un octet par caractère ASCII, sans passer par un encodeur. */
+    private void putText(CharSequence text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                if (!buffer.hasRemaining()) flush();
+                buffer.put((byte) c);
+            } else {
+                ensure(4);
+                if (c < 0x800) {
+                    buffer.put((byte) (0xC0 | c >> 6));
+                    buffer.put((byte) (0x80 | c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    buffer.put((byte) (0xF0 | codePoint >> 18));
+                    buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                    buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                    buffer.put((byte) (0x80 | codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // Surrogate isolé : remplacé par '?', comme String.getBytes(UTF_8).
+                    buffer.put((byte) '?');
+                } else {
+                    buffer.put((byte) (0xE0 | c >> 12));
+                    buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+                    buffer.put((byte) (0x80 | c & 0x3F));
+                }
+            }
+        }
+    }
+
+    private void ensure(int bytes) {
+        if (buffer.remaining() < bytes) flush();
+    }
+
+
+    private enum Kind {
+        AMOUNT("{amount}"), PRICE("{price}"), CARD("{card}"), DATE("{date:...}"), TEXT("{text}"), NUMBER("{number}");
+
+        final String placeholder;
+
+        Kind(String placeholder) {
+            this.placeholder = placeholder;
+        }
+    }
+
+
+    /**
+     * Modèle de ligne compilé : textes fixes encodés en UTF-8 et suite des champs.
+     */
+    public static final class Template {
+        private final String pattern;
+        private final byte[][] literals;
+        private final Kind[] kinds;
+        private final String[] datePatterns;
+        private final EpochDayParser[] dateLayouts;
+
+        private Template(String pattern, byte[][] literals, Kind[] kinds, String[] datePatterns, EpochDayParser[] dateLayouts) {
+            this.pattern = pattern;
+            this.literals = literals;
+            this.kinds = kinds;
+            this.datePatterns = datePatterns;
+            this.dateLayouts = dateLayouts;
+        }
+
+        private static Template compile(String pattern) {
+            List<byte[]> literals = new ArrayList<>();
+            List<Kind> kinds = new ArrayList<>();
+            List<String> datePatterns = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            int i = 0;
+            while (i < pattern.length()) {
+                char c = pattern.charAt(i);
+                if (c != '{') {
+                    literal.append(c);
+                    i++;
+                } else if (pattern.startsWith("{{", i)) {
+                    literal.append('{');
+                    i += 2;
+                } else {
+                    int close = pattern.indexOf('}', i);
+                    if (close < 0) throw new IllegalArgumentException("Champ non fermé à la position " + i + " : " + pattern);
+                    String name = pattern.substring(i + 1, close);
+                    Kind kind = kindOf(name);
+                    if (kind == null) throw new IllegalArgumentException("Champ inconnu : {" + name + "}");
+                    literals.add(literal.toString().getBytes(StandardCharsets.UTF_8));
+                    literal.setLength(0);
+                    kinds.add(kind);
+                    datePatterns.add(kind == Kind.DATE ? name.substring("date:".length()) : null);
+                    i = close + 1;
+                }
+            }
+            literals.add(literal.toString().getBytes(StandardCharsets.UTF_8));
+
+            EpochDayParser[] layouts = new EpochDayParser[kinds.size()];
+            for (int f = 0; f < layouts.length; f++) {
+                String datePattern = datePatterns.get(f);
+                if (datePattern != null && hasFixedLayout(datePattern)) layouts[f] = EpochDayParser.forPattern(datePattern);
+            }
+            return new Template(pattern, literals.toArray(new byte[0][]), kinds.toArray(new Kind[0]),
+                    datePatterns.toArray(new String[0]), layouts);
+        }
+
+        private static Kind kindOf(String name) {
+            switch (name) {
+                case "amount":
+                    return Kind.AMOUNT;
+                case "price":
+                    return Kind.PRICE;
+                case "card":
+                    return Kind.CARD;
+                case "text":
+                    return Kind.TEXT;
+                case "number":
+                    return Kind.NUMBER;
+                default:
+                    return name.startsWith("date:") && name.length() > "date:".length() ? Kind.DATE : null;
+            }
+        }
+
+        /** Les caractères spéciaux de DateTimeFormatter ne peuvent pas être écrits comme texte fixe. */
+        private static boolean hasFixedLayout(String datePattern) {
+            for (int i = 0; i < datePattern.length(); i++) {
+                if ("[]#{}".indexOf(datePattern.charAt(i)) >= 0) return false;
+            }
+            return true;
+        }
+
+        /**
+         * @return Le nombre de champs d'une ligne.
+         */
+        public int fieldCount() {
+            return kinds.length;
+        }
+
+        @Override
+        public String toString() {
+            return pattern;
+        }
+    }
+
+}
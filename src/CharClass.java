@@ -0,0 +1,292 @@
+package src;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+
+/**
+ * Classe de caractères immuable (lettres ASCII, chiffres, ou tout petit ensemble de caractères)
+ * avec une vérification vectorisée pour les entrées longues.
+ *
+ * <p>Une classe est un ensemble d'intervalles de caractères, complété par une table de 128 bits pour
+ * l'ASCII. Le chemin scalaire teste un bit par caractère. Quand le module {@code jdk.incubator.vector}
+ * et la classe {@code vector.CharClassVectorKernel} sont présents au lancement, les entrées d'au moins
+ * {@link #VECTOR_THRESHOLD} caractères sont vérifiées par blocs de 8 à 32 caractères (selon le
+ * processeur), chaque intervalle coûtant une soustraction et une comparaison non signée. Sinon, tout
+ * passe par le chemin scalaire, sans autre différence que la vitesse.</p>
+ *
+ * <pre>
+ * javac --add-modules jdk.incubator.vector -d out/classes src/*.java vector/*.java
+ * java --add-modules jdk.incubator.vector -cp out/classes ...
+ * </pre>
+ */
+public final class CharClass {
+
+    /** Lettres ASCII : [a-zA-Z]. */
+    public static final CharClass ASCII_LETTERS = range('a', 'z').union(range('A', 'Z'));
+
+    /** Chiffres ASCII : [0-9]. */
+    public static final CharClass DIGITS = range('0', '9');
+
+    /** Lettres et chiffres ASCII : [a-zA-Z0-9]. */
+    public static final CharClass ASCII_ALPHANUMERIC = ASCII_LETTERS.union(DIGITS);
+
+    /**
+     * Longueur à partir de laquelle le chemin vectoriel est utilisé, d'après
+     * {@code benchmarks.CharClassBenchmark} (voir le README).
+     */
+    public static final int VECTOR_THRESHOLD = 32;
+
+    /** Taille de colonne en dessous de laquelle {@link #matchingRows(String[])} reste séquentiel. */
+    static final int PARALLEL_THRESHOLD = 1 << 12;
+
+    private static final int CHUNK = 4096;
+    private static final MethodHandle VECTOR_KERNEL = findVectorKernel();
+    private static final ThreadLocal<char[]> BUFFERS = ThreadLocal.withInitial(() -> new char[CHUNK]);
+
+    /** Bornes des intervalles, triés et disjoints : [lows[i], lows[i] + spans[i]]. */
+    private final char[] lows;
+    private final char[] spans;
+    private final long asciiLow;
+    private final long asciiHigh;
+    private final boolean asciiOnly;
+
+
+    private CharClass(char[] lows, char[] spans) {
+        this.lows = lows;
+        this.spans = spans;
+        long low = 0;
+        long high = 0;
+        boolean ascii = true;
+        for (int r = 0; r < lows.length; r++) {
+            int last = lows[r] + spans[r];
+            for (int c = lows[r]; c <= Math.min(last, 127); c++) {
+                if (c < 64) {
+                    low |= 1L << c;
+                } else {
+                    high |= 1L << (c - 64);
+                }
+            }
+            if (last > 127) ascii = false;
+        }
+        this.asciiLow = low;
+        this.asciiHigh = high;
+        this.asciiOnly = ascii;
+    }
+
+
+    /**
+     * @param first Premier caractère de l'intervalle.
+     * @param last  Dernier caractère de l'intervalle (inclus).
+     * @return La classe des caractères de {@code first} à {@code last}.
+     */
+    public static CharClass range(char first, char last) {
+        if (first > last) throw new IllegalArgumentException("Intervalle vide : " + first + "-" + last);
+        return new CharClass(new char[]{first}, new char[]{(char) (last - first)});
+    }
+
+    /**
+     * @param chars Les caractères autorisés.
+     * @return La classe de ces caractères, les caractères consécutifs étant regroupés en intervalles.
+     */
+    public static CharClass of(String chars) {
+        Objects.requireNonNull(chars, "Les caractères autorisés ne peuvent pas être null.");
+        char[] sorted = chars.toCharArray();
+        Arrays.sort(sorted);
+        List<char[]> ranges = new ArrayList<>();
+        for (char c : sorted) {
+            char[] last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+            if (last != null && c <= last[1] + 1) {
+                last[1] = (char) Math.max(last[1], c);
+            } else {
+                ranges.add(new char[]{c, c});
+            }
+        }
+        return fromRanges(ranges);
+    }
+
+    /**
+     * @param other Une autre classe.
+     * @return La classe des caractères appartenant à l'une ou l'autre.
+     */
+    public CharClass union(CharClass other) {
+        List<char[]> ranges = new ArrayList<>();
+        for (int r = 0; r < lows.length; r++) ranges.add(new char[]{lows[r], (char) (lows[r] + spans[r])});
+        for (int r = 0; r < other.lows.length; r++) ranges.add(new char[]{other.lows[r], (char) (other.lows[r] + other.spans[r])});
+        ranges.sort((a, b) -> a[0] - b[0]);
+        List<char[]> merged = new ArrayList<>();
+        for (char[] range : ranges) {
+            char[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && range[0] <= last[1] + 1) {
+                last[1] = (char) Math.max(last[1], range[1]);
+            } else {
+                merged.add(range.clone());
+            }
+        }
+        return fromRanges(merged);
+    }
+
+
+    /**
+     * @param c Un caractère.
+     * @return true si le caractère appartient à la classe.
+     */
+    public boolean contains(char c) {
+        if (c < 128) {
+            // Le décalage d'un long ne garde que les 6 bits de poids faible : c ou c - 64.
+            long bits = c < 64 ? asciiLow : asciiHigh;
+            return (bits >>> c & 1) != 0;
+        }
+        if (asciiOnly) return false;
+        int r = Arrays.binarySearch(lows, c);
+        if (r >= 0) return true;
+        r = -r - 2;
+        return r >= 0 && c - lows[r] <= spans[r];
+    }
+
+    /**
+     * @param input Une séquence de caractères.
+     * @return true si tous ses caractères appartiennent à la classe (true pour une séquence vide, false pour null).
+     */
+    public boolean matchesAll(CharSequence input) {
+        return input != null && indexOfMismatch(input) < 0;
+    }
+
+    /**
+     * @param input Une séquence de caractères.
+     * @return La position du premier caractère hors de la classe, ou -1.
+     */
+    public int indexOfMismatch(CharSequence input) {
+        int length = input.length();
+        if (VECTOR_KERNEL == null || length < VECTOR_THRESHOLD || !(input instanceof String)) {
+            for (int i = 0; i < length; i++) {
+                if (!contains(input.charAt(i))) return i;
+            }
+            return -1;
+        }
+        String text = (String) input;
+        char[] buffer = BUFFERS.get();
+        for (int start = 0; start < length; start += CHUNK) {
+            int end = Math.min(length, start + CHUNK);
+            text.getChars(start, end, buffer, 0);
+            int mismatch = indexOfMismatchVector(buffer, 0, end - start);
+            if (mismatch >= 0) return start + mismatch;
+        }
+        return -1;
+    }
+
+    /**
+     * @param chars Un tableau de caractères.
+     * @param from  Début de la portion (inclus).
+     * @param to    Fin de la portion (exclue).
+     * @return La position du premier caractère hors de la classe, ou -1.
+     */
+    public int indexOfMismatch(char[] chars, int from, int to) {
+        Objects.checkFromToIndex(from, to, chars.length);
+        if (VECTOR_KERNEL != null && to - from >= VECTOR_THRESHOLD) return indexOfMismatchVector(chars, from, to);
+        return indexOfMismatchScalar(chars, from, to);
+    }
+
+    /**
+     * Version toujours scalaire de {@link #indexOfMismatch(char[], int, int)}.
+     *
+     * @param chars Un tableau de caractères.
+     * @param from  Début de la portion (inclus).
+     * @param to    Fin de la portion (exclue).
+     * @return La position du premier caractère hors de la classe, ou -1.
+     */
+    public int indexOfMismatchScalar(char[] chars, int from, int to) {
+        Objects.checkFromToIndex(from, to, chars.length);
+        for (int i = from; i < to; i++) {
+            if (!contains(chars[i])) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Version toujours vectorielle de {@link #indexOfMismatch(char[], int, int)}.
+     *
+     * @param chars Un tableau de caractères.
+     * @param from  Début de la portion (inclus).
+     * @param to    Fin de la portion (exclue).
+     * @return La position du premier caractère hors de la classe, ou -1.
+     * @throws UnsupportedOperationException si l'API Vector n'est pas disponible.
+     */
+    public int indexOfMismatchVector(char[] chars, int from, int to) {
+        if (VECTOR_KERNEL == null) throw new UnsupportedOperationException("L'API Vector n'est pas disponible.");
+        Objects.checkFromToIndex(from, to, chars.length);
+        int result;
+        try {
+            result = (int) VECTOR_KERNEL.invokeExact(chars, from, to, lows, spans);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+        // Le noyau ne traite que des blocs complets : la fin de la portion passe par la table ASCII.
+        return result >= 0 ? result : indexOfMismatchScalar(chars, -1 - result, to);
+    }
+
+
+    /**
+     * Vérifie toute une colonne, en parallèle au-delà de {@value #PARALLEL_THRESHOLD} valeurs.
+     *
+     * @param column Les valeurs.
+     * @return Les positions des valeurs non null dont tous les caractères appartiennent à la classe
+     * (vide si la colonne est null).
+     */
+    public BitSet matchingRows(String[] column) {
+        if (column == null) return new BitSet();
+        BitSet result = new BitSet(column.length);
+        boolean[] matches = new boolean[column.length];
+        IntStream indexes = IntStream.range(0, column.length);
+        if (column.length >= PARALLEL_THRESHOLD) indexes = indexes.parallel();
+        indexes.forEach(i -> matches[i] = matchesAll(column[i]));
+        for (int i = 0; i < matches.length; i++) {
+            if (matches[i]) result.set(i);
+        }
+        return result;
+    }
+
+    /**
+     * @return true si le chemin vectoriel est disponible.
+     */
+    public static boolean isVectorAvailable() {
+        return VECTOR_KERNEL != null;
+    }
+
+
+    private static CharClass fromRanges(List<char[]> ranges) {
+        char[] lows = new char[ranges.size()];
+        char[] spans = new char[ranges.size()];
+        for (int r = 0; r < lows.length; r++) {
+            lows[r] = ranges.get(r)[0];
+            spans[r] = (char) (ranges.get(r)[1] - ranges.get(r)[0]);
+        }
+        return new CharClass(lows, spans);
+    }
+
+    /**
+     * Le noyau vectoriel est compilé à part (il dépend d'un module incubateur) et chargé par réflexion.
+     */
+    private static MethodHandle findVectorKernel() {
+        try {
+            Class<?> kernel = Class.forName("vector.CharClassVectorKernel");
+            MethodHandle handle = MethodHandles.publicLookup().findStatic(kernel, "indexOfMismatch",
+                    MethodType.methodType(int.class, char[].class, int.class, int.class, char[].class, char[].class));
+            // Premier appel pour vérifier que le module est bien résolu.
+            int check = (int) handle.invokeExact(new char[]{'a', '!'}, 0, 2, new char[]{'a'}, new char[]{0});
+            return check == 1 || check == -1 ? handle : null;
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+
+}
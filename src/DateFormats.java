@@ -0,0 +1,203 @@
+package src;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Formatage de dates sans analyser le pattern à chaque appel.
+ *
+ * <p>Les patterns courants ({@link #ISO}, {@link #FRENCH}, {@link #COMPACT}) sont écrits chiffre par chiffre
+ * dans un tampon de caractères ou un {@link Appendable}, sans passer par {@link DateTimeFormatter}.
+ * Les autres patterns passent par un cache de formateurs indexé par locale, puisque
+ * {@link DateTimeFormatter#ofPattern(String)} dépend de la locale par défaut. Chaque locale garde ses
+ * {@value #MAX_CACHED_PATTERNS} patterns les plus récemment utilisés (LRU).</p>
+ */
+public final class DateFormats {
+
+    /** Pattern ISO : 2024-12-31. */
+    public static final String ISO = "yyyy-MM-dd";
+
+    /** Pattern français : 31/12/2024. */
+    public static final String FRENCH = "dd/MM/yyyy";
+
+    /** Pattern compact : 20241231. */
+    public static final String COMPACT = "yyyyMMdd";
+
+    /** Nombre maximal de formateurs conservés par locale. */
+    static final int MAX_CACHED_PATTERNS = 256;
+
+    /** Formateurs par locale ; chaque table est ordonnée par accès et protégée par son propre verrou. */
+    private static final ConcurrentHashMap<Locale, Map<String, DateTimeFormatter>> FORMATTERS =
+            new ConcurrentHashMap<>();
+
+    private DateFormats() {
+        throw new UnsupportedOperationException("Cette classe utilitaire ne peut pas être instanciée.");
+    }
+
+
+    /**
+     * Formate une date selon un pattern donné.
+     *
+     * @param date    Date à formater
+     * @param pattern Pattern de formatage
+     * @return La date formatée en String, ou "" si la date ou le pattern est null
+     */
+    public static String format(LocalDate date, String pattern) {
+        if (date == null || pattern == null) return "";
+        char[] buffer = new char[10];
+        int length = writeDigits(date, pattern, buffer, 0);
+        if (length >= 0) return new String(buffer, 0, length);
+        return date.format(formatter(pattern));
+    }
+
+
+    /**
+     * Formate une date dans un {@link Appendable} (StringBuilder, Writer...).
+     *
+     * @param date    Date à formater
+     * @param pattern Pattern de formatage
+     * @param out     Destination
+     */
+    public static void formatTo(LocalDate date, String pattern, Appendable out) {
+        if (date == null || pattern == null || out == null) return;
+        try {
+            int fastLength = fastLength(date, pattern);
+            if (fastLength < 0) {
+                formatter(pattern).formatTo(date, out);
+                return;
+            }
+            int year = date.getYear();
+            int month = date.getMonthValue();
+            int day = date.getDayOfMonth();
+            if (pattern.equals(FRENCH)) {
+                appendTwo(out, day).append('/');
+                appendTwo(out, month).append('/');
+                appendFour(out, year);
+            } else {
+                appendFour(out, year);
+                if (pattern.equals(ISO)) out.append('-');
+                appendTwo(out, month);
+                if (pattern.equals(ISO)) out.append('-');
+                appendTwo(out, day);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    /**
+     * Écrit une date dans un tampon de caractères, pour les patterns {@link #ISO}, {@link #FRENCH} et {@link #COMPACT}.
+     *
+     * @param date    Date à formater
+     * @param pattern Pattern de formatage
+     * @param buffer  Tampon de destination
+     * @param offset  Position d'écriture dans le tampon
+     * @return Le nombre de caractères écrits, ou -1 si le pattern ou l'année n'a pas de chemin rapide
+     */
+    public static int writeDigits(LocalDate date, String pattern, char[] buffer, int offset) {
+        if (date == null || pattern == null || fastLength(date, pattern) < 0) return -1;
+        int year = date.getYear();
+        int month = date.getMonthValue();
+        int day = date.getDayOfMonth();
+        int position = offset;
+        if (pattern.equals(FRENCH)) {
+            position = writeTwo(buffer, position, day);
+            buffer[position++] = '/';
+            position = writeTwo(buffer, position, month);
+            buffer[position++] = '/';
+            position = writeFour(buffer, position, year);
+        } else {
+            boolean iso = pattern.equals(ISO);
+            position = writeFour(buffer, position, year);
+            if (iso) buffer[position++] = '-';
+            position = writeTwo(buffer, position, month);
+            if (iso) buffer[position++] = '-';
+            position = writeTwo(buffer, position, day);
+        }
+        return position - offset;
+    }
+
+
+    /**
+     * Renvoie le formateur d'un pattern pour la locale par défaut, depuis le cache si possible.
+     *
+     * @param pattern Pattern de formatage
+     * @return Le formateur
+     */
+    public static DateTimeFormatter formatter(String pattern) {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        Map<String, DateTimeFormatter> byPattern = FORMATTERS.computeIfAbsent(locale, l -> newPatternCache());
+        DateTimeFormatter formatter;
+        synchronized (byPattern) {
+            formatter = byPattern.get(pattern);
+        }
+        if (formatter != null) return formatter;
+
+        // Construit hors du verrou : deux appels simultanés peuvent analyser le même pattern.
+        formatter = DateTimeFormatter.ofPattern(pattern, locale);
+        synchronized (byPattern) {
+            DateTimeFormatter existing = byPattern.putIfAbsent(pattern, formatter);
+            return existing != null ? existing : formatter;
+        }
+    }
+
+    /**
+     * @return Une table ordonnée par accès qui oublie son pattern le moins récemment utilisé au-delà de
+     * {@value #MAX_CACHED_PATTERNS}.
+     */
+    private static Map<String, DateTimeFormatter> newPatternCache() {
+        return new LinkedHashMap<String, DateTimeFormatter>(MAX_CACHED_PATTERNS * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, DateTimeFormatter> eldest) {
+                return size() > MAX_CACHED_PATTERNS;
+            }
+        };
+    }
+
+
+    /**
+     * @return La longueur du résultat si le chemin rapide s'applique, -1 sinon.
+     */
+    private static int fastLength(LocalDate date, String pattern) {
+        int year = date.getYear();
+        if (year < 1 || year > 9999) return -1;
+        switch (pattern) {
+            case ISO:
+            case FRENCH:
+                return 10;
+            case COMPACT:
+                return 8;
+            default:
+                return -1;
+        }
+    }
+
+    private static int writeTwo(char[] buffer, int position, int value) {
+        buffer[position] = (char) ('0' + value / 10);
+        buffer[position + 1] = (char) ('0' + value % 10);
+        return position + 2;
+    }
+
+    private static int writeFour(char[] buffer, int position, int value) {
+        writeTwo(buffer, position, value / 100);
+        return writeTwo(buffer, position + 2, value % 100);
+    }
+
+    private static Appendable appendTwo(Appendable out, int value) throws IOException {
+        return out.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    private static Appendable appendFour(Appendable out, int value) throws IOException {
+        appendTwo(out, value / 100);
+        return appendTwo(out, value % 100);
+    }
+
+}
@@ -1,10 +1,10 @@
 package src;
 
 import java.time.*;
-import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class DateUtils {
 
@@ -19,7 +19,27 @@ public class DateUtils {
      * @return true si la date est dans le futur
      */
     public static boolean isFutureDate(LocalDate date) {
-        return date != null && date.isAfter(LocalDate.now());
+        return date != null && ReferenceDay.system().isFuture(date.toEpochDay());
+    }
+
+    /**
+     * Vérifie si une date est dans le futur par rapport à une horloge donnée
+     * @param date La date à vérifier
+     * @param clock L'horloge donnant la date du jour
+     * @return true si la date est dans le futur
+     */
+    public static boolean isFutureDate(LocalDate date, Clock clock) {
+        return date != null && clock != null && date.isAfter(LocalDate.now(clock));
+    }
+
+    /**
+     * Vérifie si une date est après une date de référence
+     * @param date La date à vérifier
+     * @param today La date de référence
+     * @return true si la date est après la date de référence
+     */
+    public static boolean isFutureDate(LocalDate date, LocalDate today) {
+        return date != null && today != null && date.toEpochDay() > today.toEpochDay();
     }
 
 
@@ -29,7 +49,27 @@ public class DateUtils {
      * @return true si la date est dans le passé
      */
     public static boolean isPastDate(LocalDate date) {
-        return date != null && date.isBefore(LocalDate.now());
+        return date != null && ReferenceDay.system().isPast(date.toEpochDay());
+    }
+
+    /**
+     * Vérifie si une date est dans le passé par rapport à une horloge donnée
+     * @param date La date à vérifier
+     * @param clock L'horloge donnant la date du jour
+     * @return true si la date est dans le passé
+     */
+    public static boolean isPastDate(LocalDate date, Clock clock) {
+        return date != null && clock != null && date.isBefore(LocalDate.now(clock));
+    }
+
+    /**
+     * Vérifie si une date est avant une date de référence
+     * @param date La date à vérifier
+     * @param today La date de référence
+     * @return true si la date est avant la date de référence
+     */
+    public static boolean isPastDate(LocalDate date, LocalDate today) {
+        return date != null && today != null && date.toEpochDay() < today.toEpochDay();
     }
 
 
@@ -39,29 +79,57 @@ public class DateUtils {
      * @return L'âge en années
      */
     public static int calculateAge(LocalDate birthDate) {
-        if (birthDate == null) return 0;
-        return Period.between(birthDate, LocalDate.now()).getYears();
+        return calculateAge(birthDate, ReferenceDay.system().today());
+    }
+
+    /**
+     * Calcule l'âge à partir d'une date de naissance selon une horloge donnée
+     * @param birthDate La date de naissance
+     * @param clock L'horloge donnant la date du jour
+     * @return L'âge en années
+     */
+    public static int calculateAge(LocalDate birthDate, Clock clock) {
+        if (clock == null) return 0;
+        return calculateAge(birthDate, LocalDate.now(clock));
+    }
+
+    /**
+     * Calcule l'âge à une date de référence
+     * @param birthDate La date de naissance
+     * @param today La date de référence
+     * @return L'âge en années à la date de référence
+     */
+    public static int calculateAge(LocalDate birthDate, LocalDate today) {
+        if (birthDate == null || today == null) return 0;
+        if (birthDate.isAfter(today)) return Period.between(birthDate, today).getYears();
+        int age = today.getYear() - birthDate.getYear();
+        if (today.getMonthValue() < birthDate.getMonthValue()
+                || today.getMonthValue() == birthDate.getMonthValue()
+                && today.getDayOfMonth() < birthDate.getDayOfMonth()) {
+            age--;
+        }
+        return age;
     }
 
 
 
     /**
-     * Vérifie si une date est un jour férié (à adapter selon les besoins)
+     * Vérifie si une date est un jour férié français (voir {@link HolidayCalendar#FRANCE})
      * @param date La date à vérifier
      * @return true si c'est un jour férié
      */
     public static boolean isHoliday(LocalDate date) {
-        if (date == null) return false;
+        return HolidayCalendar.FRANCE.isHoliday(date);
+    }
 
-        // List to complete
-        return date.getDayOfMonth() == 1 && date.getMonthValue() == 1 || // Jour de l'an
-                date.getDayOfMonth() == 1 && date.getMonthValue() == 5 || // Fête du travail
-                date.getDayOfMonth() == 8 && date.getMonthValue() == 5 || // Victoire 1945
-                date.getDayOfMonth() == 14 && date.getMonthValue() == 7 || // Fête nationale
-                date.getDayOfMonth() == 15 && date.getMonthValue() == 8 || // Assomption
-                date.getDayOfMonth() == 1 && date.getMonthValue() == 11 || // Toussaint
-                date.getDayOfMonth() == 11 && date.getMonthValue() == 11 || // Armistice
-                date.getDayOfMonth() == 25 && date.getMonthValue() == 12;  // Noël
+    /**
+     * Vérifie si une date est un jour férié selon un calendrier donné
+     * @param date La date à vérifier
+     * @param calendar Le calendrier des jours fériés
+     * @return true si c'est un jour férié
+     */
+    public static boolean isHoliday(LocalDate date, HolidayCalendar calendar) {
+        return calendar != null && calendar.isHoliday(date);
     }
 
 
@@ -71,8 +139,17 @@ public class DateUtils {
      * @return true si c'est un jour ouvré
      */
     public static boolean isWorkingDay(LocalDate date) {
-        if (date == null) return false;
-        return !isWeekend(date) && !isHoliday(date);
+        return HolidayCalendar.FRANCE.isWorkingDay(date);
+    }
+
+    /**
+     * Vérifie si une date est un jour ouvré selon un calendrier donné
+     * @param date La date à vérifier
+     * @param calendar Le calendrier des jours fériés
+     * @return true si c'est un jour ouvré
+     */
+    public static boolean isWorkingDay(LocalDate date, HolidayCalendar calendar) {
+        return calendar != null && calendar.isWorkingDay(date);
     }
 
 
@@ -95,10 +172,35 @@ public class DateUtils {
      * @return Nombre de jours ouvrés
      */
     public static long countWorkingDays(LocalDate startDate, LocalDate endDate) {
-        if (startDate == null || endDate == null) return 0;
-        return startDate.datesUntil(endDate.plusDays(1))
-                .filter(DateUtils::isWorkingDay)
-                .count();
+        return WorkingDayCalendar.defaultCalendar().countWorkingDays(startDate, endDate);
+    }
+
+    /**
+     * Avance (ou recule si n est négatif) d'un nombre donné de jours ouvrés
+     * @param date Date de départ
+     * @param n Nombre de jours ouvrés
+     * @return Le n-ième jour ouvré après (ou avant) la date
+     */
+    public static LocalDate addWorkingDays(LocalDate date, long n) {
+        return WorkingDayCalendar.defaultCalendar().addWorkingDays(date, n);
+    }
+
+    /**
+     * Trouve le prochain jour ouvré
+     * @param date Date de référence
+     * @return Le premier jour ouvré strictement après la date
+     */
+    public static LocalDate nextWorkingDay(LocalDate date) {
+        return WorkingDayCalendar.defaultCalendar().nextWorkingDay(date);
+    }
+
+    /**
+     * Trouve le jour ouvré précédent
+     * @param date Date de référence
+     * @return Le dernier jour ouvré strictement avant la date
+     */
+    public static LocalDate previousWorkingDay(LocalDate date) {
+        return WorkingDayCalendar.defaultCalendar().previousWorkingDay(date);
     }
 
     /**
@@ -118,6 +220,7 @@ public class DateUtils {
 
     /**
      * Génère une liste de dates récurrentes selon une fréquence
+     * (voir {@link Recurrence} pour une évaluation à la demande et d'autres règles)
      * @param startDate Date de début
      * @param endDate Date de fin
      * @param frequencyInDays Fréquence en jours
@@ -126,16 +229,10 @@ public class DateUtils {
     public static List<LocalDate> generateRecurringDates(LocalDate startDate,
                                                          LocalDate endDate,
                                                          int frequencyInDays) {
-        List<LocalDate> dates = new ArrayList<>();
-        if (startDate == null || endDate == null || frequencyInDays <= 0) return dates;
-
-        LocalDate currentDate = startDate;
-        while (!currentDate.isAfter(endDate)) {
-            dates.add(currentDate);
-            currentDate = currentDate.plusDays(frequencyInDays);
-        }
-
-        return dates;
+        if (startDate == null || endDate == null || frequencyInDays <= 0) return new ArrayList<>();
+        return Recurrence.daily(startDate, endDate, frequencyInDays)
+                .stream()
+                .collect(Collectors.toCollection(ArrayList::new));
     }
 
 
@@ -145,9 +242,29 @@ public class DateUtils {
      * @return Date de la prochaine occurrence
      */
     public static LocalDate getNextDayOfWeek(DayOfWeek dayOfWeek) {
-        if (dayOfWeek == null) return null;
-        LocalDate now = LocalDate.now();
-        return now.with(java.time.temporal.TemporalAdjusters.next(dayOfWeek));
+        return getNextDayOfWeek(dayOfWeek, ReferenceDay.system().today());
+    }
+
+    /**
+     * Calcule la prochaine occurrence d'un jour de la semaine selon une horloge donnée
+     * @param dayOfWeek Jour de la semaine souhaité
+     * @param clock L'horloge donnant la date du jour
+     * @return Date de la prochaine occurrence
+     */
+    public static LocalDate getNextDayOfWeek(DayOfWeek dayOfWeek, Clock clock) {
+        if (clock == null) return null;
+        return getNextDayOfWeek(dayOfWeek, LocalDate.now(clock));
+    }
+
+    /**
+     * Calcule la prochaine occurrence d'un jour de la semaine après une date de référence
+     * @param dayOfWeek Jour de la semaine souhaité
+     * @param today La date de référence
+     * @return Date de la prochaine occurrence, strictement après la date de référence
+     */
+    public static LocalDate getNextDayOfWeek(DayOfWeek dayOfWeek, LocalDate today) {
+        if (dayOfWeek == null || today == null) return null;
+        return today.with(java.time.temporal.TemporalAdjusters.next(dayOfWeek));
     }
 
     /**
@@ -181,14 +298,13 @@ public class DateUtils {
     }
 
     /**
-     * Formate une date selon un pattern donné
+     * Formate une date selon un pattern donné (voir {@link DateFormats})
      * @param date Date à formater
      * @param pattern Pattern de formatage
      * @return La date formatée en String
      */
     public static String formatDate(LocalDate date, String pattern) {
-        if (date == null || pattern == null) return "";
-        return date.format(DateTimeFormatter.ofPattern(pattern));
+        return DateFormats.format(date, pattern);
     }
 
     /**
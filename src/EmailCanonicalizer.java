@@ -0,0 +1,310 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+
+/**
+ * Met des adresses email sous forme canonique et en calcule une empreinte de 64 bits.
+ *
+ * <p>La forme canonique est l'adresse sans espaces autour, en minuscules, à laquelle s'appliquent
+ * les règles du fournisseur : points ignorés dans la partie locale, suffixe "+étiquette" retiré,
+ * domaine alias remplacé par le domaine principal ("googlemail.com" par "gmail.com").
+ * {@link #fingerprint(CharSequence)} calcule l'empreinte de cette forme sans la construire : pour
+ * dédupliquer 100 millions d'adresses, on conserve 8 octets par adresse dans un {@link LongHashSet}
+ * ou un {@link OffHeapLongHashSet} au lieu d'une String.</p>
+ *
+ * <p>Deux adresses différentes peuvent partager une empreinte : environ n² / 2⁶⁵ collisions attendues
+ * pour n adresses distinctes (0,0003 pour 100 millions), voir {@link #expectedCollisions(long)} et
+ * {@link #findCollisions(Iterable)}. Les instances sont immuables.</p>
+ */
+public final class EmailCanonicalizer {
+
+    /** Empreinte renvoyée pour une adresse invalide. Aucune adresse valide n'a cette empreinte. */
+    public static final long INVALID = 0L;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final EmailCanonicalizer COMMON_PROVIDERS = new EmailCanonicalizer()
+            .withProvider("gmail.com", true, true)
+            .withProvider("googlemail.com", "gmail.com", true, true)
+            .withProvider("outlook.com", false, true)
+            .withProvider("hotmail.com", false, true)
+            .withProvider("live.com", false, true)
+            .withProvider("icloud.com", false, true)
+            .withProvider("fastmail.com", false, true)
+            .withProvider("protonmail.com", "proton.me", false, true)
+            .withProvider("proton.me", false, true);
+
+    private final Provider[] providers;
+    private final long[] providerHashes;
+
+
+    /**
+     * Crée un canonicaliseur sans règle de fournisseur : l'adresse est seulement nettoyée et mise en minuscules.
+     */
+    public EmailCanonicalizer() {
+        this(new Provider[0]);
+    }
+
+    private EmailCanonicalizer(Provider[] providers) {
+        this.providers = providers;
+        this.providerHashes = new long[providers.length];
+        for (int i = 0; i < providers.length; i++) {
+            providerHashes[i] = providers[i].hash;
+        }
+    }
+
+
+    /**
+     * @return Un canonicaliseur avec les règles de Gmail, Outlook, iCloud, Fastmail et Proton.
+     */
+    public static EmailCanonicalizer withCommonProviders() {
+        return COMMON_PROVIDERS;
+    }
+
+
+    /**
+     * Renvoie une copie avec une règle de fournisseur en plus (ou à la place de la règle existante du domaine).
+     *
+     * @param domain     Le domaine concerné.
+     * @param ignoreDots true si les points de la partie locale ne comptent pas.
+     * @param stripTag   true si la partie locale s'arrête au premier "+".
+     * @return Le nouveau canonicaliseur.
+     */
+    public EmailCanonicalizer withProvider(String domain, boolean ignoreDots, boolean stripTag) {
+        return withProvider(domain, domain, ignoreDots, stripTag);
+    }
+
+    /**
+     * Renvoie une copie avec une règle de fournisseur en plus (ou à la place de la règle existante du domaine).
+     *
+     * @param domain          Le domaine concerné.
+     * @param canonicalDomain Le domaine qui le remplace dans la forme canonique.
+     * @param ignoreDots      true si les points de la partie locale ne comptent pas.
+     * @param stripTag        true si la partie locale s'arrête au premier "+".
+     * @return Le nouveau canonicaliseur.
+     */
+    public EmailCanonicalizer withProvider(String domain, String canonicalDomain, boolean ignoreDots, boolean stripTag) {
+        Objects.requireNonNull(domain, "Le domaine ne peut pas être null.");
+        Objects.requireNonNull(canonicalDomain, "Le domaine canonique ne peut pas être null.");
+        Provider provider = new Provider(domain.trim().toLowerCase(Locale.ROOT),
+                canonicalDomain.trim().toLowerCase(Locale.ROOT), ignoreDots, stripTag);
+        if (provider.domain.isEmpty() || provider.canonicalDomain.isEmpty()) {
+            throw new IllegalArgumentException("Le domaine ne peut pas être vide.");
+        }
+
+        int existing = indexOf(provider.domain, 0, provider.domain.length());
+        Provider[] copy = Arrays.copyOf(providers, existing >= 0 ? providers.length : providers.length + 1);
+        copy[existing >= 0 ? existing : providers.length] = provider;
+        return new EmailCanonicalizer(copy);
+    }
+
+
+    /**
+     * Renvoie la forme canonique d'une adresse.
+     *
+     * @param email L'adresse.
+     * @return La forme canonique, ou null si l'adresse n'a pas la forme "partie-locale@domaine".
+     */
+    public String canonicalize(CharSequence email) {
+        if (email == null) return null;
+        int start = start(email);
+        int end = end(email, start);
+        int at = lastAt(email, start, end);
+        if (at <= start || at >= end - 1) return null;
+
+        Provider provider = providerOf(email, at + 1, end);
+        StringBuilder result = new StringBuilder(end - start);
+        for (int i = start; i < at; i++) {
+            char c = email.charAt(i);
+            if (provider != null && provider.stripTag && c == '+') break;
+            if (provider != null && provider.ignoreDots && c == '.') continue;
+            result.append(fold(c));
+        }
+        if (result.length() == 0) return null;
+        result.append('@');
+        if (provider != null) {
+            result.append(provider.canonicalDomain);
+        } else {
+            for (int i = at + 1; i < end; i++) {
+                result.append(fold(email.charAt(i)));
+            }
+        }
+        return result.toString();
+    }
+
+
+    /**
+     * Calcule l'empreinte de la forme canonique d'une adresse, sans la construire.
+     *
+     * <p>{@code fingerprint(email) == fingerprint(canonicalize(email))} pour toute adresse valide.</p>
+     *
+     * @param email L'adresse.
+     * @return L'empreinte, ou {@link #INVALID} si l'adresse n'a pas la forme "partie-locale@domaine".
+     */
+    public long fingerprint(CharSequence email) {
+        if (email == null) return INVALID;
+        int start = start(email);
+        int end = end(email, start);
+        int at = lastAt(email, start, end);
+        if (at <= start || at >= end - 1) return INVALID;
+
+        Provider provider = providerOf(email, at + 1, end);
+        boolean ignoreDots = provider != null && provider.ignoreDots;
+        boolean stripTag = provider != null && provider.stripTag;
+        long hash = FNV_OFFSET;
+        int localLength = 0;
+        for (int i = start; i < at; i++) {
+            char c = email.charAt(i);
+            if (stripTag && c == '+') break;
+            if (ignoreDots && c == '.') continue;
+            hash = (hash ^ fold(c)) * FNV_PRIME;
+            localLength++;
+        }
+        if (localLength == 0) return INVALID;
+        hash = (hash ^ '@') * FNV_PRIME;
+        if (provider != null) {
+            String domain = provider.canonicalDomain;
+            for (int i = 0; i < domain.length(); i++) {
+                hash = (hash ^ domain.charAt(i)) * FNV_PRIME;
+            }
+        } else {
+            for (int i = at + 1; i < end; i++) {
+                hash = (hash ^ fold(email.charAt(i))) * FNV_PRIME;
+            }
+        }
+        hash = mix(hash);
+        return hash == INVALID ? 1L : hash;
+    }
+
+
+    /**
+     * Recherche les collisions d'empreinte dans un ensemble d'adresses, par exemple un échantillon représentatif.
+     *
+     * <p>Les formes canoniques distinctes sont conservées en mémoire : cette vérification n'est pas
+     * destinée au volume complet.</p>
+     *
+     * @param emails Les adresses.
+     * @return Les paires de formes canoniques distinctes qui partagent une empreinte (vide en pratique).
+     */
+    public List<String[]> findCollisions(Iterable<? extends CharSequence> emails) {
+        List<String[]> collisions = new ArrayList<>();
+        if (emails == null) return collisions;
+        LongIntHashMap firstIndex = new LongIntHashMap(1024);
+        List<String> canonicals = new ArrayList<>();
+        for (CharSequence email : emails) {
+            long fingerprint = fingerprint(email);
+            if (fingerprint == INVALID) continue;
+            String canonical = canonicalize(email);
+            int index = firstIndex.get(fingerprint);
+            if (index < 0) {
+                firstIndex.put(fingerprint, canonicals.size());
+                canonicals.add(canonical);
+            } else if (!canonicals.get(index).equals(canonical)) {
+                collisions.add(new String[]{canonicals.get(index), canonical});
+            }
+        }
+        return collisions;
+    }
+
+    /**
+     * Nombre de collisions attendu pour une empreinte idéale de 64 bits.
+     *
+     * @param distinctCount Le nombre d'adresses distinctes.
+     * @return L'espérance du nombre de paires en collision, n(n-1) / 2⁶⁵.
+     */
+    public static double expectedCollisions(long distinctCount) {
+        if (distinctCount < 2) return 0.0;
+        double n = distinctCount;
+        return n * (n - 1) / 0x1p65;
+    }
+
+
+    private Provider providerOf(CharSequence email, int start, int end) {
+        int index = indexOf(email, start, end);
+        return index < 0 ? null : providers[index];
+    }
+
+    private int indexOf(CharSequence domain, int start, int end) {
+        if (providers.length == 0) return -1;
+        long hash = FNV_OFFSET;
+        for (int i = start; i < end; i++) {
+            hash = (hash ^ fold(domain.charAt(i))) * FNV_PRIME;
+        }
+        for (int i = 0; i < providerHashes.length; i++) {
+            if (providerHashes[i] == hash && providers[i].matches(domain, start, end)) return i;
+        }
+        return -1;
+    }
+
+    private static int start(CharSequence email) {
+        int start = 0;
+        while (start < email.length() && email.charAt(start) <= ' ') start++;
+        return start;
+    }
+
+    private static int end(CharSequence email, int start) {
+        int end = email.length();
+        while (end > start && email.charAt(end - 1) <= ' ') end--;
+        return end;
+    }
+
+    private static int lastAt(CharSequence email, int start, int end) {
+        for (int i = end - 1; i >= start; i--) {
+            if (email.charAt(i) == '@') return i;
+        }
+        return -1;
+    }
+
+    private static char fold(char c) {
+        if (c < 0x80) return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        return Character.toLowerCase(c);
+    }
+
+    /**
+     * Finaliseur de MurmurHash3 : répartit les bits de l'empreinte FNV-1a.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+
+    private static final class Provider {
+        final String domain;
+        final String canonicalDomain;
+        final boolean ignoreDots;
+        final boolean stripTag;
+        final long hash;
+
+        Provider(String domain, String canonicalDomain, boolean ignoreDots, boolean stripTag) {
+            this.domain = domain;
+            this.canonicalDomain = canonicalDomain;
+            this.ignoreDots = ignoreDots;
+            this.stripTag = stripTag;
+            long h = FNV_OFFSET;
+            for (int i = 0; i < domain.length(); i++) {
+                h = (h ^ fold(domain.charAt(i))) * FNV_PRIME;
+            }
+            this.hash = h;
+        }
+
+        boolean matches(CharSequence email, int start, int end) {
+            if (end - start != domain.length()) return false;
+            for (int i = start; i < end; i++) {
+                if (fold(email.charAt(i)) != domain.charAt(i - start)) return false;
+            }
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,259 @@
+package src;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+
+/**
+ * Opérations de date en colonnes, sur des tableaux {@code int[]} de jours epoch.
+ *
+ * <p>Équivalents de {@link DateUtils#getMostRecentDate}, {@link DateUtils#getOldestDate},
+ * {@link DateUtils#isDateInRange} et {@link DateUtils#calculateAge} pour des millions de dates
+ * sans aucun objet LocalDate : les boucles internes ne travaillent que sur des entiers (et se prêtent
+ * à la vectorisation par le JIT), et les grands tableaux sont découpés en blocs traités en parallèle.</p>
+ *
+ * <p>Une date absente (null) est représentée par {@link #MISSING}.</p>
+ */
+public final class EpochDayColumns {
+
+    /** Valeur représentant une date absente. */
+    public static final int MISSING = Integer.MIN_VALUE;
+
+    /** Taille en dessous de laquelle les traitements restent séquentiels. */
+    static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    private static final int CHUNK_SIZE = 1 << 14;
+
+    private EpochDayColumns() {
+        throw new UnsupportedOperationException("Cette classe utilitaire ne peut pas être instanciée.");
+    }
+
+
+    /**
+     * Convertit une liste de dates en colonne de jours epoch.
+     *
+     * @param dates La liste de dates (les null deviennent {@link #MISSING}).
+     * @return La colonne de jours epoch.
+     */
+    public static int[] fromDates(List<LocalDate> dates) {
+        if (dates == null) return new int[0];
+        int[] days = new int[dates.size()];
+        int i = 0;
+        for (LocalDate date : dates) {
+            days[i++] = date == null ? MISSING : Math.toIntExact(date.toEpochDay());
+        }
+        return days;
+    }
+
+    /**
+     * Convertit une colonne de jours epoch en liste de dates.
+     *
+     * @param days La colonne de jours epoch.
+     * @return La liste de dates ({@link #MISSING} devient null).
+     */
+    public static List<LocalDate> toDates(int[] days) {
+        if (days == null) return new ArrayList<>();
+        List<LocalDate> dates = new ArrayList<>(days.length);
+        for (int day : days) {
+            dates.add(day == MISSING ? null : LocalDate.ofEpochDay(day));
+        }
+        return dates;
+    }
+
+
+    /**
+     * Trouve la date la plus récente d'une colonne.
+     *
+     * @param days La colonne de jours epoch.
+     * @return Le plus grand jour epoch, ou {@link #MISSING} si la colonne ne contient aucune date.
+     */
+    public static int max(int[] days) {
+        if (days == null) return MISSING;
+        if (days.length < PARALLEL_THRESHOLD) return max(days, 0, days.length);
+        return IntStream.range(0, chunkCount(days.length))
+                .parallel()
+                .map(chunk -> max(days, chunk * CHUNK_SIZE, Math.min(days.length, (chunk + 1) * CHUNK_SIZE)))
+                .max()
+                .orElse(MISSING);
+    }
+
+    /**
+     * Trouve la date la plus ancienne d'une colonne.
+     *
+     * @param days La colonne de jours epoch.
+     * @return Le plus petit jour epoch, ou {@link #MISSING} si la colonne ne contient aucune date.
+     */
+    public static int min(int[] days) {
+        if (days == null) return MISSING;
+        int min;
+        if (days.length < PARALLEL_THRESHOLD) {
+            min = min(days, 0, days.length);
+        } else {
+            min = IntStream.range(0, chunkCount(days.length))
+                    .parallel()
+                    .map(chunk -> min(days, chunk * CHUNK_SIZE, Math.min(days.length, (chunk + 1) * CHUNK_SIZE)))
+                    .min()
+                    .orElse(Integer.MAX_VALUE);
+        }
+        return min == Integer.MAX_VALUE ? MISSING : min;
+    }
+
+
+    /**
+     * Sélectionne les dates comprises dans un intervalle (bornes incluses).
+     *
+     * @param days          La colonne de jours epoch.
+     * @param startEpochDay Début de l'intervalle.
+     * @param endEpochDay   Fin de l'intervalle.
+     * @return Un BitSet dont le bit i est levé si la date i est dans l'intervalle.
+     */
+    public static BitSet filterInRange(int[] days, int startEpochDay, int endEpochDay) {
+        if (days == null || days.length == 0) return new BitSet();
+        long[] words = new long[(days.length + 63) >>> 6];
+        IntStream wordIndexes = IntStream.range(0, words.length);
+        if (days.length >= PARALLEL_THRESHOLD) wordIndexes = wordIndexes.parallel();
+        wordIndexes.forEach(word -> {
+            int from = word << 6;
+            int to = Math.min(days.length, from + 64);
+            long bits = 0;
+            for (int i = from; i < to; i++) {
+                int day = days[i];
+                long inRange = day >= startEpochDay && day <= endEpochDay && day != MISSING ? 1L : 0L;
+                bits |= inRange << (i - from);
+            }
+            words[word] = bits;
+        });
+        return BitSet.valueOf(words);
+    }
+
+
+    /**
+     * Calcule l'âge en années de chaque date de naissance à une date de référence.
+     *
+     * @param birthDays La colonne des dates de naissance, en jours epoch.
+     * @param today     La date de référence.
+     * @return Les âges ; 0 pour une date absente, comme {@link DateUtils#calculateAge(LocalDate)}.
+     */
+    public static int[] ages(int[] birthDays, LocalDate today) {
+        if (birthDays == null || today == null) return new int[0];
+        int[] ages = new int[birthDays.length];
+        int todayYear = today.getYear();
+        int todayMonthDay = today.getMonthValue() * 32 + today.getDayOfMonth();
+        IntStream indexes = IntStream.range(0, birthDays.length);
+        if (birthDays.length >= PARALLEL_THRESHOLD) indexes = indexes.parallel();
+        long todayEpochDay = today.toEpochDay();
+        indexes.forEach(i -> {
+            int day = birthDays[i];
+            if (day == MISSING) {
+                ages[i] = 0;
+            } else if (day > todayEpochDay) {
+                ages[i] = DateUtils.calculateAge(LocalDate.ofEpochDay(day), today);
+            } else {
+                ages[i] = age(day, todayYear, todayMonthDay);
+            }
+        });
+        return ages;
+    }
+
+
+    /**
+     * Compte les dates de naissance par tranche d'âge.
+     *
+     * @param birthDays   La colonne des dates de naissance, en jours epoch.
+     * @param today       La date de référence.
+     * @param bucketWidth La largeur d'une tranche, en années.
+     * @param bucketCount Le nombre de tranches ; la dernière regroupe tous les âges supérieurs.
+     * @return Le nombre de personnes par tranche (dates absentes et naissances futures ignorées).
+     */
+    public static long[] ageHistogram(int[] birthDays, LocalDate today, int bucketWidth, int bucketCount) {
+        if (bucketWidth <= 0 || bucketCount <= 0) {
+            throw new IllegalArgumentException("La largeur et le nombre de tranches doivent être strictement positifs.");
+        }
+        if (birthDays == null || today == null) return new long[bucketCount];
+        int todayYear = today.getYear();
+        int todayMonthDay = today.getMonthValue() * 32 + today.getDayOfMonth();
+        long todayEpochDay = today.toEpochDay();
+
+        IntStream chunks = IntStream.range(0, chunkCount(birthDays.length));
+        if (birthDays.length >= PARALLEL_THRESHOLD) chunks = chunks.parallel();
+        return chunks.mapToObj(chunk -> {
+            long[] counts = new long[bucketCount];
+            int to = Math.min(birthDays.length, (chunk + 1) * CHUNK_SIZE);
+            for (int i = chunk * CHUNK_SIZE; i < to; i++) {
+                int day = birthDays[i];
+                if (day == MISSING || day > todayEpochDay) continue;
+                counts[Math.min(age(day, todayYear, todayMonthDay) / bucketWidth, bucketCount - 1)]++;
+            }
+            return counts;
+        }).reduce(new long[bucketCount], EpochDayColumns::sum);
+    }
+
+
+    /**
+     * Extrait le jour de la semaine de chaque date.
+     *
+     * @param days La colonne de jours epoch.
+     * @return Le jour de la semaine ISO (1 = lundi ... 7 = dimanche), 0 pour une date absente.
+     */
+    public static byte[] daysOfWeek(int[] days) {
+        if (days == null) return new byte[0];
+        byte[] result = new byte[days.length];
+        for (int i = 0; i < days.length; i++) {
+            // Le jour epoch 0 (1970-01-01) est un jeudi.
+            result[i] = days[i] == MISSING ? 0 : (byte) (Math.floorMod(days[i] + 3, 7) + 1);
+        }
+        return result;
+    }
+
+
+    /**
+     * Calcule l'âge à partir de jours epoch, sans LocalDate (algorithme « days from civil » inversé).
+     */
+    static int age(int birthEpochDay, int todayYear, int todayMonthDay) {
+        long z = birthEpochDay + 719468L;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+        int age = todayYear - year;
+        return todayMonthDay < month * 32 + day ? age - 1 : age;
+    }
+
+    private static int max(int[] days, int from, int to) {
+        int max = MISSING;
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, days[i]);
+        }
+        return max;
+    }
+
+    private static int min(int[] days, int from, int to) {
+        int min = Integer.MAX_VALUE;
+        for (int i = from; i < to; i++) {
+            int day = days[i];
+            min = Math.min(min, day == MISSING ? Integer.MAX_VALUE : day);
+        }
+        return min;
+    }
+
+    private static int chunkCount(int length) {
+        return (length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    private static long[] sum(long[] left, long[] right) {
+        long[] total = new long[left.length];
+        for (int i = 0; i < total.length; i++) {
+            total[i] = left[i] + right[i];
+        }
+        return total;
+    }
+
+}
@@ -0,0 +1,236 @@
+package src;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * Analyseur de dates à disposition fixe (par exemple "yyyy-MM-dd" ou "dd/MM/yyyy") qui renvoie
+ * directement un jour epoch primitif.
+ *
+ * <p>Aucun objet n'est créé pendant l'analyse : ni {@link java.util.Date}, ni LocalDate, ni String.
+ * La validation est stricte : longueur exacte, chiffres uniquement dans les champs, séparateurs
+ * identiques au pattern, année de 1 à 9999 (l'année 0 n'existe pas), mois de 1 à 12 et jour borné par
+ * la longueur du mois (années bissextiles comprises, via {@link DateUtils#isLeapYear(int)}). Une entrée
+ * invalide renvoie {@link #INVALID}.</p>
+ *
+ * <p>Le calendrier est le grégorien proleptique, comme {@link java.time.LocalDate}, y compris avant
+ * 1583 : contrairement à SimpleDateFormat (calendrier julien avant octobre 1582), le 29/02/1500 est
+ * refusé et le 10/10/1582 accepté.</p>
+ */
+public final class EpochDayParser {
+
+    /** Valeur renvoyée pour une entrée invalide. */
+    public static final int INVALID = Integer.MIN_VALUE;
+
+    private static final int MAX_CACHED_PATTERNS = 64;
+
+    /**
+     * Analyseurs déjà compilés, ordonnés par accès et protégés par leur propre verrou : au-delà de
+     * {@value #MAX_CACHED_PATTERNS} patterns, le moins récemment utilisé est oublié.
+     */
+    private static final Map<String, EpochDayParser> PARSERS =
+            new LinkedHashMap<>(MAX_CACHED_PATTERNS * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, EpochDayParser> eldest) {
+                    return size() > MAX_CACHED_PATTERNS;
+                }
+            };
+
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private final String pattern;
+    private final int yearOffset;
+    private final int monthOffset;
+    private final int dayOffset;
+
+    /** Pour chaque position : le caractère littéral attendu, ou 0 pour un chiffre. */
+    private final char[] layout;
+
+
+    private EpochDayParser(String pattern, int yearOffset, int monthOffset, int dayOffset, char[] layout) {
+        this.pattern = pattern;
+        this.yearOffset = yearOffset;
+        this.monthOffset = monthOffset;
+        this.dayOffset = dayOffset;
+        this.layout = layout;
+    }
+
+
+    /**
+     * Renvoie l'analyseur d'un pattern à disposition fixe.
+     *
+     * @param pattern Un pattern composé exactement d'un "yyyy", d'un "MM", d'un "dd" et de séparateurs
+     *                qui ne sont ni des lettres ni des chiffres.
+     * @return L'analyseur, ou null si le pattern n'est pas pris en charge.
+     */
+    public static EpochDayParser forPattern(String pattern) {
+        if (pattern == null) return null;
+        EpochDayParser parser;
+        synchronized (PARSERS) {
+            parser = PARSERS.get(pattern);
+        }
+        if (parser != null) return parser;
+        parser = compile(pattern);
+        if (parser == null) return null;
+        synchronized (PARSERS) {
+            EpochDayParser existing = PARSERS.putIfAbsent(pattern, parser);
+            return existing != null ? existing : parser;
+        }
+    }
+
+
+    /**
+     * @return Le pattern de cet analyseur.
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * @return La longueur exacte attendue des entrées.
+     */
+    public int length() {
+        return layout.length;
+    }
+
+    /**
+     * @return Le caractère littéral attendu à une position, ou 0 si un chiffre y est attendu.
+     */
+    char literalAt(int position) {
+        return layout[position];
+    }
+
+    int yearOffset() {
+        return yearOffset;
+    }
+
+    int monthOffset() {
+        return monthOffset;
+    }
+
+    int dayOffset() {
+        return dayOffset;
+    }
+
+
+    /**
+     * Analyse une chaîne entière.
+     *
+     * @param input La chaîne à analyser.
+     * @return Le jour epoch, ou {@link #INVALID}.
+     */
+    public int parse(CharSequence input) {
+        if (input == null) return INVALID;
+        return parse(input, 0, input.length());
+    }
+
+    /**
+     * Analyse une portion [start, end) d'une séquence de caractères.
+     *
+     * @param input La séquence.
+     * @param start Début de la portion (inclus).
+     * @param end   Fin de la portion (exclue).
+     * @return Le jour epoch, ou {@link #INVALID}.
+     */
+    public int parse(CharSequence input, int start, int end) {
+        if (input == null || end - start != layout.length || start < 0 || end > input.length()) return INVALID;
+        for (int i = 0; i < layout.length; i++) {
+            char c = input.charAt(start + i);
+            if (layout[i] == 0 ? c < '0' || c > '9' : c != layout[i]) return INVALID;
+        }
+        int year = digits(input, start + yearOffset, 4);
+        int month = digits(input, start + monthOffset, 2);
+        int day = digits(input, start + dayOffset, 2);
+        return year < 1 ? INVALID : toEpochDay(year, month, day);
+    }
+
+    /**
+     * Analyse une portion d'un tampon d'octets ASCII, sans modifier sa position.
+     *
+     * @param input  Le tampon.
+     * @param offset Position absolue du premier octet.
+     * @param length Nombre d'octets.
+     * @return Le jour epoch, ou {@link #INVALID}.
+     */
+    public int parse(ByteBuffer input, int offset, int length) {
+        if (input == null || length != layout.length || offset < 0 || offset + length > input.limit()) return INVALID;
+        for (int i = 0; i < layout.length; i++) {
+            int c = input.get(offset + i) & 0xFF;
+            if (layout[i] == 0 ? c < '0' || c > '9' : c != layout[i]) return INVALID;
+        }
+        int year = digits(input, offset + yearOffset, 4);
+        int month = digits(input, offset + monthOffset, 2);
+        int day = digits(input, offset + dayOffset, 2);
+        return year < 1 ? INVALID : toEpochDay(year, month, day);
+    }
+
+
+    /**
+     * Convertit une date en jour epoch après validation stricte.
+     *
+     * @param year  L'année.
+     * @param month Le mois (1 à 12).
+     * @param day   Le jour du mois.
+     * @return Le jour epoch, ou {@link #INVALID} si la date n'existe pas.
+     */
+    public static int toEpochDay(int year, int month, int day) {
+        if (month < 1 || month > 12 || day < 1) return INVALID;
+        int monthLength = month == 2 && DateUtils.isLeapYear(year) ? 29 : DAYS_IN_MONTH[month - 1];
+        if (day > monthLength) return INVALID;
+
+        // Algorithme « days from civil ».
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+
+    private static EpochDayParser compile(String pattern) {
+        int yearOffset = -1;
+        int monthOffset = -1;
+        int dayOffset = -1;
+        char[] layout = new char[pattern.length()];
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (pattern.startsWith("yyyy", i) && yearOffset < 0) {
+                yearOffset = i;
+                i += 4;
+            } else if (pattern.startsWith("MM", i) && monthOffset < 0) {
+                monthOffset = i;
+                i += 2;
+            } else if (pattern.startsWith("dd", i) && dayOffset < 0) {
+                dayOffset = i;
+                i += 2;
+            } else if (Character.isLetterOrDigit(c) || c == '\'' || c >= 0x80) {
+                return null;
+            } else {
+                layout[i++] = c;
+            }
+        }
+        if (yearOffset < 0 || monthOffset < 0 || dayOffset < 0) return null;
+        return new EpochDayParser(pattern, yearOffset, monthOffset, dayOffset, layout);
+    }
+
+    private static int digits(CharSequence input, int offset, int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            value = value * 10 + (input.charAt(offset + i) - '0');
+        }
+        return value;
+    }
+
+    private static int digits(ByteBuffer input, int offset, int count) {
+        int value = 0;
+        for (int i = 0; i < count; i++) {
+            value = value * 10 + (input.get(offset + i) - '0');
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,396 @@
+package src;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+
+/**
+ * Étape de traitement réactive ({@link Flow.Processor}) : validation ({@link UserInputValidator}),
+ * normalisation ({@link UserInputFormatter}), enrichissement de dates ({@link DateUtils}), etc.
+ *
+ * <p>L'étape applique une opération à chaque élément ; un résultat null retire l'élément du flux
+ * (valeur rejetée par une validation). Les éléments sont traités par micro-lots : chaque passage prend
+ * tout ce qui est arrivé, jusqu'à {@code batchSize} éléments, et le découpe entre {@code parallelism}
+ * tâches de l'exécuteur. L'ordre des éléments est conservé.</p>
+ *
+ * <p>Contre-pression : l'étape ne demande jamais à l'amont plus que {@code 2 × batchSize} éléments en
+ * attente (reçus, en cours ou non encore transmis). Un abonné lent ralentit donc toute la chaîne au lieu
+ * de faire grossir la mémoire.</p>
+ *
+ * <p>Deux étapes qui partagent le même exécuteur peuvent être fusionnées ({@link #fuse(FlowStage)}) :
+ * chaque élément traverse alors les deux opérations sur le même thread, sans file ni signal entre les
+ * deux. Une étape ne peut être abonnée qu'une fois, en amont comme en aval.</p>
+ *
+ * @param <T> Type des éléments reçus.
+ * @param <R> Type des éléments émis.
+ */
+public final class FlowStage<T, R> implements Flow.Processor<T, R> {
+
+    private final Function<? super T, ? extends R> operation;
+    private final Executor executor;
+    private final int parallelism;
+    private final int batchSize;
+    private final int capacity;
+
+    private final ConcurrentLinkedQueue<T> inbox = new ConcurrentLinkedQueue<>();
+    private final ArrayDeque<R> outbox = new ArrayDeque<>();
+    private final AtomicInteger inboxSize = new AtomicInteger();
+    private final AtomicLong pendingUpstream = new AtomicLong();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicBoolean used = new AtomicBoolean();
+    private final AtomicBoolean subscribedUpstream = new AtomicBoolean();
+    private final AtomicBoolean subscribedDownstream = new AtomicBoolean();
+
+    private volatile Flow.Subscription upstream;
+    private volatile Flow.Subscriber<? super R> downstream;
+    private volatile boolean upstreamDone;
+    private volatile Throwable upstreamError;
+    private volatile boolean cancelled;
+    private boolean terminated;
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong emitted = new AtomicLong();
+    private volatile int highWaterMark;
+
+
+    private FlowStage(Function<? super T, ? extends R> operation, Executor executor, int parallelism, int batchSize) {
+        this.operation = Objects.requireNonNull(operation, "L'opération ne peut pas être null.");
+        this.executor = Objects.requireNonNull(executor, "L'exécuteur ne peut pas être null.");
+        if (parallelism < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Le parallélisme et la taille des lots doivent être strictement positifs.");
+        }
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.capacity = 2 * batchSize;
+    }
+
+
+    /**
+     * Crée une étape de transformation.
+     *
+     * @param operation   L'opération, par exemple {@code UserInputFormatter::removeAccents} ; un résultat
+     *                    null retire l'élément du flux.
+     * @param executor    L'exécuteur des traitements et des signaux vers l'aval.
+     * @param parallelism Nombre de tâches entre lesquelles un lot est découpé.
+     * @param batchSize   Taille maximale d'un lot.
+     * @return L'étape.
+     */
+    public static <T, R> FlowStage<T, R> map(Function<? super T, ? extends R> operation,
+                                             Executor executor, int parallelism, int batchSize) {
+        return new FlowStage<>(operation, executor, parallelism, batchSize);
+    }
+
+    /**
+     * Crée une étape de validation qui ne laisse passer que les éléments acceptés.
+     *
+     * @param rule        La règle, par exemple {@code UserInputValidator::isValidEmail}.
+     * @param executor    L'exécuteur des traitements et des signaux vers l'aval.
+     * @param parallelism Nombre de tâches entre lesquelles un lot est découpé.
+     * @param batchSize   Taille maximale d'un lot.
+     * @return L'étape.
+     */
+    public static <T> FlowStage<T, T> filter(Predicate<? super T> rule, Executor executor, int parallelism, int batchSize) {
+        Objects.requireNonNull(rule, "La règle ne peut pas être null.");
+        return new FlowStage<T, T>(t -> rule.test(t) ? t : null, executor, parallelism, batchSize);
+    }
+
+
+    /**
+     * @param next L'étape suivante.
+     * @return true si les deux étapes peuvent être fusionnées : même exécuteur, et aucune des deux
+     * n'est encore abonnée.
+     */
+    public boolean canFuse(FlowStage<?, ?> next) {
+        return next != null && next != this && next.executor == executor && !used.get() && !next.used.get();
+    }
+
+    /**
+     * Fusionne cette étape avec la suivante : l'étape obtenue applique les deux opérations à la suite,
+     * sur le même thread, avec le parallélisme et la taille de lot de cette étape.
+     *
+     * @param next L'étape suivante.
+     * @return L'étape fusionnée ; les deux étapes d'origine ne doivent plus être utilisées.
+     * @throws IllegalArgumentException si les étapes ne peuvent pas être fusionnées.
+     */
+    public <V> FlowStage<T, V> fuse(FlowStage<? super R, V> next) {
+        if (!canFuse(next)) {
+            throw new IllegalArgumentException("Seules des étapes non abonnées et de même exécuteur peuvent être fusionnées.");
+        }
+        Function<? super R, ? extends V> second = next.operation;
+        return new FlowStage<>(t -> {
+            R intermediate = operation.apply(t);
+            return intermediate == null ? null : second.apply(intermediate);
+        }, executor, parallelism, batchSize);
+    }
+
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription, "La souscription ne peut pas être null.");
+        if (!subscribedUpstream.compareAndSet(false, true)) {
+            subscription.cancel();
+            return;
+        }
+        used.set(true);
+        upstream = subscription;
+        if (cancelled) {
+            subscription.cancel();
+            return;
+        }
+        schedule();
+    }
+
+    @Override
+    public void onNext(T item) {
+        Objects.requireNonNull(item, "Un élément ne peut pas être null.");
+        pendingUpstream.decrementAndGet();
+        inbox.offer(item);
+        inboxSize.incrementAndGet();
+        schedule();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        upstreamError = Objects.requireNonNull(throwable, "L'erreur ne peut pas être null.");
+        upstreamDone = true;
+        schedule();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        schedule();
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super R> subscriber) {
+        Objects.requireNonNull(subscriber, "L'abonné ne peut pas être null.");
+        if (!subscribedDownstream.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("Cette étape a déjà un abonné."));
+            return;
+        }
+        used.set(true);
+        executor.execute(() -> {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    if (n <= 0) {
+                        fail(new IllegalArgumentException("La demande doit être strictement positive : " + n));
+                        return;
+                    }
+                    demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+                    schedule();
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                    Flow.Subscription subscription = upstream;
+                    if (subscription != null) subscription.cancel();
+                }
+            });
+            downstream = subscriber;
+            schedule();
+        });
+    }
+
+
+    /**
+     * @return Le nombre de lots traités.
+     */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    /**
+     * @return Le nombre d'éléments transmis à l'aval.
+     */
+    public long getEmittedCount() {
+        return emitted.get();
+    }
+
+    /**
+     * @return Le plus grand nombre d'éléments retenus en même temps par l'étape (au plus {@code 2 × batchSize}).
+     */
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+
+    private void fail(Throwable error) {
+        upstreamError = error;
+        upstreamDone = true;
+        cancelled = true;
+        Flow.Subscription subscription = upstream;
+        if (subscription != null) subscription.cancel();
+        schedule();
+    }
+
+    private void schedule() {
+        if (wip.getAndIncrement() == 0) executor.execute(this::drain);
+    }
+
+    /**
+     * Boucle de traitement, jamais exécutée par deux threads à la fois : transmet les résultats selon la
+     * demande, traite le lot suivant quand la file de sortie est vide, puis redemande à l'amont.
+     */
+    private void drain() {
+        int missed = 1;
+        do {
+            if (!terminated) {
+                try {
+                    drainOnce();
+                } catch (Throwable e) {
+                    cancelled = true;
+                    Flow.Subscription subscription = upstream;
+                    if (subscription != null) subscription.cancel();
+                    terminate(e);
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drainOnce() {
+        Flow.Subscriber<? super R> subscriber = downstream;
+        boolean progress = true;
+        while (progress && !terminated) {
+            progress = false;
+            if (cancelled && upstreamError == null) {
+                terminated = true;
+                return;
+            }
+            if (subscriber != null) {
+                while (!outbox.isEmpty() && demand.get() > 0 && !cancelled) {
+                    subscriber.onNext(outbox.poll());
+                    emitted.incrementAndGet();
+                    if (demand.get() != Long.MAX_VALUE) demand.decrementAndGet();
+                }
+            }
+            if (outbox.isEmpty() && inboxSize.get() > 0 && !cancelled) {
+                processBatch();
+                progress = true;
+            }
+            boolean done = upstreamDone;
+            if (subscriber != null && (cancelled || done && inboxSize.get() == 0 && outbox.isEmpty())) {
+                terminate(upstreamError);
+                return;
+            }
+            requestMore();
+        }
+    }
+
+    private void processBatch() {
+        int size = Math.min(batchSize, inboxSize.get());
+        Object[] items = new Object[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = inbox.poll();
+        }
+        inboxSize.addAndGet(-size);
+        Object[] results = new Object[size];
+        int chunks = Math.min(parallelism, size);
+        if (chunks <= 1) {
+            apply(items, results, 0, size);
+        } else {
+            applyInParallel(items, results, chunks);
+        }
+        for (Object result : results) {
+            if (result != null) outbox.add(cast(result));
+        }
+        batches.incrementAndGet();
+    }
+
+    /**
+     * Découpe le lot en tranches réclamées par un compteur : le thread de la boucle traite lui aussi des
+     * tranches, si bien qu'un exécuteur saturé (ou d'un seul thread) ne bloque jamais le lot.
+     */
+    private void applyInParallel(Object[] items, Object[] results, int chunks) {
+        AtomicInteger nextChunk = new AtomicInteger();
+        CountDownLatch finished = new CountDownLatch(chunks);
+        Throwable[] failure = new Throwable[1];
+        Runnable worker = () -> {
+            int chunk;
+            while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+                try {
+                    apply(items, results, chunk * items.length / chunks, (chunk + 1) * items.length / chunks);
+                } catch (Throwable e) {
+                    synchronized (failure) {
+                        if (failure[0] == null) failure[0] = e;
+                    }
+                } finally {
+                    finished.countDown();
+                }
+            }
+        };
+        for (int i = 1; i < chunks; i++) {
+            executor.execute(worker);
+        }
+        worker.run();
+        try {
+            finished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Traitement interrompu.", e);
+        }
+        synchronized (failure) {
+            if (failure[0] instanceof RuntimeException) throw (RuntimeException) failure[0];
+            if (failure[0] instanceof Error) throw (Error) failure[0];
+        }
+    }
+
+    private void apply(Object[] items, Object[] results, int from, int to) {
+        for (int i = from; i < to; i++) {
+            results[i] = operation.apply(cast(items[i]));
+        }
+    }
+
+    private void requestMore() {
+        int held = inboxSize.get() + outbox.size();
+        if (held > highWaterMark) highWaterMark = held;
+        Flow.Subscription subscription = upstream;
+        if (subscription == null || upstreamDone || cancelled) return;
+        long room = capacity - held - pendingUpstream.get();
+        // Demander par lots entiers limite le nombre de signaux vers l'amont.
+        if (room >= batchSize) {
+            pendingUpstream.addAndGet(room);
+            subscription.request(room);
+        }
+    }
+
+    private void terminate(Throwable error) {
+        terminated = true;
+        outbox.clear();
+        Flow.Subscriber<? super R> subscriber = downstream;
+        if (subscriber == null) return;
+        if (error != null) {
+            subscriber.onError(error);
+        } else {
+            subscriber.onComplete();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> E cast(Object value) {
+        return (E) value;
+    }
+
+}
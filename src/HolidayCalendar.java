@@ -0,0 +1,214 @@
+package src;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * Calendrier de jours fériés.
+ *
+ * <p>Les jours fériés d'une année sont calculés une seule fois par {@link #computeHolidays(int)},
+ * puis conservés sous forme d'un ensemble de 366 bits (un par jour de l'année) dans un cache
+ * concurrent rempli à la demande. {@link #isHoliday(LocalDate)} se réduit ensuite à un test de bit.</p>
+ *
+ * <p>Les calendriers peuvent être enregistrés sous un identifiant de région avec
+ * {@link #register(String, HolidayCalendar)} ; le calendrier français est enregistré sous "FR".</p>
+ */
+public abstract class HolidayCalendar {
+
+    private static final int CACHE_FIRST_YEAR = 1;
+    private static final int CACHE_LAST_YEAR = 9999;
+    private static final int WORDS_PER_YEAR = 6; // 6 * 64 = 384 >= 366
+
+    private static final ConcurrentHashMap<String, HolidayCalendar> REGISTRY = new ConcurrentHashMap<>();
+
+    /**
+     * Jours fériés français : les huit jours fixes, plus le lundi de Pâques,
+     * l'Ascension et le lundi de Pentecôte.
+     */
+    public static final HolidayCalendar FRANCE = of(
+            List.of(MonthDay.of(1, 1),   // Jour de l'an
+                    MonthDay.of(5, 1),   // Fête du travail
+                    MonthDay.of(5, 8),   // Victoire 1945
+                    MonthDay.of(7, 14),  // Fête nationale
+                    MonthDay.of(8, 15),  // Assomption
+                    MonthDay.of(11, 1),  // Toussaint
+                    MonthDay.of(11, 11), // Armistice
+                    MonthDay.of(12, 25)), // Noël
+            1,   // Lundi de Pâques
+            39,  // Ascension
+            50); // Lundi de Pentecôte
+
+    static {
+        register("FR", FRANCE);
+    }
+
+    private final AtomicReferenceArray<long[]> years =
+            new AtomicReferenceArray<>(CACHE_LAST_YEAR - CACHE_FIRST_YEAR + 1);
+
+
+    /**
+     * Calcule les jours fériés d'une année. Appelé au plus une fois par année mise en cache.
+     *
+     * @param year L'année.
+     * @return Les jours fériés de l'année (les dates d'une autre année sont ignorées).
+     */
+    protected abstract List<LocalDate> computeHolidays(int year);
+
+
+    /**
+     * Vérifie si une date est un jour férié de ce calendrier.
+     *
+     * @param date La date à vérifier.
+     * @return true si c'est un jour férié.
+     */
+    public final boolean isHoliday(LocalDate date) {
+        if (date == null) return false;
+        long[] bits = bitsOf(date.getYear());
+        int day = date.getDayOfYear() - 1;
+        return (bits[day >>> 6] & (1L << day)) != 0;
+    }
+
+
+    /**
+     * Vérifie si une date est un jour ouvré (lundi-vendredi, hors jours fériés de ce calendrier).
+     *
+     * @param date La date à vérifier.
+     * @return true si c'est un jour ouvré.
+     */
+    public final boolean isWorkingDay(LocalDate date) {
+        if (date == null) return false;
+        return !DateUtils.isWeekend(date) && !isHoliday(date);
+    }
+
+
+    /**
+     * Liste les jours fériés d'une année, dans l'ordre chronologique.
+     *
+     * @param year L'année.
+     * @return Les jours fériés de l'année.
+     */
+    public final List<LocalDate> getHolidays(int year) {
+        long[] bits = bitsOf(year);
+        List<LocalDate> holidays = new ArrayList<>();
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                int day = word * 64 + Long.numberOfTrailingZeros(remaining);
+                holidays.add(LocalDate.ofYearDay(year, day + 1));
+                remaining &= remaining - 1;
+            }
+        }
+        return holidays;
+    }
+
+
+    /**
+     * Crée un calendrier à partir de dates fixes et de décalages par rapport au dimanche de Pâques.
+     *
+     * @param fixedHolidays Les jours fériés à date fixe.
+     * @param easterOffsets Les décalages en jours par rapport à Pâques (1 pour le lundi de Pâques).
+     * @return Le calendrier.
+     */
+    public static HolidayCalendar of(List<MonthDay> fixedHolidays, int... easterOffsets) {
+        List<MonthDay> fixed = List.copyOf(fixedHolidays);
+        int[] offsets = easterOffsets == null ? new int[0] : easterOffsets.clone();
+        return new HolidayCalendar() {
+            @Override
+            protected List<LocalDate> computeHolidays(int year) {
+                List<LocalDate> holidays = new ArrayList<>();
+                for (MonthDay monthDay : fixed) {
+                    if (monthDay.isValidYear(year)) holidays.add(monthDay.atYear(year));
+                }
+                if (offsets.length > 0) {
+                    LocalDate easter = easterSunday(year);
+                    for (int offset : offsets) {
+                        holidays.add(easter.plusDays(offset));
+                    }
+                }
+                return holidays;
+            }
+        };
+    }
+
+
+    /**
+     * Calcule la date du dimanche de Pâques (calendrier grégorien proleptique, algorithme de
+     * Meeus/Jones/Butcher), y compris pour l'année 0 et les années négatives.
+     *
+     * @param year L'année.
+     * @return Le dimanche de Pâques de l'année.
+     */
+    public static LocalDate easterSunday(int year) {
+        // Divisions et restes arrondis vers le bas : la formule reste valable pour les années <= 0.
+        int a = Math.floorMod(year, 19);
+        int b = Math.floorDiv(year, 100);
+        int c = Math.floorMod(year, 100);
+        int d = Math.floorDiv(b, 4);
+        int e = Math.floorMod(b, 4);
+        int f = Math.floorDiv(b + 8, 25);
+        int g = Math.floorDiv(b - f + 1, 3);
+        int h = Math.floorMod(19 * a + b - d - g + 15, 30);
+        int i = c / 4;
+        int k = c % 4;
+        int l = Math.floorMod(32 + 2 * e + 2 * i - h - k, 7);
+        int m = (a + 11 * h + 22 * l) / 451;
+        int month = (h + l - 7 * m + 114) / 31;
+        int day = (h + l - 7 * m + 114) % 31 + 1;
+        return LocalDate.of(year, month, day);
+    }
+
+
+    /**
+     * Enregistre un calendrier sous un identifiant de région.
+     *
+     * @param id       L'identifiant, par exemple "FR".
+     * @param calendar Le calendrier.
+     */
+    public static void register(String id, HolidayCalendar calendar) {
+        Objects.requireNonNull(id, "L'identifiant ne peut pas être null.");
+        Objects.requireNonNull(calendar, "Le calendrier ne peut pas être null.");
+        REGISTRY.put(id, calendar);
+    }
+
+    /**
+     * Renvoie le calendrier enregistré sous un identifiant.
+     *
+     * @param id L'identifiant de région.
+     * @return Le calendrier, ou null s'il n'est pas enregistré.
+     */
+    public static HolidayCalendar forId(String id) {
+        return id == null ? null : REGISTRY.get(id);
+    }
+
+
+    private long[] bitsOf(int year) {
+        if (year < CACHE_FIRST_YEAR || year > CACHE_LAST_YEAR) {
+            return buildYear(year);
+        }
+        int index = year - CACHE_FIRST_YEAR;
+        long[] bits = years.get(index);
+        if (bits == null) {
+            years.compareAndSet(index, null, buildYear(year));
+            bits = years.get(index);
+        }
+        return bits;
+    }
+
+    private long[] buildYear(int year) {
+        long[] bits = new long[WORDS_PER_YEAR];
+        for (LocalDate holiday : computeHolidays(year)) {
+            if (holiday != null && holiday.getYear() == year) {
+                int day = holiday.getDayOfYear() - 1;
+                bits[day >>> 6] |= 1L << day;
+            }
+        }
+        return bits;
+    }
+
+}
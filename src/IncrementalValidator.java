@@ -0,0 +1,476 @@
+package src;
+
+import java.util.Arrays;
+
+
+/**
+ * Validateur incrémental pour la saisie caractère par caractère dans un formulaire.
+ *
+ * <p>Au lieu de revalider toute la valeur à chaque frappe, l'instance conserve l'état d'un automate
+ * (somme de Luhn courante, position dans le format de date...) et le met à jour en O(1) par caractère
+ * ajouté. Chaque état est codé dans un {@code long} et l'historique des états est conservé, ce qui rend
+ * l'effacement du dernier caractère lui aussi en O(1).</p>
+ *
+ * <p>Le statut renvoyé distingue une valeur valide ({@link Status#VALID}), une valeur encore incomplète
+ * qui peut devenir valide ({@link Status#PREFIX}) et une valeur qui ne le deviendra plus quoi qu'on ajoute
+ * ({@link Status#DEAD}). Le statut {@code VALID} correspond exactement au résultat de la méthode de
+ * {@link UserInputValidator} équivalente sur la valeur complète. Une instance par champ de saisie :
+ * cette classe n'est pas synchronisée.</p>
+ */
+public abstract class IncrementalValidator {
+
+    /**
+     * Statut de la valeur saisie.
+     */
+    public enum Status {
+        /** La valeur est valide. */
+        VALID,
+        /** La valeur n'est pas valide mais peut le devenir en ajoutant des caractères. */
+        PREFIX,
+        /** La valeur ne peut plus devenir valide. */
+        DEAD
+    }
+
+    /** État absorbant : plus aucun ajout ne peut rendre la valeur valide. */
+    static final long DEAD = -1L;
+
+    private final long initialState;
+    private long state;
+    private long[] history = new long[16];
+    private int length;
+
+
+    IncrementalValidator(long initialState) {
+        this.initialState = initialState;
+        this.state = initialState;
+    }
+
+
+    /**
+     * @return Un validateur équivalent à {@link UserInputValidator#isValidEmail(String)}.
+     */
+    public static IncrementalValidator email() {
+        return new EmailValidator();
+    }
+
+    /**
+     * @return Un validateur équivalent à {@link UserInputValidator#isValidPhoneNumber(String)}.
+     */
+    public static IncrementalValidator phoneNumber() {
+        return new PhoneValidator();
+    }
+
+    /**
+     * @return Un validateur équivalent à {@link UserInputValidator#isValidCreditCardNumber(String)}.
+     */
+    public static IncrementalValidator creditCardNumber() {
+        return new CreditCardValidator();
+    }
+
+    /**
+     * @return Un validateur équivalent à {@link UserInputValidator#isValidUrl(String)}.
+     */
+    public static IncrementalValidator url() {
+        return new UrlValidator();
+    }
+
+    /**
+     * @return Un validateur équivalent à {@link UserInputValidator#isValidPostalCode(String)}.
+     */
+    public static IncrementalValidator postalCode() {
+        return new PostalCodeValidator();
+    }
+
+    /**
+     * Renvoie un validateur équivalent à {@link UserInputValidator#isValidDate(String, String)}.
+     *
+     * @param pattern Un pattern à disposition fixe (voir {@link EpochDayParser#forPattern(String)}).
+     * @return Le validateur, ou null si le pattern n'est pas pris en charge.
+     */
+    public static IncrementalValidator date(String pattern) {
+        EpochDayParser parser = EpochDayParser.forPattern(pattern);
+        return parser == null ? null : new DateValidator(parser);
+    }
+
+
+    /**
+     * Ajoute un caractère à la valeur.
+     *
+     * @param c Le caractère saisi.
+     * @return Le statut de la nouvelle valeur.
+     */
+    public final Status append(char c) {
+        if (length == history.length) history = Arrays.copyOf(history, length * 2);
+        history[length++] = state;
+        if (state != DEAD) state = next(state, c);
+        return status();
+    }
+
+    /**
+     * Ajoute plusieurs caractères à la valeur (collage).
+     *
+     * @param text Les caractères saisis.
+     * @return Le statut de la nouvelle valeur.
+     */
+    public final Status append(CharSequence text) {
+        if (text != null) {
+            for (int i = 0; i < text.length(); i++) {
+                append(text.charAt(i));
+            }
+        }
+        return status();
+    }
+
+    /**
+     * Efface le dernier caractère de la valeur.
+     *
+     * @return Le statut de la nouvelle valeur.
+     */
+    public final Status deleteLast() {
+        if (length > 0) state = history[--length];
+        return status();
+    }
+
+    /**
+     * Vide la valeur.
+     */
+    public final void reset() {
+        state = initialState;
+        length = 0;
+    }
+
+    /**
+     * @return Le statut de la valeur courante.
+     */
+    public final Status status() {
+        return state == DEAD ? Status.DEAD : statusOf(state);
+    }
+
+    /**
+     * @return Le nombre de caractères de la valeur courante.
+     */
+    public final int length() {
+        return length;
+    }
+
+
+    /**
+     * @return L'état de la valeur vide.
+     */
+    final long initialState() {
+        return initialState;
+    }
+
+    /**
+     * @return L'état après l'ajout de {@code c}, ou {@link #DEAD}.
+     */
+    abstract long next(long state, char c);
+
+    /**
+     * @return Le statut d'un état autre que {@link #DEAD}.
+     */
+    abstract Status statusOf(long state);
+
+
+    private static boolean isWordChar(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+    }
+
+
+    /**
+     * Automate de {@code ^[\w._%+-]+@[\w.-]+\.[a-zA-Z]{2,}$}. Le domaine est valide si la partie qui suit
+     * son dernier point compte au moins deux lettres et rien d'autre, et si ce point n'est pas en tête.
+     */
+    private static final class EmailValidator extends IncrementalValidator {
+        private static final long LOCAL = 1;            // partie locale non vide
+        private static final long DOMAIN = 2;           // après l'arobase
+        private static final long DOMAIN_STARTED = 4;   // au moins un caractère de domaine
+        private static final long HEAD = 8;             // au moins un caractère avant le dernier point
+        private static final long DOT = 16;             // un point a été vu dans le domaine
+        private static final long TAIL_LETTERS = 32;    // au moins une lettre après le dernier point
+        private static final long TAIL_TWO = 64;        // au moins deux lettres après le dernier point
+        private static final long TAIL_OTHER = 128;     // autre chose qu'une lettre après le dernier point
+
+        EmailValidator() {
+            super(0);
+        }
+
+        @Override
+        long next(long state, char c) {
+            if ((state & DOMAIN) == 0) {
+                if (c == '@') return (state & LOCAL) != 0 ? DOMAIN : DEAD;
+                return isWordChar(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-' ? LOCAL : DEAD;
+            }
+            if (c == '.') {
+                long head = (state & DOMAIN_STARTED) != 0 ? HEAD : 0;
+                return DOMAIN | DOMAIN_STARTED | DOT | head;
+            }
+            if (!isWordChar(c) && c != '-') return DEAD;
+            state |= DOMAIN_STARTED;
+            if ((state & DOT) != 0) {
+                if (!isAsciiLetter(c)) {
+                    state |= TAIL_OTHER;
+                } else if ((state & TAIL_LETTERS) != 0) {
+                    state |= TAIL_TWO;
+                } else {
+                    state |= TAIL_LETTERS;
+                }
+            }
+            return state;
+        }
+
+        @Override
+        Status statusOf(long state) {
+            boolean valid = (state & HEAD) != 0 && (state & TAIL_TWO) != 0 && (state & TAIL_OTHER) == 0;
+            return valid ? Status.VALID : Status.PREFIX;
+        }
+    }
+
+
+    /**
+     * Automate de {@code ^\+?[0-9 .()-]{7,15}$} appliqué à la valeur sans espaces autour. Les blancs
+     * en fin de saisie sont mis en attente : ils comptent s'ils sont suivis d'un autre caractère.
+     */
+    private static final class PhoneValidator extends IncrementalValidator {
+        private static final long STARTED = 1;
+        private static final long PENDING_CONTROL = 2;  // blanc en attente autre qu'une espace
+        private static final int CORE_SHIFT = 8;        // nombre de caractères comptés
+        private static final int PENDING_SHIFT = 16;    // nombre de blancs en attente (plafonné)
+        private static final long FIELD = 0xFF;
+
+        PhoneValidator() {
+            super(0);
+        }
+
+        @Override
+        long next(long state, char c) {
+            long core = (state >>> CORE_SHIFT) & FIELD;
+            long pending = (state >>> PENDING_SHIFT) & FIELD;
+            boolean started = (state & STARTED) != 0;
+
+            if (c <= ' ') {
+                if (!started) return state;
+                long control = c != ' ' ? PENDING_CONTROL : 0;
+                return (state & ~(FIELD << PENDING_SHIFT)) | control | Math.min(pending + 1, 16) << PENDING_SHIFT;
+            }
+            if (pending > 0) {
+                if ((state & PENDING_CONTROL) != 0) return DEAD;
+                core += pending;
+            }
+            if (c == '+') {
+                if (started) return DEAD;
+            } else if (c >= '0' && c <= '9' || c == '.' || c == '(' || c == ')' || c == '-') {
+                core++;
+            } else {
+                return DEAD;
+            }
+            if (core > 15) return DEAD;
+            return STARTED | core << CORE_SHIFT;
+        }
+
+        @Override
+        Status statusOf(long state) {
+            long core = (state >>> CORE_SHIFT) & FIELD;
+            return core >= 7 ? Status.VALID : Status.PREFIX;
+        }
+    }
+
+
+    /**
+     * Automate de {@code ^(https?|ftp)://[\w.-]+(?:\.[\w.-]+)+[/\w\d#?&=.-]*$} appliqué à la valeur sans
+     * espaces autour. L'hôte est le plus long préfixe en {@code [\w.-]} après le schéma : il convient s'il
+     * contient un point précédé et suivi d'au moins un caractère. Les blancs en fin de saisie sont mis en
+     * attente, comme pour le téléphone, mais aucun caractère ne peut les suivre.
+     */
+    private static final class UrlValidator extends IncrementalValidator {
+        private static final String[] SCHEMES = {"http://", "https://", "ftp://"};
+        private static final long SCHEME_MASK = 0x7;     // schémas encore possibles
+        private static final int POSITION_SHIFT = 8;     // caractères du schéma déjà lus
+        private static final long STARTED = 1L << 16;
+        private static final long PENDING = 1L << 17;    // blanc en attente
+        private static final long HOST = 1L << 18;       // schéma complet
+        private static final long IN_HOST = 1L << 19;    // encore dans le préfixe en [\w.-]
+        private static final long HOST_STARTED = 1L << 20;
+        private static final long DOT = 1L << 21;        // point après au moins un caractère d'hôte
+        private static final long HOST_OK = 1L << 22;    // au moins un caractère après ce point
+
+        UrlValidator() {
+            super(SCHEME_MASK);
+        }
+
+        @Override
+        long next(long state, char c) {
+            if (c <= ' ') return (state & STARTED) == 0 ? state : state | PENDING;
+            if ((state & PENDING) != 0) return DEAD;
+            state |= STARTED;
+            if ((state & HOST) == 0) {
+                int position = (int) ((state >>> POSITION_SHIFT) & 0xFF);
+                long schemes = 0;
+                for (int i = 0; i < SCHEMES.length; i++) {
+                    if ((state & 1L << i) == 0 || SCHEMES[i].charAt(position) != c) continue;
+                    if (position + 1 == SCHEMES[i].length()) return STARTED | HOST | IN_HOST;
+                    schemes |= 1L << i;
+                }
+                return schemes == 0 ? DEAD : STARTED | (long) (position + 1) << POSITION_SHIFT | schemes;
+            }
+            boolean hostChar = isWordChar(c) || c == '.' || c == '-';
+            if (!hostChar && c != '/' && c != '#' && c != '?' && c != '&' && c != '=') return DEAD;
+            if ((state & IN_HOST) == 0) return state;
+            if (!hostChar) return state & ~IN_HOST;
+            if ((state & DOT) != 0) state |= HOST_OK;
+            if (c == '.' && (state & HOST_STARTED) != 0) state |= DOT;
+            return state | HOST_STARTED;
+        }
+
+        @Override
+        Status statusOf(long state) {
+            return (state & HOST_OK) != 0 ? Status.VALID : Status.PREFIX;
+        }
+    }
+
+
+    /**
+     * Code postal de 5 à 10 chiffres, blancs autour ignorés.
+     */
+    private static final class PostalCodeValidator extends IncrementalValidator {
+        private static final long STARTED = 256;
+        private static final long TRAILING = 512;       // blanc après les chiffres
+
+        PostalCodeValidator() {
+            super(0);
+        }
+
+        @Override
+        long next(long state, char c) {
+            if (c <= ' ') return (state & STARTED) == 0 ? state : state | TRAILING;
+            if (c < '0' || c > '9' || (state & TRAILING) != 0 || (state & 0xFF) == 10) return DEAD;
+            return (state | STARTED) + 1;
+        }
+
+        @Override
+        Status statusOf(long state) {
+            return (state & 0xFF) >= 5 ? Status.VALID : Status.PREFIX;
+        }
+    }
+
+
+    /**
+     * Somme de Luhn courante. La parité d'un chiffre dépend de sa position depuis la fin, inconnue
+     * pendant la saisie : on tient donc deux sommes, selon que le dernier chiffre est doublé ou non,
+     * et on les échange à chaque chiffre ajouté.
+     */
+    private static final class CreditCardValidator extends IncrementalValidator {
+        private static final long HAS_DIGIT = 256;
+
+        CreditCardValidator() {
+            super(0);
+        }
+
+        @Override
+        long next(long state, char c) {
+            if (c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r' || c == '-') return state;
+            if (c < '0' || c > '9') return DEAD;
+            int digit = c - '0';
+            int doubled = digit * 2 > 9 ? digit * 2 - 9 : digit * 2;
+            long lastPlain = state & 0xF;
+            long lastDoubled = (state >>> 4) & 0xF;
+            long plain = (lastDoubled + digit) % 10;
+            long dbl = (lastPlain + doubled) % 10;
+            return HAS_DIGIT | dbl << 4 | plain;
+        }
+
+        @Override
+        Status statusOf(long state) {
+            return (state & HAS_DIGIT) != 0 && (state & 0xF) == 0 ? Status.VALID : Status.PREFIX;
+        }
+    }
+
+
+    /**
+     * Suit la disposition d'un {@link EpochDayParser} et vérifie à chaque chiffre qu'une date complète
+     * reste possible (mois 01 à 12, jour borné par le mois, 29 février selon l'année).
+     */
+    private static final class DateValidator extends IncrementalValidator {
+        private static final int[] DAYS_IN_MONTH = {31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+        private static final long POSITION = 0xFFFF;
+        private static final int YEAR_SHIFT = 16;
+        private static final int MONTH_SHIFT = 32;
+        private static final int DAY_SHIFT = 40;
+        private static final long STARTED = 1L << 48;
+
+        private final EpochDayParser parser;
+
+        DateValidator(EpochDayParser parser) {
+            super(0);
+            this.parser = parser;
+        }
+
+        @Override
+        long next(long state, char c) {
+            int position = (int) (state & POSITION);
+            // Blancs de tête et de fin ignorés, comme après trim().
+            if (c <= ' ' && ((state & STARTED) == 0 || position == parser.length())) return state;
+            if (position == parser.length()) return DEAD;
+
+            char literal = parser.literalAt(position);
+            if (literal != 0) {
+                return c == literal ? (state | STARTED) + 1 : DEAD;
+            }
+            if (c < '0' || c > '9') return DEAD;
+            int digit = c - '0';
+            int year = year(state);
+            int month = month(state);
+            int day = day(state);
+            if (position >= parser.yearOffset() && position < parser.yearOffset() + 4) {
+                year = year * 10 + digit;
+            } else if (position >= parser.monthOffset() && position < parser.monthOffset() + 2) {
+                month = month * 10 + digit;
+            } else {
+                day = day * 10 + digit;
+            }
+            position++;
+            if (!possible(position, year, month, day)) return DEAD;
+            return STARTED | (long) day << DAY_SHIFT | (long) month << MONTH_SHIFT | (long) year << YEAR_SHIFT | position;
+        }
+
+        @Override
+        Status statusOf(long state) {
+            return (state & POSITION) == parser.length() ? Status.VALID : Status.PREFIX;
+        }
+
+        private boolean possible(int position, int year, int month, int day) {
+            int yearDigits = Math.min(Math.max(position - parser.yearOffset(), 0), 4);
+            int monthDigits = Math.min(Math.max(position - parser.monthOffset(), 0), 2);
+            int dayDigits = Math.min(Math.max(position - parser.dayOffset(), 0), 2);
+
+            if (yearDigits == 4 && year < 1) return false;
+            if (monthDigits == 1 && month > 1) return false;
+            if (monthDigits == 2 && (month < 1 || month > 12)) return false;
+            if (dayDigits == 1 && day > 3) return false;
+            if (dayDigits == 2 && (day < 1 || day > 31)) return false;
+            if (monthDigits == 2 && dayDigits > 0) {
+                int maxDay = DAYS_IN_MONTH[month - 1];
+                if (month == 2 && yearDigits == 4 && !DateUtils.isLeapYear(year)) maxDay = 28;
+                if ((dayDigits == 2 ? day : day * 10) > maxDay) return false;
+            }
+            return true;
+        }
+
+        private static int year(long state) {
+            return (int) ((state >>> YEAR_SHIFT) & 0xFFFF);
+        }
+
+        private static int month(long state) {
+            return (int) ((state >>> MONTH_SHIFT) & 0xFF);
+        }
+
+        private static int day(long state) {
+            return (int) ((state >>> DAY_SHIFT) & 0xFF);
+        }
+    }
+
+}
@@ -0,0 +1,169 @@
+package src;
+
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+
+/**
+ * Détecte en une seule passe ce que peut être une valeur de champ non typé (colonne « contact » libre...) :
+ * email, téléphone, URL, code postal et numéro de carte.
+ *
+ * <p>Au lieu d'appeler tour à tour {@link UserInputValidator#isValidEmail}, {@link UserInputValidator#isValidPhoneNumber},
+ * {@link UserInputValidator#isValidUrl}, {@link UserInputValidator#isValidPostalCode} et
+ * {@link UserInputValidator#isValidCreditCardNumber}, qui relisent chacune la valeur, on fait avancer ensemble
+ * les automates de {@link IncrementalValidator} (automate produit) : chaque caractère est lu une fois, la somme
+ * de Luhn est tenue en même temps, et la lecture s'arrête dès qu'aucun type n'est plus possible. Aucun objet
+ * n'est créé par valeur.</p>
+ *
+ * <p>Le résultat est un masque des constantes {@link #EMAIL}, {@link #PHONE_NUMBER}, {@link #URL},
+ * {@link #POSTAL_CODE} et {@link #CREDIT_CARD_NUMBER} ; chaque bit vaut exactement le résultat de la méthode
+ * de {@link UserInputValidator} correspondante.</p>
+ */
+public final class InputClassifier {
+
+    /** La valeur est un email ({@link UserInputValidator#isValidEmail}). */
+    public static final int EMAIL = 1;
+
+    /** La valeur est un numéro de téléphone ({@link UserInputValidator#isValidPhoneNumber}). */
+    public static final int PHONE_NUMBER = 2;
+
+    /** La valeur est une URL ({@link UserInputValidator#isValidUrl}). */
+    public static final int URL = 4;
+
+    /** La valeur est un code postal ({@link UserInputValidator#isValidPostalCode}). */
+    public static final int POSTAL_CODE = 8;
+
+    /** La valeur est un numéro de carte valide selon Luhn ({@link UserInputValidator#isValidCreditCardNumber}). */
+    public static final int CREDIT_CARD_NUMBER = 16;
+
+    /** Tous les types. */
+    public static final int ALL = EMAIL | PHONE_NUMBER | URL | POSTAL_CODE | CREDIT_CARD_NUMBER;
+
+    /** Taille de colonne en dessous de laquelle le classement reste séquentiel. */
+    static final int PARALLEL_THRESHOLD = 1 << 12;
+
+    // Seules les méthodes sans état (next, statusOf, initialState) de ces instances sont utilisées.
+    private static final IncrementalValidator EMAIL_AUTOMATON = IncrementalValidator.email();
+    private static final IncrementalValidator PHONE_AUTOMATON = IncrementalValidator.phoneNumber();
+    private static final IncrementalValidator URL_AUTOMATON = IncrementalValidator.url();
+    private static final IncrementalValidator POSTAL_CODE_AUTOMATON = IncrementalValidator.postalCode();
+    private static final IncrementalValidator CARD_AUTOMATON = IncrementalValidator.creditCardNumber();
+
+    private static final long DEAD = IncrementalValidator.DEAD;
+
+    private InputClassifier() {
+        throw new UnsupportedOperationException("Cette classe utilitaire ne peut pas être instanciée.");
+    }
+
+
+    /**
+     * Détermine tous les types auxquels correspond une valeur.
+     *
+     * @param input La valeur.
+     * @return Le masque des types reconnus, 0 si aucun ou si la valeur est null.
+     */
+    public static int classify(CharSequence input) {
+        return classify(input, ALL);
+    }
+
+    /**
+     * Détermine, parmi les types demandés, ceux auxquels correspond une valeur. Demander moins de types
+     * permet d'arrêter la lecture plus tôt.
+     *
+     * @param input La valeur.
+     * @param types Le masque des types à tester.
+     * @return Le masque des types reconnus parmi {@code types}.
+     */
+    public static int classify(CharSequence input, int types) {
+        int alive = types & ALL;
+        if (input == null || alive == 0) return 0;
+        long email = EMAIL_AUTOMATON.initialState();
+        long phone = PHONE_AUTOMATON.initialState();
+        long url = URL_AUTOMATON.initialState();
+        long postalCode = POSTAL_CODE_AUTOMATON.initialState();
+        long card = CARD_AUTOMATON.initialState();
+
+        int length = input.length();
+        for (int i = 0; i < length && alive != 0; i++) {
+            char c = input.charAt(i);
+            if ((alive & EMAIL) != 0 && (email = EMAIL_AUTOMATON.next(email, c)) == DEAD) alive &= ~EMAIL;
+            if ((alive & PHONE_NUMBER) != 0 && (phone = PHONE_AUTOMATON.next(phone, c)) == DEAD) alive &= ~PHONE_NUMBER;
+            if ((alive & URL) != 0 && (url = URL_AUTOMATON.next(url, c)) == DEAD) alive &= ~URL;
+            if ((alive & POSTAL_CODE) != 0 && (postalCode = POSTAL_CODE_AUTOMATON.next(postalCode, c)) == DEAD) {
+                alive &= ~POSTAL_CODE;
+            }
+            if ((alive & CREDIT_CARD_NUMBER) != 0 && (card = CARD_AUTOMATON.next(card, c)) == DEAD) {
+                alive &= ~CREDIT_CARD_NUMBER;
+            }
+        }
+
+        int result = 0;
+        if ((alive & EMAIL) != 0 && EMAIL_AUTOMATON.statusOf(email) == IncrementalValidator.Status.VALID) {
+            result |= EMAIL;
+        }
+        if ((alive & PHONE_NUMBER) != 0 && PHONE_AUTOMATON.statusOf(phone) == IncrementalValidator.Status.VALID) {
+            result |= PHONE_NUMBER;
+        }
+        if ((alive & URL) != 0 && URL_AUTOMATON.statusOf(url) == IncrementalValidator.Status.VALID) {
+            result |= URL;
+        }
+        if ((alive & POSTAL_CODE) != 0 && POSTAL_CODE_AUTOMATON.statusOf(postalCode) == IncrementalValidator.Status.VALID) {
+            result |= POSTAL_CODE;
+        }
+        if ((alive & CREDIT_CARD_NUMBER) != 0 && CARD_AUTOMATON.statusOf(card) == IncrementalValidator.Status.VALID) {
+            result |= CREDIT_CARD_NUMBER;
+        }
+        return result;
+    }
+
+    /**
+     * Classe toute une colonne, en parallèle au-delà de {@value #PARALLEL_THRESHOLD} valeurs.
+     *
+     * @param column Les valeurs.
+     * @return Le masque des types reconnus pour chaque valeur (0 pour une valeur null).
+     */
+    public static byte[] classifyColumn(String[] column) {
+        if (column == null) return new byte[0];
+        byte[] result = new byte[column.length];
+        IntStream indexes = IntStream.range(0, column.length);
+        if (column.length >= PARALLEL_THRESHOLD) indexes = indexes.parallel();
+        indexes.forEach(i -> result[i] = (byte) classify(column[i]));
+        return result;
+    }
+
+    /**
+     * Sélectionne les valeurs d'une colonne qui correspondent à au moins un des types demandés.
+     *
+     * @param column Les valeurs.
+     * @param types  Le masque des types recherchés.
+     * @return Les positions des valeurs correspondantes.
+     */
+    public static BitSet matchingRows(String[] column, int types) {
+        if (column == null) return new BitSet();
+        BitSet result = new BitSet(column.length);
+        boolean[] matches = new boolean[column.length];
+        IntStream indexes = IntStream.range(0, column.length);
+        if (column.length >= PARALLEL_THRESHOLD) indexes = indexes.parallel();
+        indexes.forEach(i -> matches[i] = classify(column[i], types) != 0);
+        for (int i = 0; i < matches.length; i++) {
+            if (matches[i]) result.set(i);
+        }
+        return result;
+    }
+
+    /**
+     * @param types Un masque de types.
+     * @return Les noms des types du masque, par exemple {@code "[EMAIL, URL]"}.
+     */
+    public static String toString(int types) {
+        StringBuilder sb = new StringBuilder("[");
+        String[] names = {"EMAIL", "PHONE_NUMBER", "URL", "POSTAL_CODE", "CREDIT_CARD_NUMBER"};
+        for (int i = 0; i < names.length; i++) {
+            if ((types & 1 << i) == 0) continue;
+            if (sb.length() > 1) sb.append(", ");
+            sb.append(names[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+}
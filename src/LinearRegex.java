@@ -0,0 +1,753 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+
+
+/**
+ * Expression régulière compilée en automate fini, pour des motifs non fiables (configurés par un
+ * client, par exemple) : le temps de {@link #matches(CharSequence)} est linéaire en la longueur de
+ * l'entrée, quel que soit le motif. Il n'y a jamais de retour arrière, donc pas d'explosion
+ * exponentielle sur {@code (a+)+b}.
+ *
+ * <p>Sous-ensemble pris en charge, avec la sémantique de {@link String#matches(String)} : caractères,
+ * {@code .}, classes {@code [a-z]} et {@code [^...]}, {@code \d \D \w \W \s \S}, échappements
+ * {@code \t \n \r \f \a \e \xhh \\uhhhh}, {@code \Q...\E}, groupes {@code (...)}, {@code (?:...)} et
+ * {@code (?<nom>...)}, alternatives, quantificateurs {@code * + ? {n} {n,} {n,m}} (y compris leurs
+ * formes paresseuses), {@code ^} et {@code $} aux extrémités du motif. Tout le reste (références arrière,
+ * assertions, drapeaux, quantificateurs possessifs, {@code \b}, {@code \p{...}}, intersections de classes)
+ * est refusé par {@link #compile(String)} avec une {@link IllegalArgumentException}.</p>
+ *
+ * <p>Le motif est d'abord compilé en automate non déterministe (Thompson), puis les états de l'automate
+ * déterministe sont construits à la demande pendant les recherches et mis en cache. Le cache est borné
+ * en mémoire : quand il dépasse sa taille, il est vidé et reconstruit, ce qui ralentit la recherche
+ * sans changer sa complexité. Une instance est thread-safe.</p>
+ */
+public final class LinearRegex {
+
+    /** Taille par défaut du cache d'états déterministes, en octets (estimation). */
+    public static final int DEFAULT_CACHE_BYTES = 1 << 20;
+
+    /** Nombre maximal d'états de l'automate non déterministe (les répétitions {n,m} sont dépliées). */
+    static final int MAX_NFA_STATES = 10_000;
+
+    private static final int MAX_CODE_POINT = Character.MAX_CODE_POINT;
+    private static final int STATE_OVERHEAD_BYTES = 64;
+
+    private static final int SET = 0;
+    private static final int SPLIT = 1;
+    private static final int MATCH = 2;
+
+    private static final int[] DIGIT = {'0', '9'};
+    private static final int[] WORD = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+    private static final int[] SPACE = {'\t', '\r', ' ', ' '};
+    /** Tout sauf les fins de ligne : \n, \r, U+0085, U+2028 et U+2029. */
+    private static final int[] DOT = complement(new int[]{'\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029});
+
+    private final String pattern;
+    private final int cacheBytes;
+
+    // Automate non déterministe.
+    private final int[] types;
+    private final int[] sets;
+    private final int[] out1;
+    private final int[] out2;
+    private final int nfaStart;
+    private final int[][] charSets;
+
+    // Alphabet compressé : classes de caractères indistinguables pour le motif.
+    private final int[] boundaries;
+    private final int[] representatives;
+    private final byte[] asciiClasses;
+
+    // Automate déterministe construit à la demande (modifié sous verrou).
+    private final HashMap<Key, State> states = new HashMap<>();
+    private final int[] marks;
+    private final int[] stack;
+    private int markGeneration;
+    private long usedBytes;
+    private long resets;
+    private volatile State start;
+
+
+    private LinearRegex(String pattern, int cacheBytes, Nfa nfa, int nfaStart) {
+        this.pattern = pattern;
+        this.cacheBytes = cacheBytes;
+        this.types = Arrays.copyOf(nfa.types, nfa.size);
+        this.sets = Arrays.copyOf(nfa.sets, nfa.size);
+        this.out1 = Arrays.copyOf(nfa.out1, nfa.size);
+        this.out2 = Arrays.copyOf(nfa.out2, nfa.size);
+        this.nfaStart = nfaStart;
+        this.charSets = nfa.charSets.toArray(new int[0][]);
+        this.marks = new int[nfa.size];
+        this.stack = new int[nfa.size];
+
+        int[] bounds = new int[charSets.length * 2];
+        int count = 0;
+        for (int[] set : charSets) {
+            for (int r = 0; r < set.length; r += 2) {
+                if (count + 2 > bounds.length) bounds = Arrays.copyOf(bounds, bounds.length * 2 + 2);
+                bounds[count++] = set[r];
+                if (set[r + 1] < MAX_CODE_POINT) bounds[count++] = set[r + 1] + 1;
+            }
+        }
+        bounds = Arrays.stream(bounds, 0, count).filter(b -> b > 0).sorted().distinct().toArray();
+        this.boundaries = bounds;
+        this.representatives = new int[bounds.length + 1];
+        for (int c = 1; c < representatives.length; c++) {
+            representatives[c] = bounds[c - 1];
+        }
+        this.asciiClasses = new byte[128];
+        for (int c = 0; c < 128; c++) {
+            // Au plus 129 classes distinguent des caractères ASCII : les indices tiennent dans un octet non signé.
+            asciiClasses[c] = (byte) classOf(c);
+        }
+        synchronized (this) {
+            this.start = intern(closure(new int[]{nfaStart}, 1));
+        }
+    }
+
+
+    /**
+     * Compile un motif avec un cache de {@link #DEFAULT_CACHE_BYTES} octets.
+     *
+     * @param regex Le motif.
+     * @return L'expression compilée.
+     * @throws IllegalArgumentException si le motif est invalide ou hors du sous-ensemble pris en charge.
+     */
+    public static LinearRegex compile(String regex) {
+        return compile(regex, DEFAULT_CACHE_BYTES);
+    }
+
+    /**
+     * Compile un motif.
+     *
+     * @param regex      Le motif.
+     * @param cacheBytes Taille maximale (estimée) du cache d'états déterministes, en octets.
+     * @return L'expression compilée.
+     * @throws IllegalArgumentException si le motif est invalide ou hors du sous-ensemble pris en charge.
+     */
+    public static LinearRegex compile(String regex, int cacheBytes) {
+        Objects.requireNonNull(regex, "Le motif ne peut pas être null.");
+        if (cacheBytes < 1024) throw new IllegalArgumentException("Cache trop petit : " + cacheBytes);
+        Node root = new Parser(regex).parse();
+        Nfa nfa = new Nfa();
+        int match = nfa.add(MATCH, -1, -1, -1);
+        int nfaStart = nfa.compile(root, match);
+        return new LinearRegex(regex, cacheBytes, nfa, nfaStart);
+    }
+
+    /**
+     * @param regex Un motif.
+     * @return true si le motif appartient au sous-ensemble pris en charge.
+     */
+    public static boolean isSupported(String regex) {
+        if (regex == null) return false;
+        try {
+            compile(regex);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+
+    /**
+     * Teste si toute l'entrée correspond au motif, comme {@link String#matches(String)}.
+     *
+     * @param input L'entrée.
+     * @return true si l'entrée correspond (false pour null).
+     */
+    public boolean matches(CharSequence input) {
+        if (input == null) return false;
+        State state = start;
+        int length = input.length();
+        for (int i = 0; i < length; ) {
+            char c = input.charAt(i++);
+            int codePoint = c;
+            if (Character.isHighSurrogate(c) && i < length && Character.isLowSurrogate(input.charAt(i))) {
+                codePoint = Character.toCodePoint(c, input.charAt(i++));
+            }
+            int cls = codePoint < 128 ? asciiClasses[codePoint] & 0xFF : classOf(codePoint);
+            State next = state.next[cls];
+            if (next == null) next = step(state, cls);
+            if (next.dead) return false;
+            state = next;
+        }
+        return state.accepting;
+    }
+
+    /**
+     * @return Le motif.
+     */
+    public String pattern() {
+        return pattern;
+    }
+
+    /**
+     * @return Le nombre d'états déterministes actuellement en cache.
+     */
+    public synchronized int getCachedStateCount() {
+        return states.size();
+    }
+
+    /**
+     * @return Le nombre de fois où le cache a été vidé faute de place.
+     */
+    public synchronized long getCacheResetCount() {
+        return resets;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+
+    private int classOf(int codePoint) {
+        int index = Arrays.binarySearch(boundaries, codePoint);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * Calcule une transition manquante. Les états déjà publiés ne changent plus que par l'ajout de
+     * transitions ; un thread qui lit une transition sans verrou voit soit null, soit un état complet
+     * (champs final).
+     */
+    private synchronized State step(State from, int cls) {
+        State known = from.next[cls];
+        if (known != null) return known;
+        int representative = representatives[cls];
+        int[] targets = new int[from.nfaStates.length];
+        int count = 0;
+        for (int s : from.nfaStates) {
+            if (types[s] == SET && contains(charSets[sets[s]], representative)) targets[count++] = out1[s];
+        }
+        int[] closed = closure(targets, count);
+        State existing = states.get(new Key(closed));
+        if (existing != null) {
+            from.next[cls] = existing;
+            return existing;
+        }
+        if (usedBytes + estimateBytes(closed) > cacheBytes && states.size() > 1) {
+            // Cache plein : on repart de zéro. Les threads en cours gardent leurs états, qui restent valides.
+            states.clear();
+            usedBytes = 0;
+            resets++;
+            start = intern(closure(new int[]{nfaStart}, 1));
+        }
+        State target = intern(closed);
+        from.next[cls] = target;
+        return target;
+    }
+
+    private State intern(int[] nfaStates) {
+        Key key = new Key(nfaStates);
+        State state = states.get(key);
+        if (state == null) {
+            boolean accepting = false;
+            for (int s : nfaStates) {
+                if (types[s] == MATCH) accepting = true;
+            }
+            state = new State(nfaStates, accepting, representatives.length);
+            states.put(key, state);
+            usedBytes += estimateBytes(nfaStates);
+        }
+        return state;
+    }
+
+    private long estimateBytes(int[] nfaStates) {
+        return STATE_OVERHEAD_BYTES + 4L * (nfaStates.length + representatives.length);
+    }
+
+    /**
+     * Fermeture par transitions vides, triée : seuls les états qui lisent un caractère et l'état final
+     * sont conservés, si bien que deux ensembles équivalents ont la même clé.
+     */
+    private int[] closure(int[] seeds, int count) {
+        if (++markGeneration == 0) {
+            Arrays.fill(marks, 0);
+            markGeneration = 1;
+        }
+        int[] result = new int[types.length];
+        int size = 0;
+        int top = 0;
+        for (int i = count - 1; i >= 0; i--) {
+            stack[top++] = seeds[i];
+        }
+        while (top > 0) {
+            int s = stack[--top];
+            if (marks[s] == markGeneration) continue;
+            marks[s] = markGeneration;
+            if (types[s] == SPLIT) {
+                if (marks[out2[s]] != markGeneration) stack[top++] = out2[s];
+                if (marks[out1[s]] != markGeneration) stack[top++] = out1[s];
+            } else {
+                result[size++] = s;
+            }
+        }
+        int[] sorted = Arrays.copyOf(result, size);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    private static boolean contains(int[] ranges, int codePoint) {
+        for (int r = 0; r < ranges.length; r += 2) {
+            if (codePoint < ranges[r]) return false;
+            if (codePoint <= ranges[r + 1]) return true;
+        }
+        return false;
+    }
+
+
+    private static final class State {
+        final int[] nfaStates;
+        final boolean accepting;
+        final boolean dead;
+        final State[] next;
+
+        State(int[] nfaStates, boolean accepting, int classes) {
+            this.nfaStates = nfaStates;
+            this.accepting = accepting;
+            this.dead = nfaStates.length == 0;
+            this.next = new State[classes];
+        }
+    }
+
+    private static final class Key {
+        final int[] nfaStates;
+        final int hash;
+
+        Key(int[] nfaStates) {
+            this.nfaStates = nfaStates;
+            this.hash = Arrays.hashCode(nfaStates);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && Arrays.equals(nfaStates, ((Key) other).nfaStates);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+
+    // ---------------------------------------------------------------------------------------------
+    // Arbre syntaxique et automate non déterministe
+    // ---------------------------------------------------------------------------------------------
+
+    private abstract static class Node {
+    }
+
+    /** Un caractère parmi un ensemble d'intervalles [début, fin] triés et disjoints. */
+    private static final class CharSetNode extends Node {
+        final int[] ranges;
+
+        CharSetNode(int[] ranges) {
+            this.ranges = ranges;
+        }
+    }
+
+    private static final class ConcatNode extends Node {
+        final List<Node> items;
+
+        ConcatNode(List<Node> items) {
+            this.items = items;
+        }
+    }
+
+    private static final class AlternationNode extends Node {
+        final List<Node> alternatives;
+
+        AlternationNode(List<Node> alternatives) {
+            this.alternatives = alternatives;
+        }
+    }
+
+    /** Répétition de min à max fois (max = -1 : sans limite). */
+    private static final class RepeatNode extends Node {
+        final Node item;
+        final int min;
+        final int max;
+
+        RepeatNode(Node item, int min, int max) {
+            this.item = item;
+            this.min = min;
+            this.max = max;
+        }
+    }
+
+
+    /** Construction de Thompson, de la fin vers le début : chaque fragment connaît déjà sa suite. */
+    private static final class Nfa {
+        int[] types = new int[64];
+        int[] sets = new int[64];
+        int[] out1 = new int[64];
+        int[] out2 = new int[64];
+        int size;
+        final List<int[]> charSets = new ArrayList<>();
+
+        int add(int type, int set, int next1, int next2) {
+            if (size == MAX_NFA_STATES) throw new IllegalArgumentException("Motif trop grand (plus de " + MAX_NFA_STATES + " états).");
+            if (size == types.length) {
+                types = Arrays.copyOf(types, size * 2);
+                sets = Arrays.copyOf(sets, size * 2);
+                out1 = Arrays.copyOf(out1, size * 2);
+                out2 = Arrays.copyOf(out2, size * 2);
+            }
+            types[size] = type;
+            sets[size] = set;
+            out1[size] = next1;
+            out2[size] = next2;
+            return size++;
+        }
+
+        int compile(Node node, int next) {
+            if (node instanceof CharSetNode) {
+                charSets.add(((CharSetNode) node).ranges);
+                return add(SET, charSets.size() - 1, next, -1);
+            }
+            if (node instanceof ConcatNode) {
+                List<Node> items = ((ConcatNode) node).items;
+                int start = next;
+                for (int i = items.size() - 1; i >= 0; i--) {
+                    start = compile(items.get(i), start);
+                }
+                return start;
+            }
+            if (node instanceof AlternationNode) {
+                List<Node> alternatives = ((AlternationNode) node).alternatives;
+                int start = compile(alternatives.get(alternatives.size() - 1), next);
+                for (int i = alternatives.size() - 2; i >= 0; i--) {
+                    start = add(SPLIT, -1, compile(alternatives.get(i), next), start);
+                }
+                return start;
+            }
+            RepeatNode repeat = (RepeatNode) node;
+            int start;
+            if (repeat.max < 0) {
+                int loop = add(SPLIT, -1, -1, next);
+                out1[loop] = compile(repeat.item, loop);
+                start = loop;
+            } else {
+                start = next;
+                for (int i = repeat.min; i < repeat.max; i++) {
+                    start = add(SPLIT, -1, compile(repeat.item, start), next);
+                }
+            }
+            for (int i = 0; i < repeat.min; i++) {
+                start = compile(repeat.item, start);
+            }
+            return start;
+        }
+    }
+
+
+    /** Analyseur récursif du sous-ensemble pris en charge. */
+    private static final class Parser {
+        private static final int MAX_REPEAT = 1000;
+        private static final int MAX_DEPTH = 100;
+
+        private final String regex;
+        private int position;
+        private int depth;
+
+        Parser(String regex) {
+            this.regex = regex;
+        }
+
+        Node parse() {
+            Node node = alternation();
+            if (position < regex.length()) throw error("parenthèse fermante inattendue");
+            return node;
+        }
+
+        private Node alternation() {
+            List<Node> alternatives = new ArrayList<>();
+            alternatives.add(concatenation());
+            while (position < regex.length() && regex.charAt(position) == '|') {
+                position++;
+                alternatives.add(concatenation());
+            }
+            return alternatives.size() == 1 ? alternatives.get(0) : new AlternationNode(alternatives);
+        }
+
+        private Node concatenation() {
+            List<Node> items = new ArrayList<>();
+            if (depth == 0 && peek('^')) position++;
+            while (position < regex.length()) {
+                char c = regex.charAt(position);
+                if (c == '|' || c == ')') break;
+                if (c == '$') {
+                    position++;
+                    if (depth == 0 && (position == regex.length() || peek('|'))) break;
+                    throw error("$ n'est pris en charge qu'en fin de motif");
+                }
+                if (c == '\\' && regex.startsWith("\\Q", position)) {
+                    quoted(items);
+                    continue;
+                }
+                items.add(quantified(atom()));
+            }
+            return items.size() == 1 ? items.get(0) : new ConcatNode(items);
+        }
+
+        private void quoted(List<Node> items) {
+            position += 2;
+            int end = regex.indexOf("\\E", position);
+            String literal = regex.substring(position, end < 0 ? regex.length() : end);
+            position = end < 0 ? regex.length() : end + 2;
+            for (int i = 0; i < literal.length(); ) {
+                int codePoint = literal.codePointAt(i);
+                i += Character.charCount(codePoint);
+                // Un quantificateur après \E porte sur le dernier caractère cité.
+                Node node = new CharSetNode(new int[]{codePoint, codePoint});
+                items.add(i == literal.length() ? quantified(node) : node);
+            }
+        }
+
+        private Node atom() {
+            char c = regex.charAt(position);
+            switch (c) {
+                case '(':
+                    return group();
+                case '[':
+                    return new CharSetNode(charClass());
+                case '.':
+                    position++;
+                    return new CharSetNode(DOT);
+                case '\\':
+                    return new CharSetNode(escape());
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    throw error("quantificateur sans élément");
+                case '^':
+                    throw error("^ n'est pris en charge qu'en début de motif");
+                default:
+                    int codePoint = regex.codePointAt(position);
+                    position += Character.charCount(codePoint);
+                    return new CharSetNode(new int[]{codePoint, codePoint});
+            }
+        }
+
+        private Node group() {
+            position++;
+            if (peek('?')) {
+                if (regex.startsWith("?:", position)) {
+                    position += 2;
+                } else if (regex.startsWith("?<", position) && position + 2 < regex.length()
+                        && Character.isLetter(regex.charAt(position + 2))) {
+                    int end = regex.indexOf('>', position);
+                    if (end < 0) throw error("nom de groupe non fermé");
+                    position = end + 1;
+                } else {
+                    throw error("assertions et drapeaux non pris en charge");
+                }
+            }
+            if (++depth > MAX_DEPTH) throw error("plus de " + MAX_DEPTH + " groupes imbriqués");
+            Node node = alternation();
+            depth--;
+            if (!peek(')')) throw error("parenthèse non fermée");
+            position++;
+            return node;
+        }
+
+        private Node quantified(Node node) {
+            if (position >= regex.length()) return node;
+            int min;
+            int max;
+            char c = regex.charAt(position);
+            if (c == '*') {
+                min = 0;
+                max = -1;
+                position++;
+            } else if (c == '+') {
+                min = 1;
+                max = -1;
+                position++;
+            } else if (c == '?') {
+                min = 0;
+                max = 1;
+                position++;
+            } else if (c == '{') {
+                position++;
+                min = number();
+                max = min;
+                if (peek(',')) {
+                    position++;
+                    max = peek('}') ? -1 : number();
+                }
+                if (!peek('}')) throw error("répétition mal formée");
+                position++;
+                if (max >= 0 && max < min) throw error("répétition {" + min + "," + max + "} invalide");
+            } else {
+                return node;
+            }
+            if (peek('+')) throw error("quantificateurs possessifs non pris en charge");
+            // La forme paresseuse ne change pas le résultat de matches().
+            if (peek('?')) position++;
+            if (position < regex.length() && "*+?{".indexOf(regex.charAt(position)) >= 0) {
+                throw error("quantificateurs consécutifs");
+            }
+            return new RepeatNode(node, min, max);
+        }
+
+        private int number() {
+            int startPosition = position;
+            int value = 0;
+            while (position < regex.length() && regex.charAt(position) >= '0' && regex.charAt(position) <= '9') {
+                value = value * 10 + regex.charAt(position++) - '0';
+                if (value > MAX_REPEAT) throw error("répétition supérieure à " + MAX_REPEAT);
+            }
+            if (position == startPosition) throw error("répétition mal formée");
+            return value;
+        }
+
+        private int[] charClass() {
+            position++;
+            boolean negated = peek('^');
+            if (negated) position++;
+            if (peek(']')) throw error("classe de caractères vide");
+            List<int[]> parts = new ArrayList<>();
+            while (!peek(']')) {
+                if (position >= regex.length()) throw error("classe de caractères non fermée");
+                if (peek('[') || regex.startsWith("&&", position)) throw error("classes imbriquées et intersections non prises en charge");
+                int[] first = classAtom();
+                boolean range = first.length == 2 && first[0] == first[1] && peek('-')
+                        && position + 1 < regex.length() && regex.charAt(position + 1) != ']';
+                if (range) {
+                    position++;
+                    int[] last = classAtom();
+                    if (last.length != 2 || last[0] != last[1]) throw error("intervalle mal formé");
+                    if (last[0] < first[0]) throw error("intervalle inversé");
+                    parts.add(new int[]{first[0], last[0]});
+                } else {
+                    parts.add(first);
+                }
+            }
+            position++;
+            int[] union = union(parts);
+            return negated ? complement(union) : union;
+        }
+
+        private int[] classAtom() {
+            if (peek('\\')) return escape();
+            int codePoint = regex.codePointAt(position);
+            position += Character.charCount(codePoint);
+            return new int[]{codePoint, codePoint};
+        }
+
+        /** Un échappement a le même sens dans une classe de caractères et en dehors. */
+        private int[] escape() {
+            position++;
+            if (position >= regex.length()) throw error("échappement incomplet");
+            char c = regex.charAt(position++);
+            switch (c) {
+                case 'd':
+                    return DIGIT;
+                case 'D':
+                    return complement(DIGIT);
+                case 'w':
+                    return WORD;
+                case 'W':
+                    return complement(WORD);
+                case 's':
+                    return SPACE;
+                case 'S':
+                    return complement(SPACE);
+                case 't':
+                    return single('\t');
+                case 'n':
+                    return single('\n');
+                case 'r':
+                    return single('\r');
+                case 'f':
+                    return single('\f');
+                case 'a':
+                    return single('\u0007');
+                case 'e':
+                    return single('\u001B');
+                case 'x':
+                    return single(hex(2));
+                case 'u':
+                    return single(hex(4));
+                default:
+                    if (c >= '0' && c <= '9') throw error("références arrière et octal non pris en charge");
+                    if (Character.isLetter(c)) throw error("\\" + c + " non pris en charge");
+                    return single(c);
+            }
+        }
+
+        private int hex(int digits) {
+            if (position + digits > regex.length()) throw error("échappement hexadécimal incomplet");
+            int value = 0;
+            for (int i = 0; i < digits; i++) {
+                int digit = Character.digit(regex.charAt(position++), 16);
+                if (digit < 0) throw error("échappement hexadécimal invalide");
+                value = value * 16 + digit;
+            }
+            return value;
+        }
+
+        private boolean peek(char c) {
+            return position < regex.length() && regex.charAt(position) == c;
+        }
+
+        private IllegalArgumentException error(String reason) {
+            return new IllegalArgumentException("Motif non pris en charge (" + reason + ", position " + position + ") : " + regex);
+        }
+    }
+
+
+    private static int[] single(int codePoint) {
+        return new int[]{codePoint, codePoint};
+    }
+
+    private static int[] union(List<int[]> parts) {
+        List<int[]> ranges = new ArrayList<>();
+        for (int[] part : parts) {
+            for (int r = 0; r < part.length; r += 2) {
+                ranges.add(new int[]{part[r], part[r + 1]});
+            }
+        }
+        ranges.sort((a, b) -> Integer.compare(a[0], b[0]));
+        int[] result = new int[ranges.size() * 2];
+        int count = 0;
+        for (int[] range : ranges) {
+            if (count > 0 && range[0] <= result[count - 1] + 1) {
+                result[count - 1] = Math.max(result[count - 1], range[1]);
+            } else {
+                result[count++] = range[0];
+                result[count++] = range[1];
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private static int[] complement(int[] ranges) {
+        int[] result = new int[ranges.length + 2];
+        int count = 0;
+        int next = 0;
+        for (int r = 0; r < ranges.length; r += 2) {
+            if (ranges[r] > next) {
+                result[count++] = next;
+                result[count++] = ranges[r] - 1;
+            }
+            next = ranges[r + 1] + 1;
+        }
+        if (next <= MAX_CODE_POINT) {
+            result[count++] = next;
+            result[count++] = MAX_CODE_POINT;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+}
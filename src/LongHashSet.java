@@ -0,0 +1,209 @@
+package src;
+
+import java.util.Arrays;
+
+
+/**
+ * Ensemble de {@code long} à adressage ouvert (sondage linéaire), sans boxing.
+ *
+ * <p>Les clés sont stockées dans un unique {@code long[]} : environ 11 à 21 octets par élément
+ * selon le remplissage, contre une soixantaine pour un {@code HashSet<Long>}. La clé 0 sert
+ * de marqueur de case vide et est gérée à part. La suppression décale les éléments suivants
+ * au lieu de laisser des pierres tombales. Cette classe n'est pas synchronisée.</p>
+ */
+public final class LongHashSet {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] keys;
+    private int mask;
+    private int threshold;
+    private int size;
+    private boolean containsZero;
+
+
+    /**
+     * Crée un ensemble vide.
+     */
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Crée un ensemble vide dimensionné pour un nombre d'éléments donné.
+     *
+     * @param expectedSize Le nombre d'éléments attendu.
+     */
+    public LongHashSet(int expectedSize) {
+        if (expectedSize < 0) throw new IllegalArgumentException("La taille attendue ne peut pas être négative.");
+        allocate(capacityFor(expectedSize));
+    }
+
+
+    /**
+     * Ajoute une valeur.
+     *
+     * @param key La valeur.
+     * @return true si la valeur n'était pas présente.
+     */
+    public boolean add(long key) {
+        if (key == 0) {
+            if (containsZero) return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int slot = mix(key) & mask;
+        long current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) return false;
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (++size > threshold) resize();
+        return true;
+    }
+
+    /**
+     * @param key La valeur recherchée.
+     * @return true si la valeur est présente.
+     */
+    public boolean contains(long key) {
+        if (key == 0) return containsZero;
+        int slot = mix(key) & mask;
+        long current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) return true;
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Retire une valeur.
+     *
+     * @param key La valeur.
+     * @return true si la valeur était présente.
+     */
+    public boolean remove(long key) {
+        if (key == 0) {
+            if (!containsZero) return false;
+            containsZero = false;
+            size--;
+            return true;
+        }
+        int slot = mix(key) & mask;
+        long current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) {
+                shiftKeys(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+
+    /**
+     * @return Le nombre de valeurs.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true si l'ensemble est vide.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Vide l'ensemble en conservant sa capacité.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    /**
+     * @return Les valeurs, dans un ordre quelconque.
+     */
+    public long[] toArray() {
+        long[] result = new long[size];
+        int position = 0;
+        if (containsZero) position++;
+        for (long key : keys) {
+            if (key != 0) result[position++] = key;
+        }
+        return result;
+    }
+
+
+    /**
+     * Mélange les bits d'une clé (finaliseur de MurmurHash3), pour que des clés proches
+     * (numéros consécutifs, identifiants croissants) ne se regroupent pas.
+     */
+    static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    /**
+     * @return La capacité (puissance de 2) permettant de contenir {@code expectedSize} éléments.
+     */
+    static int capacityFor(int expectedSize) {
+        long needed = (long) expectedSize * 4 / 3 + 1;
+        if (needed > MAX_CAPACITY) throw new IllegalArgumentException("Taille attendue trop grande : " + expectedSize);
+        int capacity = MIN_CAPACITY;
+        while (capacity < needed) capacity <<= 1;
+        return capacity;
+    }
+
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+        threshold = capacity / 4 * 3;
+    }
+
+    private void resize() {
+        if (keys.length == MAX_CAPACITY) throw new IllegalStateException("Capacité maximale atteinte.");
+        long[] old = keys;
+        allocate(old.length * 2);
+        for (long key : old) {
+            if (key == 0) continue;
+            int slot = mix(key) & mask;
+            while (keys[slot] != 0) slot = (slot + 1) & mask;
+            keys[slot] = key;
+        }
+    }
+
+    /**
+     * Vide une case en ramenant les éléments suivants de la même séquence de sondage.
+     */
+    private void shiftKeys(int slot) {
+        int free = slot;
+        int next = (slot + 1) & mask;
+        long key;
+        while ((key = keys[next]) != 0) {
+            int home = mix(key) & mask;
+            // L'élément peut reculer en "free" si sa case d'origine n'est pas dans ]free, next].
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = key;
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[free] = 0;
+    }
+
+}
@@ -0,0 +1,214 @@
+package src;
+
+import java.util.Arrays;
+
+
+/**
+ * Table d'association {@code long -> int} à adressage ouvert, sans boxing.
+ *
+ * <p>Destinée aux jointures sur clé primitive, par exemple numéro E.164 ({@link PhoneNormalizer})
+ * vers indice d'enregistrement. Clés et valeurs sont rangées dans deux tableaux parallèles ;
+ * la clé 0 est gérée à part. Une valeur absente est signalée par la valeur par défaut choisie
+ * à la construction. Cette classe n'est pas synchronisée.</p>
+ */
+public final class LongIntHashMap {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final int missingValue;
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int threshold;
+    private int size;
+    private boolean containsZero;
+    private int zeroValue;
+
+
+    /**
+     * Crée une table vide qui renvoie -1 pour une clé absente.
+     *
+     * @param expectedSize Le nombre d'entrées attendu.
+     */
+    public LongIntHashMap(int expectedSize) {
+        this(expectedSize, -1);
+    }
+
+    /**
+     * Crée une table vide.
+     *
+     * @param expectedSize Le nombre d'entrées attendu.
+     * @param missingValue La valeur renvoyée pour une clé absente.
+     */
+    public LongIntHashMap(int expectedSize, int missingValue) {
+        if (expectedSize < 0) throw new IllegalArgumentException("La taille attendue ne peut pas être négative.");
+        this.missingValue = missingValue;
+        allocate(LongHashSet.capacityFor(expectedSize));
+    }
+
+
+    /**
+     * Associe une valeur à une clé.
+     *
+     * @param key   La clé.
+     * @param value La valeur.
+     * @return L'ancienne valeur, ou la valeur d'absence.
+     */
+    public int put(long key, int value) {
+        if (key == 0) {
+            int previous = containsZero ? zeroValue : missingValue;
+            if (!containsZero) size++;
+            containsZero = true;
+            zeroValue = value;
+            return previous;
+        }
+        int slot = LongHashSet.mix(key) & mask;
+        long current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > threshold) resize();
+        return missingValue;
+    }
+
+    /**
+     * Associe une valeur à une clé si elle n'en a pas déjà une.
+     *
+     * @param key   La clé.
+     * @param value La valeur.
+     * @return La valeur déjà associée, ou la valeur d'absence si {@code value} a été ajoutée.
+     */
+    public int putIfAbsent(long key, int value) {
+        if (containsKey(key)) return get(key);
+        put(key, value);
+        return missingValue;
+    }
+
+    /**
+     * @param key La clé.
+     * @return La valeur associée, ou la valeur d'absence.
+     */
+    public int get(long key) {
+        if (key == 0) return containsZero ? zeroValue : missingValue;
+        int slot = LongHashSet.mix(key) & mask;
+        long current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) return values[slot];
+            slot = (slot + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    /**
+     * @param key La clé.
+     * @return true si la clé est présente.
+     */
+    public boolean containsKey(long key) {
+        if (key == 0) return containsZero;
+        int slot = LongHashSet.mix(key) & mask;
+        long current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) return true;
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Retire une clé.
+     *
+     * @param key La clé.
+     * @return La valeur retirée, ou la valeur d'absence.
+     */
+    public int remove(long key) {
+        if (key == 0) {
+            if (!containsZero) return missingValue;
+            containsZero = false;
+            size--;
+            return zeroValue;
+        }
+        int slot = LongHashSet.mix(key) & mask;
+        long current;
+        while ((current = keys[slot]) != 0) {
+            if (current == key) {
+                int previous = values[slot];
+                shiftEntries(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return missingValue;
+    }
+
+
+    /**
+     * @return Le nombre d'entrées.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return La valeur renvoyée pour une clé absente.
+     */
+    public int getMissingValue() {
+        return missingValue;
+    }
+
+    /**
+     * Vide la table en conservant sa capacité.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        threshold = capacity / 4 * 3;
+    }
+
+    private void resize() {
+        if (keys.length == MAX_CAPACITY) throw new IllegalStateException("Capacité maximale atteinte.");
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key == 0) continue;
+            int slot = LongHashSet.mix(key) & mask;
+            while (keys[slot] != 0) slot = (slot + 1) & mask;
+            keys[slot] = key;
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void shiftEntries(int slot) {
+        int free = slot;
+        int next = (slot + 1) & mask;
+        long key;
+        while ((key = keys[next]) != 0) {
+            int home = LongHashSet.mix(key) & mask;
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = key;
+                values[free] = values[next];
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[free] = 0;
+    }
+
+}
@@ -0,0 +1,379 @@
+package src;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+
+/**
+ * Index de blocage pour la recherche de doublons de noms de personnes.
+ *
+ * <p>Au lieu de comparer toutes les paires de noms, chaque nom reçoit quelques clés de blocage et seules
+ * les paires qui partagent un bloc sont comparées, par une distance d'édition bornée. Les noms sont
+ * repliés avec {@link UserInputFormatter#removeAccents(String)} et mis en minuscules, découpés en mots
+ * puis triés (« MARTIN Jean » et « Jean Martin » sont identiques). Pour chaque mot, deux clés :</p>
+ * <ul>
+ *     <li>son code Soundex suivi des initiales des autres mots ({@link UserInputFormatter#getInitials(String)}) ;</li>
+ *     <li>son code Soundex sans la première lettre, suivi des codes Soundex des autres mots.</li>
+ * </ul>
+ * <p>Une faute de frappe dans un seul mot laisse ainsi au moins une clé intacte, y compris sur sa
+ * première lettre. Les blocs plus grands que {@code maxBlockSize} (noms très courants) sont ignorés.</p>
+ *
+ * <p>Le repliement et le calcul des clés sont parallèles. Les listes de blocs sont stockées en
+ * tableaux d'entiers contigus (un tableau de décalages et un tableau d'identifiants), sans objet par
+ * bloc ni par enregistrement. L'index est immuable.</p>
+ */
+public final class NameBlockingIndex {
+
+    private static final String SOUNDEX_CODES = "01230120022455012623010202";
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final String[] folded;
+    private final int maxBlockSize;
+    private final int[] blockOffsets;
+    private final int[] blockRecords;
+    private final int[] recordOffsets;
+    private final int[] recordBlocks;
+
+
+    private NameBlockingIndex(String[] folded, int maxBlockSize, int[] blockOffsets, int[] blockRecords,
+                              int[] recordOffsets, int[] recordBlocks) {
+        this.folded = folded;
+        this.maxBlockSize = maxBlockSize;
+        this.blockOffsets = blockOffsets;
+        this.blockRecords = blockRecords;
+        this.recordOffsets = recordOffsets;
+        this.recordBlocks = recordBlocks;
+    }
+
+
+    /**
+     * Construit l'index. L'identifiant de chaque nom est sa position.
+     *
+     * @param names        Les noms (null ou vide : enregistrement sans bloc).
+     * @param maxBlockSize Taille au-delà de laquelle un bloc est ignoré (au moins 2).
+     * @return L'index.
+     */
+    public static NameBlockingIndex build(List<String> names, int maxBlockSize) {
+        Objects.requireNonNull(names, "La liste de noms ne peut pas être null.");
+        if (maxBlockSize < 2) throw new IllegalArgumentException("La taille maximale d'un bloc doit être au moins 2.");
+        String[] values = names.toArray(new String[0]);
+        int n = values.length;
+
+        String[] folded = new String[n];
+        long[][] keys = new long[n][];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            String[] tokens = tokens(values[i]);
+            folded[i] = String.join(" ", tokens);
+            keys[i] = blockingKeys(tokens);
+        });
+
+        // Attribution des numéros de bloc : séquentielle, en O(nombre de clés).
+        int[] recordOffsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            recordOffsets[i + 1] = recordOffsets[i] + keys[i].length;
+        }
+        int[] recordBlocks = new int[recordOffsets[n]];
+        LongIntHashMap blockOf = new LongIntHashMap(recordBlocks.length);
+        int[] blockSizes = new int[16];
+        int blockCount = 0;
+        for (int i = 0; i < n; i++) {
+            int position = recordOffsets[i];
+            for (long key : keys[i]) {
+                int block = blockOf.putIfAbsent(key, blockCount);
+                if (block < 0) {
+                    block = blockCount++;
+                    if (block == blockSizes.length) blockSizes = Arrays.copyOf(blockSizes, block * 2);
+                }
+                blockSizes[block]++;
+                recordBlocks[position++] = block;
+            }
+            Arrays.sort(recordBlocks, recordOffsets[i], position);
+            keys[i] = null;
+        }
+
+        int[] blockOffsets = new int[blockCount + 1];
+        for (int b = 0; b < blockCount; b++) {
+            blockOffsets[b + 1] = blockOffsets[b] + blockSizes[b];
+        }
+        int[] fill = Arrays.copyOf(blockOffsets, blockCount);
+        int[] blockRecords = new int[recordBlocks.length];
+        for (int i = 0; i < n; i++) {
+            for (int p = recordOffsets[i]; p < recordOffsets[i + 1]; p++) {
+                blockRecords[fill[recordBlocks[p]]++] = i;
+            }
+        }
+        return new NameBlockingIndex(folded, maxBlockSize, blockOffsets, blockRecords, recordOffsets, recordBlocks);
+    }
+
+
+    /**
+     * @return Le nombre de noms indexés.
+     */
+    public int size() {
+        return folded.length;
+    }
+
+    /**
+     * @return Le nombre de blocs, ignorés compris.
+     */
+    public int blockCount() {
+        return blockOffsets.length - 1;
+    }
+
+    /**
+     * @return Le nombre de blocs ignorés car plus grands que la taille maximale.
+     */
+    public int skippedBlockCount() {
+        int skipped = 0;
+        for (int b = 0; b < blockCount(); b++) {
+            if (blockSize(b) > maxBlockSize) skipped++;
+        }
+        return skipped;
+    }
+
+    /**
+     * @param id L'identifiant d'un nom.
+     * @return Le nom replié (sans accents, en minuscules, mots triés) utilisé pour les comparaisons.
+     */
+    public String foldedName(int id) {
+        return folded[id];
+    }
+
+
+    /**
+     * Renvoie les noms qui partagent au moins un bloc (non ignoré) avec un nom donné.
+     *
+     * @param id L'identifiant du nom.
+     * @return Les identifiants candidats, triés, sans le nom lui-même.
+     */
+    public int[] candidatesOf(int id) {
+        int count = 0;
+        for (int p = recordOffsets[id]; p < recordOffsets[id + 1]; p++) {
+            int block = recordBlocks[p];
+            if (blockSize(block) <= maxBlockSize) count += blockSize(block);
+        }
+        int[] candidates = new int[count];
+        count = 0;
+        for (int p = recordOffsets[id]; p < recordOffsets[id + 1]; p++) {
+            int block = recordBlocks[p];
+            if (blockSize(block) > maxBlockSize) continue;
+            for (int q = blockOffsets[block]; q < blockOffsets[block + 1]; q++) {
+                if (blockRecords[q] != id) candidates[count++] = blockRecords[q];
+            }
+        }
+        Arrays.sort(candidates, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || candidates[distinct - 1] != candidates[i]) candidates[distinct++] = candidates[i];
+        }
+        return Arrays.copyOf(candidates, distinct);
+    }
+
+
+    /**
+     * Trouve les paires de noms probablement en double, bloc par bloc et en parallèle.
+     * Chaque paire (a, b) avec a &lt; b est encodée dans un long : {@code (a << 32) | b}.
+     *
+     * @param maxDistance La distance d'édition maximale entre noms repliés.
+     * @return Les paires, triées et sans répétition.
+     */
+    public long[] findDuplicatePairs(int maxDistance) {
+        if (maxDistance < 0) return new long[0];
+        long[] pairs = IntStream.range(0, blockCount())
+                .parallel()
+                .mapToObj(block -> pairsInBlock(block, maxDistance))
+                .flatMapToLong(LongStream::of)
+                .toArray();
+        Arrays.parallelSort(pairs);
+        return pairs;
+    }
+
+    /**
+     * @param pair Une paire renvoyée par {@link #findDuplicatePairs(int)}
+     * @return L'identifiant du premier nom
+     */
+    public static int firstOf(long pair) {
+        return (int) (pair >>> 32);
+    }
+
+    /**
+     * @param pair Une paire renvoyée par {@link #findDuplicatePairs(int)}
+     * @return L'identifiant du second nom
+     */
+    public static int secondOf(long pair) {
+        return (int) pair;
+    }
+
+
+    /**
+     * Distance de Levenshtein bornée : seule une bande de largeur {@code 2 * maxDistance + 1} est calculée,
+     * et le calcul s'arrête dès que la borne est dépassée.
+     *
+     * @param a           La première chaîne.
+     * @param b           La seconde chaîne.
+     * @param maxDistance La borne.
+     * @return La distance si elle est au plus {@code maxDistance}, sinon {@code maxDistance + 1}.
+     */
+    public static int boundedEditDistance(CharSequence a, CharSequence b, int maxDistance) {
+        int over = maxDistance + 1;
+        if (a == null || b == null || maxDistance < 0) return Math.max(over, 0);
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > maxDistance) return over;
+
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) previous[j] = Math.min(j, over);
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - maxDistance);
+            int to = Math.min(m, i + maxDistance);
+            current[from - 1] = from == 1 ? Math.min(i, over) : over;
+            int rowMin = current[from - 1];
+            char c = a.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int cost = c == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(previous[j - 1] + cost, Math.min(previous[j], current[j - 1]) + 1);
+                current[j] = Math.min(value, over);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < m) current[to + 1] = over;
+            if (rowMin > maxDistance) return over;
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[m];
+    }
+
+
+    private long[] pairsInBlock(int block, int maxDistance) {
+        int start = blockOffsets[block];
+        int end = blockOffsets[block + 1];
+        if (end - start < 2 || end - start > maxBlockSize) return new long[0];
+        LongStream.Builder pairs = LongStream.builder();
+        for (int i = start; i < end; i++) {
+            int a = blockRecords[i];
+            for (int j = i + 1; j < end; j++) {
+                int b = blockRecords[j];
+                // La paire n'est retenue que dans le premier bloc commun, pour ne pas la comparer deux fois.
+                if (firstSharedBlock(a, b) != block) continue;
+                if (boundedEditDistance(folded[a], folded[b], maxDistance) <= maxDistance) {
+                    pairs.add(((long) a << 32) | b);
+                }
+            }
+        }
+        return pairs.build().toArray();
+    }
+
+    private int firstSharedBlock(int a, int b) {
+        int p = recordOffsets[a];
+        int q = recordOffsets[b];
+        while (p < recordOffsets[a + 1] && q < recordOffsets[b + 1]) {
+            int blockA = recordBlocks[p];
+            int blockB = recordBlocks[q];
+            if (blockA < blockB) {
+                p++;
+            } else if (blockA > blockB) {
+                q++;
+            } else {
+                if (blockSize(blockA) <= maxBlockSize) return blockA;
+                p++;
+                q++;
+            }
+        }
+        return -1;
+    }
+
+    private int blockSize(int block) {
+        return blockOffsets[block + 1] - blockOffsets[block];
+    }
+
+
+    /**
+     * @return Les mots du nom, sans accents, en minuscules et triés.
+     */
+    static String[] tokens(String name) {
+        if (name == null) return new String[0];
+        String value = UserInputFormatter.toLowerCase(UserInputFormatter.removeAccents(name));
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            normalized.append(Character.isLetter(c) ? c : ' ');
+        }
+        String trimmed = normalized.toString().trim();
+        if (trimmed.isEmpty()) return new String[0];
+        String[] tokens = trimmed.split(" +");
+        Arrays.sort(tokens);
+        return tokens;
+    }
+
+    private static long[] blockingKeys(String[] tokens) {
+        if (tokens.length == 0) return new long[0];
+        String initials = UserInputFormatter.getInitials(String.join(" ", tokens));
+        String[] codes = new String[tokens.length];
+        for (int i = 0; i < tokens.length; i++) {
+            codes[i] = soundex(tokens[i]);
+        }
+
+        int perToken = tokens.length == 1 ? 1 : 2;
+        long[] keys = new long[tokens.length * perToken];
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < tokens.length; i++) {
+            key.setLength(0);
+            key.append('1').append(codes[i]).append('|')
+                    .append(initials, 0, i).append(initials, i + 1, initials.length());
+            keys[i * perToken] = hash(key);
+            if (perToken == 2) {
+                key.setLength(0);
+                key.append('2').append(codes[i], 1, codes[i].length());
+                for (int j = 0; j < tokens.length; j++) {
+                    if (j != i) key.append('|').append(codes[j]);
+                }
+                keys[i * perToken + 1] = hash(key);
+            }
+        }
+        Arrays.sort(keys);
+        int distinct = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (distinct == 0 || keys[distinct - 1] != keys[i]) keys[distinct++] = keys[i];
+        }
+        return Arrays.copyOf(keys, distinct);
+    }
+
+    /**
+     * Code Soundex d'un mot en minuscules : première lettre suivie de trois chiffres.
+     */
+    static String soundex(String token) {
+        char[] code = {token.charAt(0), '0', '0', '0'};
+        char last = codeOf(token.charAt(0));
+        int length = 1;
+        for (int i = 1; i < token.length() && length < 4; i++) {
+            char c = token.charAt(i);
+            char digit = codeOf(c);
+            if (digit == '0') {
+                if (c != 'h' && c != 'w') last = '0';
+                continue;
+            }
+            if (digit != last) code[length++] = digit;
+            last = digit;
+        }
+        return new String(code);
+    }
+
+    private static char codeOf(char c) {
+        return c >= 'a' && c <= 'z' ? SOUNDEX_CODES.charAt(c - 'a') : '0';
+    }
+
+    private static long hash(CharSequence key) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+}
@@ -0,0 +1,312 @@
+package src;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+
+/**
+ * Cache borné et concurrent placé devant une opération de normalisation coûteuse
+ * (par exemple {@link UserInputFormatter#removeAccents(String)}).
+ *
+ * <p>La politique suit W-TinyLFU : toute nouvelle valeur entre d'abord dans une petite fenêtre LRU,
+ * puis n'est admise dans la zone principale que si elle est plus fréquente que la victime qu'elle
+ * remplacerait. Les fréquences sont estimées par un count-min sketch dont les compteurs sont divisés
+ * par deux périodiquement, si bien qu'une rafale de valeurs uniques ne peut pas chasser les valeurs
+ * populaires. La zone principale est un LRU segmenté : une valeur admise entre en probation, passe
+ * dans la partie protégée (80 % de la zone) à son premier succès, et les victimes sont prises en tête
+ * de la probation.</p>
+ *
+ * <p>Les lectures ne prennent aucun verrou : un succès est noté dans un petit tampon circulaire
+ * (quitte à en perdre sous forte contention), rejoué sous le verrou des insertions pour mettre à jour
+ * l'ordre des segments.</p>
+ */
+public final class NormalizationCache implements UnaryOperator<String> {
+
+    /** Taille du tampon des succès, puissance de deux. */
+    private static final int READ_BUFFER_SIZE = 64;
+
+    /** Le tampon est rejoué tous les {@code DRAIN_INTERVAL} succès. */
+    private static final int DRAIN_INTERVAL = 16;
+
+    private final UnaryOperator<String> operation;
+    private final int windowCapacity;
+    private final int mainCapacity;
+    private final int protectedCapacity;
+
+    private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+    private final FrequencySketch sketch;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    // Ordres LRU, la tête étant la valeur la moins récemment utilisée ; modifiés sous evictionLock.
+    private final LinkedHashSet<String> window = new LinkedHashSet<>();
+    private final LinkedHashSet<String> probation = new LinkedHashSet<>();
+    private final LinkedHashSet<String> protectedSegment = new LinkedHashSet<>();
+    private final AtomicReferenceArray<String> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+    private final AtomicLong readCount = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+
+    /**
+     * Crée un cache devant une opération de normalisation.
+     *
+     * @param operation   L'opération dont on mémorise les résultats (doit être déterministe).
+     * @param maximumSize Le nombre maximal de résultats conservés.
+     */
+    public NormalizationCache(UnaryOperator<String> operation, int maximumSize) {
+        Objects.requireNonNull(operation, "L'opération ne peut pas être null.");
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("La taille maximale doit être strictement positive.");
+        }
+        this.operation = operation;
+        this.windowCapacity = Math.max(1, maximumSize / 100);
+        this.mainCapacity = maximumSize - windowCapacity;
+        this.protectedCapacity = mainCapacity * 4 / 5;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+
+    /**
+     * Renvoie le résultat de l'opération pour cette valeur, depuis le cache si possible.
+     *
+     * @param input La valeur à normaliser.
+     * @return Le résultat de l'opération.
+     */
+    @Override
+    public String apply(String input) {
+        if (input == null) return operation.apply(null);
+
+        sketch.increment(input);
+        String cached = values.get(input);
+        if (cached != null) {
+            hits.increment();
+            recordHit(input);
+            return cached;
+        }
+        misses.increment();
+        String result = operation.apply(input);
+        if (result != null) {
+            admit(input, result);
+        }
+        return result;
+    }
+
+
+    /**
+     * @return La proportion d'appels servis par le cache, entre 0 et 1.
+     */
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    /**
+     * @return Le nombre d'appels servis par le cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return Le nombre d'appels ayant nécessité un calcul.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return Le nombre de résultats actuellement en cache.
+     */
+    public int size() {
+        return values.size();
+    }
+
+
+    /**
+     * Vide le cache et remet les statistiques à zéro.
+     */
+    public void clear() {
+        evictionLock.lock();
+        try {
+            values.clear();
+            window.clear();
+            probation.clear();
+            protectedSegment.clear();
+            for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+                readBuffer.set(i, null);
+            }
+            sketch.clear();
+            hits.reset();
+            misses.reset();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+
+    private void recordHit(String key) {
+        long index = readCount.getAndIncrement();
+        readBuffer.lazySet((int) index & (READ_BUFFER_SIZE - 1), key);
+        if ((index & (DRAIN_INTERVAL - 1)) == DRAIN_INTERVAL - 1 && evictionLock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Rejoue les succès notés : une valeur de la fenêtre ou de la partie protégée repasse en queue,
+     * une valeur en probation est promue dans la partie protégée.
+     */
+    private void drainReadBuffer() {
+        for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+            String key = readBuffer.getAndSet(i, null);
+            if (key == null) continue;
+            if (window.remove(key)) {
+                window.add(key);
+            } else if (protectedSegment.remove(key)) {
+                protectedSegment.add(key);
+            } else if (probation.remove(key)) {
+                protectedSegment.add(key);
+                if (protectedSegment.size() > protectedCapacity) {
+                    probation.add(pollFirst(protectedSegment));
+                }
+            }
+        }
+    }
+
+    private void admit(String key, String value) {
+        evictionLock.lock();
+        try {
+            drainReadBuffer();
+            if (values.putIfAbsent(key, value) != null) return;
+            window.add(key);
+            if (window.size() <= windowCapacity) return;
+
+            String candidate = pollFirst(window);
+            if (probation.size() + protectedSegment.size() < mainCapacity) {
+                probation.add(candidate);
+                return;
+            }
+            LinkedHashSet<String> victims = probation.isEmpty() ? protectedSegment : probation;
+            if (victims.isEmpty()) {
+                values.remove(candidate);
+                return;
+            }
+            String victim = victims.iterator().next();
+            if (sketch.frequency(candidate) > sketch.frequency(victim)) {
+                victims.remove(victim);
+                values.remove(victim);
+                probation.add(candidate);
+            } else {
+                values.remove(candidate);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static String pollFirst(LinkedHashSet<String> segment) {
+        Iterator<String> iterator = segment.iterator();
+        String first = iterator.next();
+        iterator.remove();
+        return first;
+    }
+
+
+    /**
+     * Count-min sketch à quatre lignes, compteurs plafonnés à 15 et vieillis par division par deux.
+     * Les mises à jour concurrentes sont atomiques par compteur ; l'estimation reste approximative.
+     */
+    static final class FrequencySketch {
+
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+        /** En moyenne, un ajout sur {@code RESET_CHECK_INTERVAL} vérifie s'il faut vieillir les compteurs. */
+        private static final int RESET_CHECK_INTERVAL = 16;
+
+        private final AtomicIntegerArray counters;
+        private final int mask;
+        private final int sampleSize;
+        private final LongAdder additions = new LongAdder();
+        private final ReentrantLock resetLock = new ReentrantLock();
+
+        FrequencySketch(int maximumSize) {
+            int width = Integer.highestOneBit(Math.max(64, Math.min(maximumSize, 1 << 20)) * 2 - 1);
+            this.counters = new AtomicIntegerArray(DEPTH * width);
+            this.mask = width - 1;
+            this.sampleSize = (int) Math.min(Integer.MAX_VALUE, 10L * maximumSize);
+        }
+
+        int frequency(String key) {
+            int hash = spread(key.hashCode());
+            int min = MAX_COUNT;
+            for (int row = 0; row < DEPTH; row++) {
+                min = Math.min(min, counters.get(indexOf(hash, row)));
+            }
+            return min;
+        }
+
+        void increment(String key) {
+            int hash = spread(key.hashCode());
+            for (int row = 0; row < DEPTH; row++) {
+                int index = indexOf(hash, row);
+                if (counters.get(index) < MAX_COUNT) {
+                    counters.incrementAndGet(index);
+                }
+            }
+            additions.increment();
+            // sum() parcourt toutes les cellules du LongAdder : tiré au sort par thread, sans compteur
+            // partagé, il n'est lu qu'un ajout sur seize. Le vieillissement peut arriver quelques ajouts
+            // après sampleSize, ce qui ne change pas l'estimation.
+            if ((ThreadLocalRandom.current().nextInt() & (RESET_CHECK_INTERVAL - 1)) == 0
+                    && additions.sum() >= sampleSize && resetLock.tryLock()) {
+                try {
+                    if (additions.sum() >= sampleSize) age();
+                } finally {
+                    resetLock.unlock();
+                }
+            }
+        }
+
+        void clear() {
+            for (int i = 0; i < counters.length(); i++) {
+                counters.set(i, 0);
+            }
+            additions.reset();
+        }
+
+        private void age() {
+            for (int i = 0; i < counters.length(); i++) {
+                counters.set(i, counters.get(i) >>> 1);
+            }
+            additions.reset();
+        }
+
+        private int indexOf(int hash, int row) {
+            int h = (hash ^ SEEDS[row]) * SEEDS[(row + 1) % DEPTH];
+            return row * (mask + 1) + ((h ^ (h >>> 16)) & mask);
+        }
+
+        private static int spread(int hash) {
+            hash ^= hash >>> 16;
+            hash *= 0x45D9F3B;
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+}
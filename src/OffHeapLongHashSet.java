@@ -0,0 +1,123 @@
+package src;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+
+/**
+ * Ensemble de {@code long} à adressage ouvert stocké hors du tas Java, dans un {@link ByteBuffer} direct.
+ *
+ * <p>Même algorithme que {@link LongHashSet}, mais la table est allouée une fois pour toutes à partir
+ * de la taille attendue : le ramasse-miettes ne la parcourt ni ne la copie, et le tas reste disponible
+ * pour le reste du traitement. 100 millions d'empreintes ({@link EmailCanonicalizer#fingerprint(CharSequence)})
+ * occupent 2 Gio. La mémoire est limitée par {@code -XX:MaxDirectMemorySize} et libérée quand l'ensemble
+ * n'est plus référencé. Pas de suppression ; cette classe n'est pas synchronisée.</p>
+ */
+public final class OffHeapLongHashSet {
+
+    /** Un ByteBuffer est limité à 2 Gio : la table est découpée en segments de 512 Mio. */
+    private static final int SEGMENT_BITS = 26;
+    private static final int SEGMENT_MASK = (1 << SEGMENT_BITS) - 1;
+
+    private final LongBuffer[] segments;
+    private final int mask;
+    private final int maxSize;
+    private int size;
+    private boolean containsZero;
+
+
+    /**
+     * Alloue un ensemble vide.
+     *
+     * @param expectedSize Le nombre maximal d'éléments.
+     */
+    public OffHeapLongHashSet(int expectedSize) {
+        if (expectedSize < 0) throw new IllegalArgumentException("La taille attendue ne peut pas être négative.");
+        int capacity = LongHashSet.capacityFor(expectedSize);
+        int segmentLength = Math.min(capacity, 1 << SEGMENT_BITS);
+        this.segments = new LongBuffer[capacity / segmentLength];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = ByteBuffer.allocateDirect(segmentLength * Long.BYTES)
+                    .order(ByteOrder.nativeOrder()).asLongBuffer();
+        }
+        this.mask = capacity - 1;
+        this.maxSize = capacity / 4 * 3;
+    }
+
+
+    /**
+     * Ajoute une valeur.
+     *
+     * @param key La valeur.
+     * @return true si la valeur n'était pas présente.
+     * @throws IllegalStateException si l'ensemble a atteint sa taille maximale.
+     */
+    public boolean add(long key) {
+        if (key == 0) {
+            if (containsZero) return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int slot = LongHashSet.mix(key) & mask;
+        long current;
+        while ((current = get(slot)) != 0) {
+            if (current == key) return false;
+            slot = (slot + 1) & mask;
+        }
+        if (size >= maxSize) throw new IllegalStateException("Taille maximale atteinte : " + maxSize);
+        segments[slot >>> SEGMENT_BITS].put(slot & SEGMENT_MASK, key);
+        size++;
+        return true;
+    }
+
+    /**
+     * @param key La valeur recherchée.
+     * @return true si la valeur est présente.
+     */
+    public boolean contains(long key) {
+        if (key == 0) return containsZero;
+        int slot = LongHashSet.mix(key) & mask;
+        long current;
+        while ((current = get(slot)) != 0) {
+            if (current == key) return true;
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+
+    /**
+     * @return Le nombre de valeurs.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return La taille de la table hors tas, en octets.
+     */
+    public long memoryBytes() {
+        return (long) (mask + 1) * Long.BYTES;
+    }
+
+    /**
+     * Vide l'ensemble en conservant la mémoire allouée.
+     */
+    public void clear() {
+        for (LongBuffer segment : segments) {
+            for (int i = 0; i < segment.capacity(); i++) {
+                segment.put(i, 0L);
+            }
+        }
+        containsZero = false;
+        size = 0;
+    }
+
+
+    private long get(int slot) {
+        return segments[slot >>> SEGMENT_BITS].get(slot & SEGMENT_MASK);
+    }
+
+}
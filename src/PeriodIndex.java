@@ -0,0 +1,232 @@
+package src;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+
+/**
+ * Index immuable de périodes [début, fin] (bornes incluses) pour les requêtes de chevauchement en masse.
+ *
+ * <p>Les périodes sont stockées en jours epoch dans des tableaux primitifs triés par date de début,
+ * complétés par un arbre d'intervalles implicite : pour chaque sous-tableau, la plus grande date de fin
+ * est rangée à l'indice de son milieu. Une requête « toutes les périodes qui chevauchent X » coûte
+ * O(log n + k), au lieu de n appels à {@link DateUtils#periodsOverlap}.</p>
+ */
+public final class PeriodIndex {
+
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] ids;
+    private final int[] maxEnd;
+
+
+    private PeriodIndex(int[] starts, int[] ends, int[] ids) {
+        this.starts = starts;
+        this.ends = ends;
+        this.ids = ids;
+        this.maxEnd = new int[starts.length];
+        buildMaxEnd(0, starts.length);
+    }
+
+
+    /**
+     * Construit l'index à partir de jours epoch. L'identifiant de chaque période est sa position.
+     *
+     * @param startEpochDays Les débuts des périodes.
+     * @param endEpochDays   Les fins des périodes (incluses).
+     * @return L'index.
+     */
+    public static PeriodIndex of(int[] startEpochDays, int[] endEpochDays) {
+        if (startEpochDays == null || endEpochDays == null || startEpochDays.length != endEpochDays.length) {
+            throw new IllegalArgumentException("Les débuts et les fins doivent avoir la même taille.");
+        }
+        int n = startEpochDays.length;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            if (endEpochDays[i] < startEpochDays[i]) {
+                throw new IllegalArgumentException("La période " + i + " se termine avant de commencer.");
+            }
+            // Tri par début ; l'indice d'origine occupe les 32 bits de poids faible.
+            keys[i] = ((long) startEpochDays[i] << 32) | i;
+        }
+        Arrays.parallelSort(keys);
+
+        int[] starts = new int[n];
+        int[] ends = new int[n];
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            int id = (int) keys[i];
+            ids[i] = id;
+            starts[i] = startEpochDays[id];
+            ends[i] = endEpochDays[id];
+        }
+        return new PeriodIndex(starts, ends, ids);
+    }
+
+    /**
+     * Construit l'index à partir de dates. L'identifiant de chaque période est sa position.
+     *
+     * @param startDates Les débuts des périodes.
+     * @param endDates   Les fins des périodes (incluses).
+     * @return L'index.
+     */
+    public static PeriodIndex of(List<LocalDate> startDates, List<LocalDate> endDates) {
+        if (startDates == null || endDates == null || startDates.size() != endDates.size()) {
+            throw new IllegalArgumentException("Les débuts et les fins doivent avoir la même taille.");
+        }
+        int[] starts = new int[startDates.size()];
+        int[] ends = new int[endDates.size()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = Math.toIntExact(startDates.get(i).toEpochDay());
+            ends[i] = Math.toIntExact(endDates.get(i).toEpochDay());
+        }
+        return of(starts, ends);
+    }
+
+
+    /**
+     * @return Le nombre de périodes indexées.
+     */
+    public int size() {
+        return starts.length;
+    }
+
+
+    /**
+     * Trouve toutes les périodes qui chevauchent [start, end].
+     *
+     * @param start Début de la période recherchée
+     * @param end Fin de la période recherchée
+     * @return Les identifiants des périodes qui la chevauchent, triés
+     */
+    public int[] findOverlapping(LocalDate start, LocalDate end) {
+        if (start == null || end == null) return new int[0];
+        return findOverlapping(Math.toIntExact(start.toEpochDay()), Math.toIntExact(end.toEpochDay()));
+    }
+
+    /**
+     * Trouve toutes les périodes qui chevauchent [startEpochDay, endEpochDay].
+     *
+     * @param startEpochDay Début de la période recherchée, en jours epoch
+     * @param endEpochDay Fin de la période recherchée, en jours epoch
+     * @return Les identifiants des périodes qui la chevauchent, triés
+     */
+    public int[] findOverlapping(int startEpochDay, int endEpochDay) {
+        if (endEpochDay < startEpochDay) return new int[0];
+        IntCollector result = new IntCollector();
+        collect(0, starts.length, startEpochDay, endEpochDay, result);
+        int[] found = result.toArray();
+        Arrays.sort(found);
+        return found;
+    }
+
+    /**
+     * Compte les périodes qui chevauchent [startEpochDay, endEpochDay].
+     *
+     * @param startEpochDay Début de la période recherchée, en jours epoch
+     * @param endEpochDay Fin de la période recherchée, en jours epoch
+     * @return Le nombre de périodes qui la chevauchent
+     */
+    public int countOverlapping(int startEpochDay, int endEpochDay) {
+        if (endEpochDay < startEpochDay) return 0;
+        IntCollector result = new IntCollector();
+        collect(0, starts.length, startEpochDay, endEpochDay, result);
+        return result.size;
+    }
+
+
+    /**
+     * Trouve toutes les paires de périodes qui se chevauchent, par balayage parallèle.
+     * Chaque paire (a, b) avec a &lt; b est encodée dans un long : {@code (a << 32) | b}.
+     *
+     * @return Les paires qui se chevauchent, triées
+     */
+    public long[] findAllOverlappingPairs() {
+        long[] pairs = IntStream.range(0, starts.length)
+                .parallel()
+                .mapToObj(this::pairsStartingAt)
+                .flatMapToLong(LongStream::of)
+                .toArray();
+        Arrays.parallelSort(pairs);
+        return pairs;
+    }
+
+    /**
+     * @param pair Une paire renvoyée par {@link #findAllOverlappingPairs()}
+     * @return L'identifiant de la première période
+     */
+    public static int firstOf(long pair) {
+        return (int) (pair >>> 32);
+    }
+
+    /**
+     * @param pair Une paire renvoyée par {@link #findAllOverlappingPairs()}
+     * @return L'identifiant de la seconde période
+     */
+    public static int secondOf(long pair) {
+        return (int) pair;
+    }
+
+
+    /**
+     * Les périodes triées après i qui chevauchent i sont exactement celles dont le début
+     * est au plus la fin de i : une plage contiguë du tableau trié.
+     */
+    private long[] pairsStartingAt(int i) {
+        int last = upperBound(starts, i + 1, starts.length, ends[i]);
+        long[] pairs = new long[last - i - 1];
+        for (int j = i + 1; j < last; j++) {
+            int a = Math.min(ids[i], ids[j]);
+            int b = Math.max(ids[i], ids[j]);
+            pairs[j - i - 1] = ((long) a << 32) | b;
+        }
+        return pairs;
+    }
+
+    private int buildMaxEnd(int low, int high) {
+        if (low >= high) return Integer.MIN_VALUE;
+        int mid = (low + high) >>> 1;
+        int max = Math.max(ends[mid], Math.max(buildMaxEnd(low, mid), buildMaxEnd(mid + 1, high)));
+        maxEnd[mid] = max;
+        return max;
+    }
+
+    private void collect(int low, int high, int queryStart, int queryEnd, IntCollector result) {
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (maxEnd[mid] < queryStart) return;
+            collect(low, mid, queryStart, queryEnd, result);
+            if (starts[mid] > queryEnd) return;
+            if (ends[mid] >= queryStart) result.add(ids[mid]);
+            low = mid + 1;
+        }
+    }
+
+    private static int upperBound(int[] values, int low, int high, int key) {
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+
+    private static final class IntCollector {
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+}
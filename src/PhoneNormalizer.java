@@ -0,0 +1,129 @@
+package src;
+
+
+/**
+ * Normalise des numéros de téléphone au format E.164 et les représente par un {@code long}.
+ *
+ * <p>Un numéro E.164 compte au plus 15 chiffres et ne commence jamais par 0 : sa valeur entière
+ * l'identifie donc sans ambiguïté, et deux écritures d'un même numéro ("06 12 34 56 78",
+ * "+33 (0)6.12.34.56.78", "0033612345678") donnent la même clé. Les clés se dédupliquent et se
+ * joignent sans objet intermédiaire avec {@link LongHashSet} et {@link LongIntHashMap}.</p>
+ *
+ * <p>Seule la forme est vérifiée (préfixe, séparateurs, de 7 à 15 chiffres) : les plans de
+ * numérotation nationaux ne sont pas contrôlés.</p>
+ */
+public final class PhoneNormalizer {
+
+    /** Valeur renvoyée pour un numéro invalide. */
+    public static final long INVALID = -1L;
+
+    private static final int MIN_DIGITS = 7;
+    private static final int MAX_DIGITS = 15;
+
+    private final int defaultCountryCode;
+    private final long[] countryCodeShift = new long[MAX_DIGITS + 1];
+
+
+    /**
+     * @param defaultCountryCode L'indicatif appliqué aux numéros nationaux (33 pour la France, 1 pour l'Amérique du Nord).
+     */
+    public PhoneNormalizer(int defaultCountryCode) {
+        if (defaultCountryCode < 1 || defaultCountryCode > 999) {
+            throw new IllegalArgumentException("L'indicatif pays doit comporter de 1 à 3 chiffres.");
+        }
+        this.defaultCountryCode = defaultCountryCode;
+        long power = 1;
+        for (int i = 0; i <= MAX_DIGITS; i++) {
+            countryCodeShift[i] = defaultCountryCode * power;
+            power *= 10;
+        }
+    }
+
+
+    /**
+     * @return L'indicatif appliqué aux numéros nationaux.
+     */
+    public int getDefaultCountryCode() {
+        return defaultCountryCode;
+    }
+
+
+    /**
+     * Normalise un numéro national ou international, sans créer d'objet.
+     *
+     * <p>Sont acceptés : un préfixe international "+" ou "00", un "(0)" après l'indicatif,
+     * un préfixe national "0" (remplacé par l'indicatif par défaut), et les séparateurs
+     * espace, tabulation, point, tiret et parenthèses.</p>
+     *
+     * @param input Le numéro à normaliser.
+     * @return Le numéro E.164 sous forme de long (sans le "+"), ou {@link #INVALID}.
+     */
+    public long normalize(CharSequence input) {
+        if (input == null) return INVALID;
+        int length = input.length();
+        boolean plus = false;
+        boolean started = false;
+        int leadingZeros = 0;
+        int digits = 0;
+        long value = 0;
+
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+            if (c >= '0' && c <= '9') {
+                started = true;
+                if (digits == 0 && c == '0') {
+                    if (++leadingZeros > 2) return INVALID;
+                    continue;
+                }
+                if (++digits > MAX_DIGITS) return INVALID;
+                value = value * 10 + (c - '0');
+            } else if (c == '+' && !started) {
+                plus = true;
+                started = true;
+            } else if (c == '(' && digits > 0 && i + 2 < length
+                    && input.charAt(i + 1) == '0' && input.charAt(i + 2) == ')') {
+                i += 2; // "+33 (0)6..." : le préfixe national entre parenthèses est ignoré
+            } else if (c != ' ' && c != '\t' && c != '.' && c != '-' && c != '(' && c != ')') {
+                return INVALID;
+            }
+        }
+
+        boolean international = plus || leadingZeros == 2;
+        if (plus && leadingZeros > 0) return INVALID;
+        if (!international) {
+            // Numéro national : le préfixe "0" éventuel est remplacé par l'indicatif par défaut.
+            value += countryCodeShift[digits];
+            digits += countryCodeDigits();
+        }
+        if (digits < MIN_DIGITS || digits > MAX_DIGITS) return INVALID;
+        return value;
+    }
+
+
+    /**
+     * Indique si un numéro peut être normalisé.
+     *
+     * @param input Le numéro à vérifier.
+     * @return true si le numéro est valide.
+     */
+    public boolean isValid(CharSequence input) {
+        return normalize(input) != INVALID;
+    }
+
+
+    /**
+     * Convertit une clé en chaîne E.164.
+     *
+     * @param e164 La clé renvoyée par {@link #normalize(CharSequence)}.
+     * @return Le numéro au format "+33612345678", ou "" pour {@link #INVALID}.
+     */
+    public static String toE164String(long e164) {
+        return e164 <= 0 ? "" : "+" + e164;
+    }
+
+
+    private int countryCodeDigits() {
+        return defaultCountryCode < 10 ? 1 : defaultCountryCode < 100 ? 2 : 3;
+    }
+
+}
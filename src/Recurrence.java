@@ -0,0 +1,249 @@
+package src;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+
+/**
+ * Règle de récurrence évaluée à la demande.
+ *
+ * <p>Contrairement à {@link DateUtils#generateRecurringDates(LocalDate, LocalDate, int)}, aucune
+ * liste n'est construite : les occurrences sont produites une à une (sous forme de {@link Stream},
+ * d'{@link Iterator} ou de jours epoch primitifs), et {@link #firstOnOrAfter(LocalDate)} saute
+ * directement à l'occurrence voulue sans parcourir les précédentes.</p>
+ */
+public final class Recurrence implements Iterable<LocalDate> {
+
+    private static final long MAX_EPOCH_DAY = LocalDate.MAX.toEpochDay();
+
+    private final long startEpochDay;
+    private final long endEpochDay;
+    private final Rule rule;
+
+
+    private Recurrence(LocalDate startDate, LocalDate endDate, Rule rule) {
+        Objects.requireNonNull(startDate, "La date de début ne peut pas être null.");
+        this.startEpochDay = startDate.toEpochDay();
+        this.endEpochDay = endDate == null ? MAX_EPOCH_DAY : endDate.toEpochDay();
+        this.rule = rule;
+    }
+
+
+    /**
+     * Une occurrence tous les {@code intervalDays} jours à partir de la date de début.
+     *
+     * @param startDate    Date de début (première occurrence)
+     * @param endDate      Date de fin incluse, ou null pour une récurrence sans fin
+     * @param intervalDays Intervalle en jours (strictement positif)
+     * @return La récurrence
+     */
+    public static Recurrence daily(LocalDate startDate, LocalDate endDate, int intervalDays) {
+        if (intervalDays <= 0) {
+            throw new IllegalArgumentException("L'intervalle doit être strictement positif.");
+        }
+        long start = Objects.requireNonNull(startDate, "La date de début ne peut pas être null.").toEpochDay();
+        return new Recurrence(startDate, endDate, day -> {
+            long offset = Math.floorMod(start - day, (long) intervalDays);
+            return day + offset;
+        });
+    }
+
+    /**
+     * Une occurrence toutes les {@code intervalWeeks} semaines, le même jour de la semaine que la date de début.
+     *
+     * @param startDate     Date de début (première occurrence)
+     * @param endDate       Date de fin incluse, ou null pour une récurrence sans fin
+     * @param intervalWeeks Intervalle en semaines (strictement positif)
+     * @return La récurrence
+     */
+    public static Recurrence weekly(LocalDate startDate, LocalDate endDate, int intervalWeeks) {
+        if (intervalWeeks <= 0) {
+            throw new IllegalArgumentException("L'intervalle doit être strictement positif.");
+        }
+        return daily(startDate, endDate, Math.multiplyExact(intervalWeeks, 7));
+    }
+
+    /**
+     * Une occurrence par mois, le jour {@code dayOfMonth} (ramené au dernier jour pour les mois plus courts).
+     *
+     * @param startDate  Date de début
+     * @param endDate    Date de fin incluse, ou null pour une récurrence sans fin
+     * @param dayOfMonth Jour du mois, de 1 à 31
+     * @return La récurrence
+     */
+    public static Recurrence monthlyOnDay(LocalDate startDate, LocalDate endDate, int dayOfMonth) {
+        if (dayOfMonth < 1 || dayOfMonth > 31) {
+            throw new IllegalArgumentException("Le jour du mois doit être compris entre 1 et 31.");
+        }
+        return new Recurrence(startDate, endDate, day -> {
+            YearMonth month = YearMonth.from(LocalDate.ofEpochDay(day));
+            LocalDate candidate = month.atDay(Math.min(dayOfMonth, month.lengthOfMonth()));
+            if (candidate.toEpochDay() < day) {
+                month = month.plusMonths(1);
+                candidate = month.atDay(Math.min(dayOfMonth, month.lengthOfMonth()));
+            }
+            return candidate.toEpochDay();
+        });
+    }
+
+    /**
+     * Une occurrence le dernier jour de chaque mois.
+     *
+     * @param startDate Date de début
+     * @param endDate   Date de fin incluse, ou null pour une récurrence sans fin
+     * @return La récurrence
+     */
+    public static Recurrence lastDayOfMonth(LocalDate startDate, LocalDate endDate) {
+        return new Recurrence(startDate, endDate, day -> {
+            LocalDate last = DateUtils.getLastDayOfMonth(LocalDate.ofEpochDay(day));
+            return last.toEpochDay();
+        });
+    }
+
+    /**
+     * Une occurrence chaque jour ouvré du calendrier par défaut.
+     *
+     * @param startDate Date de début
+     * @param endDate   Date de fin incluse, ou null pour une récurrence sans fin
+     * @return La récurrence
+     */
+    public static Recurrence workingDays(LocalDate startDate, LocalDate endDate) {
+        return workingDays(startDate, endDate, WorkingDayCalendar.defaultCalendar());
+    }
+
+    /**
+     * Une occurrence chaque jour ouvré d'un calendrier donné.
+     *
+     * @param startDate Date de début
+     * @param endDate   Date de fin incluse, ou null pour une récurrence sans fin
+     * @param calendar  Le calendrier des jours ouvrés
+     * @return La récurrence
+     */
+    public static Recurrence workingDays(LocalDate startDate, LocalDate endDate, WorkingDayCalendar calendar) {
+        Objects.requireNonNull(calendar, "Le calendrier ne peut pas être null.");
+        return new Recurrence(startDate, endDate, day -> {
+            LocalDate date = LocalDate.ofEpochDay(day);
+            return calendar.isWorkingDay(date) ? day : calendar.nextWorkingDay(date).toEpochDay();
+        });
+    }
+
+
+    /**
+     * Trouve la première occurrence à partir d'une date, sans parcourir les précédentes.
+     *
+     * @param date Date de référence (incluse)
+     * @return La première occurrence le jour même ou après, ou null s'il n'y en a plus
+     */
+    public LocalDate firstOnOrAfter(LocalDate date) {
+        if (date == null) return null;
+        long day = firstEpochDayOnOrAfter(date.toEpochDay());
+        return day > endEpochDay ? null : LocalDate.ofEpochDay(day);
+    }
+
+    /**
+     * Trouve la première occurrence strictement après une date.
+     *
+     * @param date Date de référence (exclue)
+     * @return La première occurrence après la date, ou null s'il n'y en a plus
+     */
+    public LocalDate firstAfter(LocalDate date) {
+        if (date == null) return null;
+        return firstOnOrAfter(date.plusDays(1));
+    }
+
+
+    /**
+     * @return Les occurrences, calculées au fil de la consommation
+     */
+    public Stream<LocalDate> stream() {
+        return epochDays().mapToObj(LocalDate::ofEpochDay);
+    }
+
+    /**
+     * @param from Date à partir de laquelle commencer (incluse)
+     * @return Les occurrences à partir de cette date, calculées au fil de la consommation
+     */
+    public Stream<LocalDate> streamFrom(LocalDate from) {
+        return epochDaysFrom(from).mapToObj(LocalDate::ofEpochDay);
+    }
+
+    /**
+     * @return Les occurrences sous forme de jours epoch, sans création de LocalDate pour l'appelant
+     */
+    public LongStream epochDays() {
+        return epochDaysFrom(null);
+    }
+
+    /**
+     * @param from Date à partir de laquelle commencer (incluse), ou null pour le début
+     * @return Les occurrences à partir de cette date, sous forme de jours epoch
+     */
+    public LongStream epochDaysFrom(LocalDate from) {
+        long first = firstEpochDayOnOrAfter(from == null ? startEpochDay : from.toEpochDay());
+        return LongStream.iterate(first, day -> day <= endEpochDay, this::nextEpochDay);
+    }
+
+    @Override
+    public Iterator<LocalDate> iterator() {
+        PrimitiveIterator.OfLong days = epochDayIterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return days.hasNext();
+            }
+
+            @Override
+            public LocalDate next() {
+                return LocalDate.ofEpochDay(days.nextLong());
+            }
+        };
+    }
+
+    /**
+     * @return Un itérateur primitif sur les jours epoch des occurrences
+     */
+    public PrimitiveIterator.OfLong epochDayIterator() {
+        return new PrimitiveIterator.OfLong() {
+            private long next = firstEpochDayOnOrAfter(startEpochDay);
+
+            @Override
+            public boolean hasNext() {
+                return next <= endEpochDay;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!hasNext()) throw new NoSuchElementException();
+                long current = next;
+                next = nextEpochDay(current);
+                return current;
+            }
+        };
+    }
+
+
+    private long firstEpochDayOnOrAfter(long day) {
+        long from = Math.max(day, startEpochDay);
+        return from > endEpochDay ? Long.MAX_VALUE : rule.firstOnOrAfter(from);
+    }
+
+    private long nextEpochDay(long day) {
+        return day >= endEpochDay ? Long.MAX_VALUE : rule.firstOnOrAfter(day + 1);
+    }
+
+
+    /**
+     * Règle élémentaire : renvoie la première occurrence à partir d'un jour epoch donné.
+     */
+    @FunctionalInterface
+    private interface Rule {
+        long firstOnOrAfter(long epochDay);
+    }
+
+}
@@ -0,0 +1,110 @@
+package src;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Objects;
+
+
+/**
+ * Date du jour partagée, recalculée uniquement au passage de minuit.
+ *
+ * <p>Chaque appel ne lit que {@link Clock#millis()} et compare le résultat aux bornes du jour en cours ;
+ * le fuseau horaire n'est résolu qu'au changement de jour. Le jour courant est publié sous forme d'un
+ * instantané immuable dans un champ volatile : aucun verrou n'est pris, et si plusieurs threads
+ * franchissent minuit en même temps, ils calculent le même instantané.</p>
+ */
+public final class ReferenceDay {
+
+    private static final ReferenceDay SYSTEM = new ReferenceDay(Clock.systemDefaultZone());
+
+    private final Clock clock;
+    private volatile Snapshot current;
+
+
+    /**
+     * @param clock L'horloge donnant l'instant et le fuseau horaire.
+     */
+    public ReferenceDay(Clock clock) {
+        this.clock = Objects.requireNonNull(clock, "L'horloge ne peut pas être null.");
+        this.current = snapshotAt(clock.millis());
+    }
+
+
+    /**
+     * Renvoie le jour de référence partagé, basé sur l'horloge système et le fuseau par défaut
+     * au moment du premier appel.
+     *
+     * @return Le jour de référence du système.
+     */
+    public static ReferenceDay system() {
+        return SYSTEM;
+    }
+
+
+    /**
+     * @return La date du jour.
+     */
+    public LocalDate today() {
+        return snapshot().today;
+    }
+
+    /**
+     * @return La date du jour en jours epoch.
+     */
+    public long epochDay() {
+        return snapshot().epochDay;
+    }
+
+    /**
+     * @param epochDay Une date en jours epoch.
+     * @return true si la date est strictement après aujourd'hui.
+     */
+    public boolean isFuture(long epochDay) {
+        return epochDay > epochDay();
+    }
+
+    /**
+     * @param epochDay Une date en jours epoch.
+     * @return true si la date est strictement avant aujourd'hui.
+     */
+    public boolean isPast(long epochDay) {
+        return epochDay < epochDay();
+    }
+
+
+    private Snapshot snapshot() {
+        Snapshot snapshot = current;
+        long now = clock.millis();
+        if (now < snapshot.fromMillis || now >= snapshot.untilMillis) {
+            snapshot = snapshotAt(now);
+            current = snapshot;
+        }
+        return snapshot;
+    }
+
+    private Snapshot snapshotAt(long millis) {
+        ZoneId zone = clock.getZone();
+        LocalDate today = LocalDate.ofInstant(Instant.ofEpochMilli(millis), zone);
+        long from = today.atStartOfDay(zone).toInstant().toEpochMilli();
+        long until = today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        return new Snapshot(today, from, until);
+    }
+
+
+    private static final class Snapshot {
+        final LocalDate today;
+        final long epochDay;
+        final long fromMillis;
+        final long untilMillis;
+
+        Snapshot(LocalDate today, long fromMillis, long untilMillis) {
+            this.today = today;
+            this.epochDay = today.toEpochDay();
+            this.fromMillis = fromMillis;
+            this.untilMillis = untilMillis;
+        }
+    }
+
+}
@@ -0,0 +1,298 @@
+package src;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+
+/**
+ * Point d'entrée en ligne de commande : lit l'entrée standard ligne par ligne, applique une chaîne
+ * d'opérations de {@link UserInputValidator}, {@link UserInputFormatter} et {@link DateUtils},
+ * et écrit le résultat sur la sortie standard.
+ *
+ * <pre>
+ * java -cp out src.StreamingCli [options] operation...
+ *
+ * Options :
+ *   --column=N        n'applique les opérations qu'à la colonne N (à partir de 0)
+ *   --delimiter=C     séparateur de colonnes (';' par défaut), sans gestion des guillemets
+ *   --invalid=drop    supprime les lignes rejetées par un validateur (par défaut)
+ *   --invalid=blank   vide la valeur rejetée et conserve la ligne
+ *   --parallel        traite les lignes par lots en parallèle, en conservant leur ordre
+ *   --batch=N         taille des lots en mode parallèle (8192 par défaut)
+ *
+ * Opérations (appliquées dans l'ordre) :
+ *   upper, lower, capitalize, initials, accents, email, truncate:N, e164:INDICATIF
+ *   is-email, is-phone, is-url, is-postal, is-card, is-integer, is-double, is-alpha, is-alnum
+ *   is-date:FORMAT, is-working-day:FORMAT, date:FORMAT&gt;FORMAT, age:FORMAT
+ * </pre>
+ *
+ * <p>Les formats de date doivent être à disposition fixe (voir {@link EpochDayParser}).</p>
+ */
+public final class StreamingCli {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int DEFAULT_BATCH = 8192;
+
+    private final List<UnaryOperator<String>> operations;
+    private final int column;
+    private final char delimiter;
+    private final boolean blankInvalid;
+    private final boolean parallel;
+    private final int batchSize;
+
+
+    private StreamingCli(List<UnaryOperator<String>> operations, int column, char delimiter,
+                         boolean blankInvalid, boolean parallel, int batchSize) {
+        this.operations = operations;
+        this.column = column;
+        this.delimiter = delimiter;
+        this.blankInvalid = blankInvalid;
+        this.parallel = parallel;
+        this.batchSize = batchSize;
+    }
+
+
+    public static void main(String[] args) {
+        Reader in = Channels.newReader(new FileInputStream(FileDescriptor.in).getChannel(),
+                StandardCharsets.UTF_8.newDecoder(), BUFFER_SIZE);
+        Writer out = Channels.newWriter(new FileOutputStream(FileDescriptor.out).getChannel(),
+                StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE);
+        System.exit(run(args, in, out, System.err));
+    }
+
+
+    /**
+     * Exécute la commande sur des flux donnés.
+     *
+     * @param args Les arguments de la ligne de commande.
+     * @param in   L'entrée.
+     * @param out  La sortie (vidée mais pas fermée).
+     * @param err  La sortie d'erreur.
+     * @return Le code de sortie : 0 en cas de succès, 1 en cas d'erreur d'entrée/sortie, 2 en cas d'usage incorrect.
+     */
+    public static int run(String[] args, Reader in, Writer out, PrintStream err) {
+        StreamingCli cli;
+        try {
+            cli = parse(args);
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            err.println("Usage : java src.StreamingCli [--column=N] [--delimiter=C] [--invalid=drop|blank]"
+                    + " [--parallel] [--batch=N] operation...");
+            return 2;
+        }
+        try {
+            BufferedReader reader = new BufferedReader(in, BUFFER_SIZE);
+            BufferedWriter writer = new BufferedWriter(out, BUFFER_SIZE);
+            if (cli.parallel) {
+                cli.processParallel(reader, writer);
+            } else {
+                cli.processSequential(reader, writer);
+            }
+            writer.flush();
+            return 0;
+        } catch (IOException | UncheckedIOException e) {
+            err.println("Erreur d'entrée/sortie : " + e.getMessage());
+            return 1;
+        }
+    }
+
+
+    private void processSequential(BufferedReader reader, BufferedWriter writer) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            write(writer, processLine(line));
+        }
+    }
+
+    private void processParallel(BufferedReader reader, BufferedWriter writer) throws IOException {
+        String[] batch = new String[batchSize];
+        String[] results = new String[batchSize];
+        int count;
+        do {
+            count = 0;
+            String line;
+            while (count < batchSize && (line = reader.readLine()) != null) {
+                batch[count++] = line;
+            }
+            IntStream.range(0, count).parallel().forEach(i -> results[i] = processLine(batch[i]));
+            for (int i = 0; i < count; i++) {
+                write(writer, results[i]);
+            }
+        } while (count == batchSize);
+    }
+
+    private static void write(BufferedWriter writer, String line) throws IOException {
+        if (line != null) {
+            writer.write(line);
+            writer.newLine();
+        }
+    }
+
+
+    /**
+     * @return La ligne transformée, ou null si elle doit être supprimée.
+     */
+    String processLine(String line) {
+        if (column < 0) return applyOrReject(line);
+
+        int start = 0;
+        for (int i = 0; i < column; i++) {
+            start = line.indexOf(delimiter, start);
+            if (start < 0) return blankInvalid ? line : null;
+            start++;
+        }
+        int end = line.indexOf(delimiter, start);
+        if (end < 0) end = line.length();
+
+        String value = applyOrReject(line.substring(start, end));
+        if (value == null) return null;
+        return line.substring(0, start) + value + line.substring(end);
+    }
+
+    private String applyOrReject(String value) {
+        String result = value;
+        for (UnaryOperator<String> operation : operations) {
+            result = operation.apply(result);
+            if (result == null) return blankInvalid ? "" : null;
+        }
+        return result;
+    }
+
+
+    static StreamingCli parse(String[] args) {
+        List<UnaryOperator<String>> operations = new ArrayList<>();
+        int column = -1;
+        char delimiter = ';';
+        boolean blankInvalid = false;
+        boolean parallel = false;
+        int batchSize = DEFAULT_BATCH;
+
+        for (String arg : args) {
+            if (arg.startsWith("--column=")) {
+                column = parsePositive(arg.substring(9), arg, 0);
+            } else if (arg.startsWith("--delimiter=")) {
+                String value = arg.substring(12);
+                if (value.length() != 1) throw new IllegalArgumentException("Séparateur invalide : " + arg);
+                delimiter = value.charAt(0);
+            } else if (arg.equals("--invalid=drop")) {
+                blankInvalid = false;
+            } else if (arg.equals("--invalid=blank")) {
+                blankInvalid = true;
+            } else if (arg.equals("--parallel")) {
+                parallel = true;
+            } else if (arg.startsWith("--batch=")) {
+                batchSize = parsePositive(arg.substring(8), arg, 1);
+            } else if (arg.startsWith("--")) {
+                throw new IllegalArgumentException("Option inconnue : " + arg);
+            } else {
+                operations.add(operation(arg));
+            }
+        }
+        if (operations.isEmpty()) throw new IllegalArgumentException("Aucune opération indiquée.");
+        return new StreamingCli(List.copyOf(operations), column, delimiter, blankInvalid, parallel, batchSize);
+    }
+
+    private static UnaryOperator<String> operation(String spec) {
+        int colon = spec.indexOf(':');
+        String name = colon < 0 ? spec : spec.substring(0, colon);
+        String argument = colon < 0 ? null : spec.substring(colon + 1);
+
+        switch (name) {
+            case "upper": return UserInputFormatter::toUpperCase;
+            case "lower": return UserInputFormatter::toLowerCase;
+            case "capitalize": return UserInputFormatter::capitalizeWords;
+            case "initials": return UserInputFormatter::getInitials;
+            case "accents": return UserInputFormatter::removeAccents;
+            case "email": return UserInputFormatter::formatEmail;
+            case "truncate": {
+                int maxLength = parsePositive(argument, spec, 0);
+                return s -> UserInputFormatter.truncateText(s, maxLength);
+            }
+            case "e164": {
+                PhoneNormalizer phones = new PhoneNormalizer(parsePositive(argument, spec, 1));
+                return s -> {
+                    long number = phones.normalize(s);
+                    return number == PhoneNormalizer.INVALID ? null : PhoneNormalizer.toE164String(number);
+                };
+            }
+            case "is-email": return keepIf(UserInputValidator::isValidEmail);
+            case "is-phone": return keepIf(UserInputValidator::isValidPhoneNumber);
+            case "is-url": return keepIf(UserInputValidator::isValidUrl);
+            case "is-postal": return keepIf(UserInputValidator::isValidPostalCode);
+            case "is-card": return keepIf(UserInputValidator::isValidCreditCardNumber);
+            case "is-integer": return keepIf(UserInputValidator::isValidInteger);
+            case "is-double": return keepIf(UserInputValidator::isValidDouble);
+            case "is-alpha": return keepIf(UserInputValidator::isAlpha);
+            case "is-alnum": return keepIf(UserInputValidator::isAlphaNumeric);
+            case "is-date": {
+                EpochDayParser parser = dateParser(argument, spec);
+                return s -> parser.parse(s) == EpochDayParser.INVALID ? null : s;
+            }
+            case "is-working-day": {
+                EpochDayParser parser = dateParser(argument, spec);
+                return s -> {
+                    int day = parser.parse(s);
+                    return day != EpochDayParser.INVALID && DateUtils.isWorkingDay(LocalDate.ofEpochDay(day)) ? s : null;
+                };
+            }
+            case "date": {
+                int arrow = argument == null ? -1 : argument.indexOf('>');
+                if (arrow < 0) throw new IllegalArgumentException("Opération invalide, attendu date:ENTRÉE>SORTIE : " + spec);
+                EpochDayParser parser = dateParser(argument.substring(0, arrow), spec);
+                String outputPattern = argument.substring(arrow + 1);
+                DateFormats.formatter(outputPattern); // rejette un pattern invalide dès l'analyse des arguments
+                return s -> {
+                    int day = parser.parse(s);
+                    return day == EpochDayParser.INVALID ? null : DateFormats.format(LocalDate.ofEpochDay(day), outputPattern);
+                };
+            }
+            case "age": {
+                EpochDayParser parser = dateParser(argument, spec);
+                return s -> {
+                    int day = parser.parse(s);
+                    if (day == EpochDayParser.INVALID) return null;
+                    return Integer.toString(DateUtils.calculateAge(LocalDate.ofEpochDay(day), ReferenceDay.system().today()));
+                };
+            }
+            default:
+                throw new IllegalArgumentException("Opération inconnue : " + spec);
+        }
+    }
+
+    private static UnaryOperator<String> keepIf(Predicate<String> validator) {
+        return s -> validator.test(s) ? s : null;
+    }
+
+    private static EpochDayParser dateParser(String pattern, String spec) {
+        EpochDayParser parser = EpochDayParser.forPattern(pattern);
+        if (parser == null) throw new IllegalArgumentException("Format de date non pris en charge : " + spec);
+        return parser;
+    }
+
+    private static int parsePositive(String value, String spec, int min) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed >= min) return parsed;
+        } catch (NumberFormatException e) {
+            // signalé ci-dessous
+        }
+        throw new IllegalArgumentException("Valeur invalide : " + spec);
+    }
+
+}
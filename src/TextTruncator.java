@@ -0,0 +1,162 @@
+package src;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+
+
+/**
+ * Extraits de textes longs, lus depuis un {@link Reader} ou une {@link CharSequence} et écrits dans un
+ * {@link Appendable}.
+ *
+ * <p>Contrairement à {@link UserInputFormatter#truncateText(String, int)}, la longueur se compte en code
+ * points (un emoji compte pour un) et la coupe ne sépare jamais une paire de substitution. Seuls les
+ * {@code maxLength + 1} premiers code points sont lus : le temps et la mémoire dépendent de
+ * {@code maxLength}, pas de la taille du document, qui n'est jamais chargé en entier.</p>
+ *
+ * <p>Un texte trop long est coupé à {@code maxLength - 3} code points, suivis de "...". En dessous de
+ * 3, il n'y a pas la place pour les points de suspension : le texte est simplement coupé à
+ * {@code maxLength} code points. La coupe peut aussi se faire entre deux mots (voir {@code atWord}).</p>
+ */
+public final class TextTruncator {
+
+    /** Marque ajoutée à un texte tronqué. */
+    public static final String ELLIPSIS = "...";
+
+    /** Taille maximale d'une lecture dans le Reader. */
+    private static final int READ_CHUNK = 8192;
+
+    private TextTruncator() {
+        throw new UnsupportedOperationException("Cette classe utilitaire ne peut pas être instanciée.");
+    }
+
+
+    /**
+     * Écrit un texte, tronqué à {@code maxLength} code points si nécessaire.
+     *
+     * @param text      Le texte (seuls ses {@code maxLength + 1} premiers code points sont lus).
+     * @param maxLength La longueur maximale de l'extrait, points de suspension compris.
+     * @param atWord    true pour couper avant le mot qui dépasse (sauf si le premier mot dépasse à lui seul),
+     *                  false pour couper au code point.
+     * @param out       La destination.
+     * @return true si le texte a été tronqué, false s'il a été écrit en entier (ou s'il est null).
+     * @throws IOException              si l'écriture échoue.
+     * @throws IllegalArgumentException si {@code maxLength} est négatif.
+     */
+    public static boolean truncate(CharSequence text, int maxLength, boolean atWord, Appendable out) throws IOException {
+        checkMaxLength(maxLength);
+        if (text == null) return false;
+        return write(text, maxLength, atWord, out);
+    }
+
+    /**
+     * Écrit le début d'un texte lu depuis un {@link Reader}, tronqué à {@code maxLength} code points si
+     * nécessaire. Au plus {@code 2 * (maxLength + 1)} caractères sont lus ; le Reader n'est pas fermé.
+     *
+     * @param in        La source.
+     * @param maxLength La longueur maximale de l'extrait, points de suspension compris.
+     * @param atWord    true pour couper avant le mot qui dépasse, false pour couper au code point.
+     * @param out       La destination.
+     * @return true si le texte a été tronqué, false s'il a été écrit en entier (ou si la source est null).
+     * @throws IOException              si la lecture ou l'écriture échoue.
+     * @throws IllegalArgumentException si {@code maxLength} est négatif.
+     */
+    public static boolean truncate(Reader in, int maxLength, boolean atWord, Appendable out) throws IOException {
+        checkMaxLength(maxLength);
+        if (in == null) return false;
+        return write(readHead(in, maxLength + 1), maxLength, atWord, out);
+    }
+
+    /**
+     * Renvoie l'extrait d'un texte lu depuis un {@link Reader}.
+     *
+     * @param in        La source (non fermée).
+     * @param maxLength La longueur maximale de l'extrait, points de suspension compris.
+     * @param atWord    true pour couper avant le mot qui dépasse, false pour couper au code point.
+     * @return L'extrait, ou une chaîne vide si la source est null.
+     * @throws UncheckedIOException     si la lecture échoue.
+     * @throws IllegalArgumentException si {@code maxLength} est négatif.
+     */
+    public static String excerpt(Reader in, int maxLength, boolean atWord) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            truncate(in, maxLength, atWord, sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+
+    private static void checkMaxLength(int maxLength) {
+        if (maxLength < 0) throw new IllegalArgumentException("Longueur maximale négative : " + maxLength);
+    }
+
+    /**
+     * Lit au plus {@code codePoints} code points. Chaque lecture demande au plus autant de caractères
+     * qu'il reste de code points à lire, pour ne rien consommer au-delà du nécessaire. Le dernier code
+     * point peut rester une moitié de paire : il n'est jamais écrit.
+     */
+    private static StringBuilder readHead(Reader in, int codePoints) throws IOException {
+        StringBuilder head = new StringBuilder(Math.min(codePoints, READ_CHUNK));
+        char[] buffer = new char[Math.min(codePoints, READ_CHUNK)];
+        int remaining = codePoints;
+        boolean pendingHigh = false;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, Math.min(remaining, buffer.length));
+            if (read < 0) break;
+            for (int i = 0; i < read; i++) {
+                char c = buffer[i];
+                if (pendingHigh && Character.isLowSurrogate(c)) {
+                    pendingHigh = false;
+                } else {
+                    remaining--;
+                    pendingHigh = Character.isHighSurrogate(c);
+                }
+            }
+            head.append(buffer, 0, read);
+        }
+        return head;
+    }
+
+    /**
+     * Écrit {@code text} s'il compte au plus {@code maxLength} code points, son début suivi de "..."
+     * sinon. Seuls les {@code maxLength + 1} premiers code points de {@code text} sont examinés.
+     */
+    private static boolean write(CharSequence text, int maxLength, boolean atWord, Appendable out) throws IOException {
+        int length = text.length();
+        int keep = maxLength >= ELLIPSIS.length() ? maxLength - ELLIPSIS.length() : maxLength;
+        // Position de fin des « keep » premiers code points, puis du texte s'il tient en maxLength.
+        int cut = -1;
+        int end = 0;
+        int count = 0;
+        while (end < length && count <= maxLength) {
+            if (count == keep) cut = end;
+            end += Character.charCount(Character.codePointAt(text, end));
+            count++;
+        }
+        if (count <= maxLength) {
+            out.append(text, 0, end);
+            return false;
+        }
+
+        if (atWord && cut > 0 && cut < length && !Character.isWhitespace(Character.codePointAt(text, cut))) {
+            int wordStart = cut;
+            while (wordStart > 0 && !Character.isWhitespace(Character.codePointBefore(text, wordStart))) {
+                wordStart -= Character.charCount(Character.codePointBefore(text, wordStart));
+            }
+            if (wordStart > 0) cut = wordStart;
+        }
+        if (atWord) {
+            int trimmed = cut;
+            while (trimmed > 0 && Character.isWhitespace(Character.codePointBefore(text, trimmed))) {
+                trimmed -= Character.charCount(Character.codePointBefore(text, trimmed));
+            }
+            if (trimmed > 0) cut = trimmed;
+        }
+        out.append(text, 0, cut);
+        if (maxLength >= ELLIPSIS.length()) out.append(ELLIPSIS);
+        return true;
+    }
+
+}
@@ -3,6 +3,7 @@ package src;
 import java.text.Normalizer;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Locale;
 import java.util.regex.Pattern;
 
 
@@ -20,7 +21,7 @@ public final class UserInputFormatter {
      * @return La chaîne transformée : uniquement en majuscule et sans espace inutile en début et fin de chaîne.
      */
     public static String toUpperCase(String input) {
-        return input == null ? "" : input.trim().toUpperCase();
+        return input == null ? "" : trimAndFold(input, true);
     }
 
     /**
@@ -30,7 +31,7 @@ public final class UserInputFormatter {
      * @return La chaîne transformée : uniquement en minuscules et sans espace inutile en début et fin de chaîne.
      */
     public static String toLowerCase(String input) {
-        return input == null ? "" : input.trim().toLowerCase();
+        return input == null ? "" : trimAndFold(input, false);
     }
 
 
@@ -102,12 +103,14 @@ public final class UserInputFormatter {
      * @return L'email en minuscule.
      */
     public static String formatEmail(String email) {
-        return email == null ? "" : email.trim().toLowerCase();
+        return email == null ? "" : trimAndFold(email, false);
     }
 
 
     /**
-     * Tronque un texte à une longueur maximale en ajoutant "..." si nécessaire.
+     * Tronque un texte à une longueur maximale en ajoutant "..." si nécessaire. La coupe ne sépare pas
+     * une paire de substitution ; en dessous de 3, le texte est coupé sans "...". Pour un long document
+     * ou une longueur en code points, voir {@link TextTruncator}.
      *
      * @param text Le texte que l'on va tronquer si nécessaire
      * @param maxLength La longueur maximale acceptable du texte. On rajoute "..." à la fin de la chaîne.
@@ -115,7 +118,13 @@ public final class UserInputFormatter {
      */
     public static String truncateText(String text, int maxLength) {
         if (text == null || text.length() <= maxLength) return text;
-        return text.substring(0, maxLength - 3) + "...";
+        if (maxLength <= 0) return "";
+        boolean ellipsis = maxLength >= 3;
+        int end = ellipsis ? maxLength - 3 : maxLength;
+        if (end > 0 && Character.isHighSurrogate(text.charAt(end - 1)) && Character.isLowSurrogate(text.charAt(end))) {
+            end--;
+        }
+        return ellipsis ? text.substring(0, end) + "..." : text.substring(0, end);
     }
 
 
@@ -156,5 +165,52 @@ public final class UserInputFormatter {
 
 
 
+    /**
+     * Supprime les espaces en début et fin de chaîne et change la casse en une seule passe.
+     * Les caractères ASCII sont convertis avec une table fixe, indépendante de la locale
+     * (pas de « i » sans point en turc) ; les autres passent par {@link Locale#ROOT}.
+     *
+     * @param input La chaîne à transformer (non null).
+     * @param upper true pour passer en majuscules, false pour passer en minuscules.
+     * @return La chaîne transformée, ou l'instance d'origine si elle est déjà normalisée.
+     */
+    private static String trimAndFold(String input, boolean upper) {
+        int start = 0;
+        int end = input.length();
+        while (start < end && input.charAt(start) <= ' ') start++;
+        while (end > start && input.charAt(end - 1) <= ' ') end--;
+
+        int first = start;
+        while (first < end) {
+            char c = input.charAt(first);
+            if (c >= 0x80) {
+                return foldWithRootLocale(input.substring(start, end), upper);
+            }
+            if (upper ? (c >= 'a' && c <= 'z') : (c >= 'A' && c <= 'Z')) break;
+            first++;
+        }
+        if (first == end) {
+            return input.substring(start, end);
+        }
+
+        char[] folded = new char[end - start];
+        input.getChars(start, first, folded, 0);
+        for (int i = first; i < end; i++) {
+            char c = input.charAt(i);
+            if (c >= 0x80) {
+                return foldWithRootLocale(input.substring(start, end), upper);
+            }
+            if (upper) {
+                folded[i - start] = c >= 'a' && c <= 'z' ? (char) (c - 32) : c;
+            } else {
+                folded[i - start] = c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+            }
+        }
+        return new String(folded);
+    }
+
+    private static String foldWithRootLocale(String trimmed, boolean upper) {
+        return upper ? trimmed.toUpperCase(Locale.ROOT) : trimmed.toLowerCase(Locale.ROOT);
+    }
 
 }
@@ -3,9 +3,28 @@ package src;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public final class UserInputValidator {
 
+    private static final int MAX_CACHED_LINEAR_PATTERNS = 256;
+
+    /** Cache d'états déterministes de chaque motif conservé : 256 x 64 Kio, soit 16 Mio au plus. */
+    private static final int LINEAR_PATTERN_CACHE_BYTES = 64 * 1024;
+
+    /**
+     * Motifs compilés par {@link LinearRegex}, ou l'exception qui explique le refus du motif. LRU : au-delà
+     * de {@value #MAX_CACHED_LINEAR_PATTERNS} motifs, le moins récemment utilisé est oublié.
+     */
+    private static final Map<String, Object> LINEAR_PATTERNS =
+            new LinkedHashMap<>(MAX_CACHED_LINEAR_PATTERNS * 4 / 3 + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                    return size() > MAX_CACHED_LINEAR_PATTERNS;
+                }
+            };
+
     private UserInputValidator() {
         throw new UnsupportedOperationException("Cette classe ne peut pas être instanciée.");
     }
@@ -31,12 +50,20 @@ public final class UserInputValidator {
         if (input == null || input.trim().isEmpty()) {
             return false;
         }
-        try {
-            Integer.parseInt(input.trim());
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
+        // Même grammaire que Integer.parseInt sur la chaîne sans blancs autour, sans lever d'exception.
+        int start = trimStart(input);
+        int end = trimEnd(input);
+        boolean negative = input.charAt(start) == '-';
+        if (negative || input.charAt(start) == '+') start++;
+        if (start == end) return false;
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(input.charAt(i), 10);
+            if (digit < 0) return false;
+            value = value * 10 + digit;
+            if (value > -(long) Integer.MIN_VALUE) return false;
         }
+        return negative || value <= Integer.MAX_VALUE;
     }
 
 
@@ -52,6 +79,55 @@ public final class UserInputValidator {
         return input.matches(regex);
     }
 
+    /**
+     * Vérifie qu'une chaîne correspond à un motif regex en temps linéaire, quel que soit le motif
+     * (voir {@link LinearRegex}). À utiliser pour les motifs non fiables, configurés par un client par exemple.
+     *
+     * @param input La chaîne à vérifier.
+     * @param regex Le motif regex à respecter.
+     * @return true si la chaîne correspond au motif, false sinon.
+     * @throws IllegalArgumentException si le motif est hors du sous-ensemble pris en charge (références arrière,
+     *                                  assertions...).
+     */
+    public static boolean matchesPatternLinear(String input, String regex) {
+        return matchesPatternLinear(input, regex, false);
+    }
+
+    /**
+     * Vérifie qu'une chaîne correspond à un motif regex en temps linéaire (voir {@link LinearRegex}).
+     * Les {@value #MAX_CACHED_LINEAR_PATTERNS} derniers motifs utilisés restent compilés, chacun avec un
+     * cache d'états de 64 Kio : la mémoire retenue est bornée à environ 16 Mio, plus les automates non
+     * déterministes (au plus 10 000 états par motif).
+     *
+     * @param input    La chaîne à vérifier.
+     * @param regex    Le motif regex à respecter.
+     * @param fallback true pour évaluer un motif hors du sous-ensemble pris en charge avec java.util.regex
+     *                 (sans garantie de temps), false pour le refuser.
+     * @return true si la chaîne correspond au motif, false sinon.
+     * @throws IllegalArgumentException si le motif est refusé.
+     */
+    public static boolean matchesPatternLinear(String input, String regex, boolean fallback) {
+        if (input == null || regex == null) return false;
+        Object compiled;
+        synchronized (LINEAR_PATTERNS) {
+            compiled = LINEAR_PATTERNS.get(regex);
+        }
+        if (compiled == null) {
+            // Compilé hors du verrou : deux appels simultanés peuvent compiler le même motif.
+            try {
+                compiled = LinearRegex.compile(regex, LINEAR_PATTERN_CACHE_BYTES);
+            } catch (IllegalArgumentException e) {
+                compiled = e;
+            }
+            synchronized (LINEAR_PATTERNS) {
+                LINEAR_PATTERNS.putIfAbsent(regex, compiled);
+            }
+        }
+        if (compiled instanceof LinearRegex) return ((LinearRegex) compiled).matches(input);
+        if (fallback) return input.matches(regex);
+        throw new IllegalArgumentException(((IllegalArgumentException) compiled).getMessage());
+    }
+
     /**
      * Vérifie qu'un entier est dans une plage donnée.
      *
@@ -75,7 +151,7 @@ public final class UserInputValidator {
         if (input == null || input.trim().isEmpty()) {
             return false;
         } else {
-            return input.matches("[a-zA-Z]*");
+            return CharClass.ASCII_LETTERS.matchesAll(input);
         }
     }
 
@@ -90,7 +166,7 @@ public final class UserInputValidator {
         if (input == null || input.trim().isEmpty()) {
             return false;
         } else {
-            return input.matches("[a-zA-Z0-9]*");
+            return CharClass.ASCII_ALPHANUMERIC.matchesAll(input);
         }
     }
 
@@ -133,13 +209,16 @@ public final class UserInputValidator {
         if (input == null || input.trim().isEmpty()) {
             return false;
         }
-        for (char c : input.toCharArray()) {
-            if (allowedChars.indexOf(c) == -1) {
+        if (input.length() >= CharClass.VECTOR_THRESHOLD) {
+            // Construire la classe ne vaut la peine que pour une entrée longue.
+            return CharClass.of(allowedChars).matchesAll(input);
+        }
+        for (int i = 0; i < input.length(); i++) {
+            if (allowedChars.indexOf(input.charAt(i)) == -1) {
                 return false;
             }
         }
         return true;
-
     }
 
 
@@ -153,12 +232,69 @@ public final class UserInputValidator {
         if (input == null || input.trim().isEmpty()) {
             return false;
         }
-        try {
-            Double.parseDouble(input.trim());
-            return true;
-        } catch (NumberFormatException e) {
-            return false;
+        int start = trimStart(input);
+        int end = trimEnd(input);
+        if (input.charAt(start) == '-' || input.charAt(start) == '+') start++;
+        if (input.startsWith("NaN", start) || input.startsWith("Infinity", start)) {
+            return end - start == (input.charAt(start) == 'N' ? 3 : 8);
+        }
+        if (end - start > 1 && input.charAt(start) == '0' && (input.charAt(start + 1) | 0x20) == 'x') {
+            // Littéral hexadécimal, rare : Double.parseDouble tranche.
+            try {
+                Double.parseDouble(input.trim());
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return isDecimalLiteral(input, start, end);
+    }
+
+    /**
+     * Grammaire décimale de Double.parseDouble : chiffres avec au plus un point (au moins un chiffre),
+     * exposant [eE][+-]?chiffres facultatif, suffixe [fFdD] facultatif.
+     */
+    private static boolean isDecimalLiteral(String input, int start, int end) {
+        if (start < end && "fFdD".indexOf(input.charAt(end - 1)) >= 0) end--;
+        int i = start;
+        int digits = 0;
+        while (i < end && input.charAt(i) >= '0' && input.charAt(i) <= '9') {
+            i++;
+            digits++;
+        }
+        if (i < end && input.charAt(i) == '.') {
+            i++;
+            while (i < end && input.charAt(i) >= '0' && input.charAt(i) <= '9') {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) return false;
+        if (i < end && (input.charAt(i) | 0x20) == 'e') {
+            i++;
+            if (i < end && (input.charAt(i) == '-' || input.charAt(i) == '+')) i++;
+            int exponentDigits = 0;
+            while (i < end && input.charAt(i) >= '0' && input.charAt(i) <= '9') {
+                i++;
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) return false;
         }
+        return i == end;
+    }
+
+    /** Index du premier caractère après les blancs de tête, comme String.trim(). */
+    private static int trimStart(String input) {
+        int start = 0;
+        while (start < input.length() && input.charAt(start) <= ' ') start++;
+        return start;
+    }
+
+    /** Index qui suit le dernier caractère avant les blancs de fin, comme String.trim(). */
+    private static int trimEnd(String input) {
+        int end = input.length();
+        while (end > 0 && input.charAt(end - 1) <= ' ') end--;
+        return end;
     }
 
     /**
@@ -242,6 +378,9 @@ public final class UserInputValidator {
 
     /**
      * Vérifie si une chaîne représente une date valide selon un format donné.
+     * Les formats à disposition fixe (par exemple "dd/MM/yyyy") sont validés strictement par
+     * {@link EpochDayParser}, sans créer d'objet, dans le calendrier grégorien proleptique (année 0
+     * refusée) ; les autres passent par SimpleDateFormat.
      *
      * @param input  La chaîne à vérifier.
      * @param format Le format attendu de la date (par exemple, "dd/MM/yyyy").
@@ -251,14 +390,11 @@ public final class UserInputValidator {
         if (input == null || format == null || input.trim().isEmpty() || format.trim().isEmpty()) {
             return false;
         }
-        SimpleDateFormat sdf = new SimpleDateFormat(format);
-        sdf.setLenient(false);
-        try {
-            sdf.parse(input.trim());
-            return true;
-        } catch (ParseException e) {
-            return false;
+        EpochDayParser parser = EpochDayParser.forPattern(format);
+        if (parser != null) {
+            return parseTrimmed(parser, input) != EpochDayParser.INVALID;
         }
+        return parseWithSimpleDateFormat(input, format) != null;
     }
 
 
@@ -279,14 +415,34 @@ public final class UserInputValidator {
         if (!isValidDate(input, format) || !isValidDate(startDate, format) || !isValidDate(endDate, format)) {
             return false;
         }
+        EpochDayParser parser = EpochDayParser.forPattern(format);
+        if (parser != null) {
+            int day = parseTrimmed(parser, input);
+            return day >= parseTrimmed(parser, startDate) && day <= parseTrimmed(parser, endDate);
+        }
+        Date inputDate = parseWithSimpleDateFormat(input, format);
+        Date start = parseWithSimpleDateFormat(startDate, format);
+        Date end = parseWithSimpleDateFormat(endDate, format);
+        return inputDate != null && start != null && end != null
+                && !inputDate.before(start) && !inputDate.after(end);
+    }
+
+
+    private static int parseTrimmed(EpochDayParser parser, String input) {
+        int start = 0;
+        int end = input.length();
+        while (start < end && input.charAt(start) <= ' ') start++;
+        while (end > start && input.charAt(end - 1) <= ' ') end--;
+        return parser.parse(input, start, end);
+    }
+
+    private static Date parseWithSimpleDateFormat(String input, String format) {
         try {
             SimpleDateFormat sdf = new SimpleDateFormat(format);
-            Date inputDate = sdf.parse(input.trim());
-            Date start = sdf.parse(startDate.trim());
-            Date end = sdf.parse(endDate.trim());
-            return !inputDate.before(start) && !inputDate.after(end);
-        } catch (ParseException e) {
-            return false;
+            sdf.setLenient(false);
+            return sdf.parse(input.trim());
+        } catch (ParseException | IllegalArgumentException e) {
+            return null;
         }
     }
 
@@ -348,8 +504,8 @@ public final class UserInputValidator {
             return false;
         }
         // Exemple : 5 chiffres pour un code postal générique
-        String postalCodeRegex = "^[0-9]{5,10}$";
-        return input.trim().matches(postalCodeRegex);
+        String trimmed = input.trim();
+        return trimmed.length() >= 5 && trimmed.length() <= 10 && CharClass.DIGITS.matchesAll(trimmed);
     }
 
 
@@ -366,7 +522,7 @@ public final class UserInputValidator {
 
 
         String sanitizedInput = input.replaceAll("\\s|-", "");
-        if (!sanitizedInput.matches("\\d+")) {
+        if (sanitizedInput.isEmpty() || !CharClass.DIGITS.matchesAll(sanitizedInput)) {
             return false; // Doit contenir uniquement des chiffres
         }
 
@@ -0,0 +1,255 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+
+/**
+ * Chaîne de règles de validation d'un champ qui se réordonne d'après le taux de rejet et le coût observés.
+ *
+ * <p>Une valeur est valide si elle satisfait toutes les règles ; l'évaluation s'arrête au premier rejet.
+ * Pour des règles indépendantes, le coût moyen est minimal quand elles sont triées par coût / probabilité
+ * de rejet croissant : une vérification de longueur qui rejette souvent passe avant une expression
+ * régulière coûteuse. Une partie des appels, tirée au hasard, évalue toutes les règles en mesurant leur
+ * durée ; tous les {@code reorderInterval} échantillons, l'ordre est recalculé et publié d'un seul
+ * coup, sans verrou. Les règles doivent être indépendantes : sans effet de bord, et capables de traiter
+ * n'importe quelle valeur sans compter sur une règle précédente.</p>
+ */
+public final class ValidatorChain implements Predicate<String> {
+
+    private final int sampleInterval;
+    private final int reorderInterval;
+    private final AtomicReference<Rule[]> order = new AtomicReference<>(new Rule[0]);
+    private final AtomicLong samples = new AtomicLong();
+    private final LongAdder tested = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+
+    /**
+     * Crée une chaîne vide qui échantillonne un appel sur 64 et se réordonne tous les 1024 échantillons.
+     */
+    public ValidatorChain() {
+        this(64, 1024);
+    }
+
+    /**
+     * Crée une chaîne vide.
+     *
+     * @param sampleInterval  Un appel sur {@code sampleInterval} (en moyenne) est mesuré.
+     * @param reorderInterval Nombre d'échantillons entre deux recalculs de l'ordre.
+     */
+    public ValidatorChain(int sampleInterval, int reorderInterval) {
+        if (sampleInterval < 1 || reorderInterval < 1) {
+            throw new IllegalArgumentException("Les intervalles doivent être strictement positifs.");
+        }
+        this.sampleInterval = sampleInterval;
+        this.reorderInterval = reorderInterval;
+    }
+
+
+    /**
+     * Ajoute une règle en fin de chaîne.
+     *
+     * @param name Le nom de la règle, pour les statistiques.
+     * @param rule La règle, par exemple {@code s -> UserInputValidator.hasMinimumLength(s, 8)}.
+     * @return Cette chaîne.
+     */
+    public ValidatorChain add(String name, Predicate<String> rule) {
+        Rule added = new Rule(Objects.requireNonNull(name, "Le nom ne peut pas être null."),
+                Objects.requireNonNull(rule, "La règle ne peut pas être null."));
+        order.updateAndGet(current -> {
+            Rule[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = added;
+            return next;
+        });
+        return this;
+    }
+
+
+    /**
+     * Valide une valeur.
+     *
+     * @param input La valeur.
+     * @return true si toutes les règles l'acceptent.
+     */
+    @Override
+    public boolean test(String input) {
+        tested.increment();
+        Rule[] rules = order.get();
+        boolean valid = sampleInterval == 1 || ThreadLocalRandom.current().nextInt(sampleInterval) == 0
+                ? testAndMeasure(rules, input)
+                : testInOrder(rules, input);
+        if (!valid) rejected.increment();
+        return valid;
+    }
+
+
+    /**
+     * Recalcule l'ordre des règles à partir des statistiques courantes et le publie.
+     */
+    public void reorder() {
+        order.updateAndGet(current -> {
+            // Les compteurs évoluent pendant le tri : on trie sur un instantané des ratios.
+            boolean[] neverRejects = new boolean[current.length];
+            double[] ratios = new double[current.length];
+            Integer[] positions = new Integer[current.length];
+            for (int i = 0; i < current.length; i++) {
+                neverRejects[i] = current[i].sampled.sum() > 0 && current[i].rejects.sum() == 0;
+                ratios[i] = current[i].expectedCostRatio();
+                positions[i] = i;
+            }
+            Arrays.sort(positions, Comparator.<Integer, Boolean>comparing(i -> neverRejects[i])
+                    .thenComparingDouble(i -> ratios[i]));
+            Rule[] next = new Rule[current.length];
+            for (int i = 0; i < next.length; i++) {
+                next[i] = current[positions[i]];
+            }
+            return next;
+        });
+    }
+
+    /**
+     * @return Les noms des règles, dans l'ordre d'évaluation courant.
+     */
+    public List<String> getOrder() {
+        List<String> names = new ArrayList<>();
+        for (Rule rule : order.get()) {
+            names.add(rule.name);
+        }
+        return names;
+    }
+
+    /**
+     * @return Les statistiques des règles, dans l'ordre d'évaluation courant.
+     */
+    public List<RuleStatistics> getStatistics() {
+        List<RuleStatistics> statistics = new ArrayList<>();
+        for (Rule rule : order.get()) {
+            long sampled = rule.sampled.sum();
+            statistics.add(new RuleStatistics(rule.name, sampled,
+                    sampled == 0 ? 0.0 : (double) rule.rejects.sum() / sampled,
+                    sampled == 0 ? 0.0 : (double) rule.nanos.sum() / sampled));
+        }
+        return statistics;
+    }
+
+    /**
+     * @return Le nombre de valeurs validées.
+     */
+    public long getTestedCount() {
+        return tested.sum();
+    }
+
+    /**
+     * @return Le nombre de valeurs rejetées.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+
+    private static boolean testInOrder(Rule[] rules, String input) {
+        for (Rule rule : rules) {
+            if (!rule.predicate.test(input)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Évalue toutes les règles, sans s'arrêter au premier rejet, pour que chaque règle soit mesurée
+     * sur l'ensemble des valeurs et pas seulement sur celles acceptées par les règles qui la précèdent.
+     */
+    private boolean testAndMeasure(Rule[] rules, String input) {
+        boolean valid = true;
+        for (Rule rule : rules) {
+            long start = System.nanoTime();
+            boolean accepted = rule.predicate.test(input);
+            rule.nanos.add(System.nanoTime() - start);
+            rule.sampled.increment();
+            if (!accepted) {
+                rule.rejects.increment();
+                valid = false;
+            }
+        }
+        if (samples.incrementAndGet() % reorderInterval == 0) reorder();
+        return valid;
+    }
+
+
+    private static final class Rule {
+        final String name;
+        final Predicate<String> predicate;
+        final LongAdder sampled = new LongAdder();
+        final LongAdder rejects = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+
+        Rule(String name, Predicate<String> predicate) {
+            this.name = name;
+            this.predicate = predicate;
+        }
+
+        /**
+         * Coût moyen divisé par la probabilité de rejet, ou coût moyen seul pour une règle qui ne rejette
+         * jamais (ces règles passent en fin de chaîne). Une règle jamais mesurée reste en tête.
+         */
+        double expectedCostRatio() {
+            long count = sampled.sum();
+            if (count == 0) return 0.0;
+            double cost = Math.max(1.0, (double) nanos.sum() / count);
+            long rejectCount = rejects.sum();
+            return rejectCount == 0 ? cost : cost * count / rejectCount;
+        }
+    }
+
+
+    /**
+     * Statistiques d'une règle, mesurées sur les appels échantillonnés.
+     */
+    public static final class RuleStatistics {
+        private final String name;
+        private final long sampledCount;
+        private final double rejectRate;
+        private final double averageNanos;
+
+        RuleStatistics(String name, long sampledCount, double rejectRate, double averageNanos) {
+            this.name = name;
+            this.sampledCount = sampledCount;
+            this.rejectRate = rejectRate;
+            this.averageNanos = averageNanos;
+        }
+
+        /** @return Le nom de la règle. */
+        public String getName() {
+            return name;
+        }
+
+        /** @return Le nombre d'évaluations mesurées. */
+        public long getSampledCount() {
+            return sampledCount;
+        }
+
+        /** @return La proportion de valeurs rejetées. */
+        public double getRejectRate() {
+            return rejectRate;
+        }
+
+        /** @return La durée moyenne d'une évaluation, en nanosecondes. */
+        public double getAverageNanos() {
+            return averageNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s : rejet %.1f %%, %.0f ns (%d mesures)", name, rejectRate * 100, averageNanos, sampledCount);
+        }
+    }
+
+}
@@ -0,0 +1,202 @@
+package src;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+
+/**
+ * Calendrier de jours ouvrés précalculé sous forme de sommes cumulées par jour epoch.
+ *
+ * <p>Sur la plage d'années couverte, compter les jours ouvrés entre deux dates se fait en O(1)
+ * et avancer d'un nombre de jours ouvrés en O(log n), sans créer de LocalDate intermédiaire.
+ * En dehors de la plage, les calculs retombent sur un parcours jour par jour.</p>
+ */
+public final class WorkingDayCalendar {
+
+    /** Première année couverte par le calendrier par défaut. */
+    public static final int DEFAULT_FIRST_YEAR = 1900;
+
+    /** Dernière année couverte par le calendrier par défaut. */
+    public static final int DEFAULT_LAST_YEAR = 2200;
+
+    private final Predicate<LocalDate> workingDay;
+    private final long firstEpochDay;
+    private final long lastEpochDay;
+
+    /** prefix[i] = nombre de jours ouvrés dans [firstEpochDay, firstEpochDay + i). */
+    private final int[] prefix;
+
+
+    /**
+     * Construit un calendrier couvrant les années [firstYear, lastYear].
+     *
+     * @param workingDay Le prédicat indiquant si une date est un jour ouvré.
+     * @param firstYear  La première année précalculée.
+     * @param lastYear   La dernière année précalculée (incluse).
+     */
+    public WorkingDayCalendar(Predicate<LocalDate> workingDay, int firstYear, int lastYear) {
+        Objects.requireNonNull(workingDay, "Le prédicat de jour ouvré ne peut pas être null.");
+        if (firstYear > lastYear) {
+            throw new IllegalArgumentException("La première année doit précéder la dernière.");
+        }
+        this.workingDay = workingDay;
+        this.firstEpochDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        this.lastEpochDay = LocalDate.of(lastYear, 12, 31).toEpochDay();
+
+        int days = (int) (lastEpochDay - firstEpochDay + 1);
+        this.prefix = new int[days + 1];
+        LocalDate date = LocalDate.ofEpochDay(firstEpochDay);
+        for (int i = 0; i < days; i++) {
+            prefix[i + 1] = prefix[i] + (workingDay.test(date) ? 1 : 0);
+            date = date.plusDays(1);
+        }
+    }
+
+
+    /**
+     * Construit un calendrier des jours ouvrés d'un calendrier de jours fériés, sur les années [firstYear, lastYear].
+     *
+     * @param holidays  Le calendrier des jours fériés.
+     * @param firstYear La première année précalculée.
+     * @param lastYear  La dernière année précalculée (incluse).
+     */
+    public WorkingDayCalendar(HolidayCalendar holidays, int firstYear, int lastYear) {
+        this(Objects.requireNonNull(holidays, "Le calendrier ne peut pas être null.")::isWorkingDay,
+                firstYear, lastYear);
+    }
+
+
+    /**
+     * Renvoie le calendrier des jours ouvrés de {@link DateUtils#isWorkingDay(LocalDate)},
+     * construit au premier appel.
+     *
+     * @return Le calendrier par défaut.
+     */
+    public static WorkingDayCalendar defaultCalendar() {
+        return DefaultHolder.INSTANCE;
+    }
+
+
+    /**
+     * Indique si une date est un jour ouvré.
+     *
+     * @param date La date à vérifier.
+     * @return true si c'est un jour ouvré.
+     */
+    public boolean isWorkingDay(LocalDate date) {
+        if (date == null) return false;
+        long epochDay = date.toEpochDay();
+        if (inRange(epochDay)) {
+            int i = (int) (epochDay - firstEpochDay);
+            return prefix[i + 1] != prefix[i];
+        }
+        return workingDay.test(date);
+    }
+
+
+    /**
+     * Calcule le nombre de jours ouvrés entre deux dates, bornes incluses.
+     *
+     * @param startDate Date de début
+     * @param endDate Date de fin
+     * @return Nombre de jours ouvrés, 0 si la date de début est après la date de fin
+     */
+    public long countWorkingDays(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) return 0;
+        long start = startDate.toEpochDay();
+        long end = endDate.toEpochDay();
+        if (start > end) return 0;
+
+        long low = Math.max(start, firstEpochDay);
+        long high = Math.min(end, lastEpochDay);
+        if (low > high) return scan(start, end);
+
+        long count = prefix[(int) (high - firstEpochDay) + 1] - prefix[(int) (low - firstEpochDay)];
+        return count + scan(start, low - 1) + scan(high + 1, end);
+    }
+
+
+    /**
+     * Avance (ou recule si n est négatif) d'un nombre donné de jours ouvrés.
+     *
+     * @param date Date de départ
+     * @param n Nombre de jours ouvrés ; la date de départ n'est jamais comptée
+     * @return Le n-ième jour ouvré après (ou avant) la date, ou la date elle-même si n vaut 0
+     */
+    public LocalDate addWorkingDays(LocalDate date, long n) {
+        if (date == null) return null;
+        if (n == 0) return date;
+
+        long epochDay = date.toEpochDay();
+        if (inRange(epochDay)) {
+            int i = (int) (epochDay - firstEpochDay);
+            long target = n > 0 ? (long) prefix[i + 1] + n : (long) prefix[i] + n + 1;
+            if (target >= 1 && target <= prefix[prefix.length - 1]) {
+                // Premier indice k tel que prefix[k] >= target : le jour ouvré cherché est k - 1.
+                int k = lowerBound(target);
+                return LocalDate.ofEpochDay(firstEpochDay + k - 1);
+            }
+        }
+        return step(date, n);
+    }
+
+
+    /**
+     * @param date Date de référence
+     * @return Le premier jour ouvré strictement après la date
+     */
+    public LocalDate nextWorkingDay(LocalDate date) {
+        return addWorkingDays(date, 1);
+    }
+
+    /**
+     * @param date Date de référence
+     * @return Le dernier jour ouvré strictement avant la date
+     */
+    public LocalDate previousWorkingDay(LocalDate date) {
+        return addWorkingDays(date, -1);
+    }
+
+
+    private boolean inRange(long epochDay) {
+        return epochDay >= firstEpochDay && epochDay <= lastEpochDay;
+    }
+
+    private int lowerBound(long target) {
+        int low = 0;
+        int high = prefix.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prefix[mid] < target) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private long scan(long fromEpochDay, long toEpochDay) {
+        long count = 0;
+        for (long day = fromEpochDay; day <= toEpochDay; day++) {
+            if (workingDay.test(LocalDate.ofEpochDay(day))) count++;
+        }
+        return count;
+    }
+
+    private LocalDate step(LocalDate date, long n) {
+        int direction = n > 0 ? 1 : -1;
+        long remaining = Math.abs(n);
+        LocalDate current = date;
+        while (remaining > 0) {
+            current = current.plusDays(direction);
+            if (isWorkingDay(current)) remaining--;
+        }
+        return current;
+    }
+
+
+    private static final class DefaultHolder {
+        static final WorkingDayCalendar INSTANCE =
+                new WorkingDayCalendar(HolidayCalendar.FRANCE, DEFAULT_FIRST_YEAR, DEFAULT_LAST_YEAR);
+    }
+
+}
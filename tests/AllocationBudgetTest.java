@@ -0,0 +1,377 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.DateUtils;
+import src.HolidayCalendar;
+import src.UserInputFormatter;
+import src.UserInputValidator;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+
+/**
+ * Budgets d'allocation, en octets par appel, de chaque méthode publique de {@link UserInputValidator},
+ * {@link UserInputFormatter} et {@link DateUtils}, pour une entrée valide et une entrée invalide.
+ *
+ * <p>Chaque appel est d'abord exécuté assez de fois pour être compilé, puis mesuré avec le compteur
+ * d'octets alloués par le thread courant ({@link com.sun.management.ThreadMXBean}). Un budget dépassé
+ * fait échouer le test, comme une régression fonctionnelle. Avec {@code -Dallocation.report=true}, les
+ * mesures sont affichées pour mettre les budgets à jour.</p>
+ */
+public class AllocationBudgetTest {
+
+    private static final int WARMUP_CALLS = 20_000;
+    private static final int MEASURED_CALLS = 5_000;
+    private static final int MEASUREMENTS = 3;
+
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 14);
+    private static final LocalDate SATURDAY = LocalDate.of(2024, 6, 15);
+    private static final LocalDate BASTILLE_DAY = LocalDate.of(2024, 7, 14);
+    private static final LocalDate BIRTH = LocalDate.of(1990, 6, 14);
+    private static final LocalDate YEAR_START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate YEAR_END = LocalDate.of(2024, 12, 31);
+    private static final Clock CLOCK = Clock.fixed(DAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    private static final List<LocalDate> DATES = List.of(BIRTH, DAY, YEAR_START, YEAR_END);
+
+    private static final List<Budget> BUDGETS = List.of(
+            // UserInputValidator
+            budget("UserInputValidator.isValidString(String)",
+                    64, () -> b(UserInputValidator.isValidString(" abc ")),
+                    0, () -> b(UserInputValidator.isValidString("   "))),
+            budget("UserInputValidator.isValidInteger(String)",
+                    0, () -> b(UserInputValidator.isValidInteger("42")),
+                    0, () -> b(UserInputValidator.isValidInteger("4x2"))),
+            budget("UserInputValidator.matchesPattern(String,String)",
+                    2_048, () -> b(UserInputValidator.matchesPattern("abc123", "[a-z]+[0-9]+")),
+                    1_536, () -> b(UserInputValidator.matchesPattern("abc", "[0-9]+"))),
+            budget("UserInputValidator.matchesPatternLinear(String,String)",
+                    0, () -> b(UserInputValidator.matchesPatternLinear("abc123", "[a-z]+[0-9]+")),
+                    0, () -> b(UserInputValidator.matchesPatternLinear("abc", "[0-9]+"))),
+            budget("UserInputValidator.matchesPatternLinear(String,String,boolean)",
+                    0, () -> b(UserInputValidator.matchesPatternLinear("abc123", "(a|b|c)+\\d*", false)),
+                    2_048, () -> b(UserInputValidator.matchesPatternLinear("abab", "(ab)\\1", true))),
+            budget("UserInputValidator.isWithinRange(int,int,int)",
+                    0, () -> b(UserInputValidator.isWithinRange(5, 1, 10)),
+                    0, () -> b(UserInputValidator.isWithinRange(11, 1, 10))),
+            budget("UserInputValidator.isAlpha(String)",
+                    0, () -> b(UserInputValidator.isAlpha("Bonjour")),
+                    0, () -> b(UserInputValidator.isAlpha("Bonjour!"))),
+            budget("UserInputValidator.isAlphaNumeric(String)",
+                    0, () -> b(UserInputValidator.isAlphaNumeric("abc123")),
+                    0, () -> b(UserInputValidator.isAlphaNumeric("abc-123"))),
+            budget("UserInputValidator.hasMinimumLength(String,int)",
+                    0, () -> b(UserInputValidator.hasMinimumLength("motdepasse", 8)),
+                    0, () -> b(UserInputValidator.hasMinimumLength("court", 8))),
+            budget("UserInputValidator.hasMaximumLength(String,int)",
+                    0, () -> b(UserInputValidator.hasMaximumLength("court", 8)),
+                    0, () -> b(UserInputValidator.hasMaximumLength("motdepasse", 8))),
+            budget("UserInputValidator.containsOnly(String,String)",
+                    0, () -> b(UserInputValidator.containsOnly("0123", "0123456789")),
+                    0, () -> b(UserInputValidator.containsOnly("01a3", "0123456789"))),
+            budget("UserInputValidator.isValidDouble(String)",
+                    0, () -> b(UserInputValidator.isValidDouble("3.14")),
+                    0, () -> b(UserInputValidator.isValidDouble("3,14"))),
+            budget("UserInputValidator.isPositiveInteger(String)",
+                    0, () -> b(UserInputValidator.isPositiveInteger("42")),
+                    0, () -> b(UserInputValidator.isPositiveInteger("-42"))),
+            budget("UserInputValidator.isPositiveIntegerOrZero(String)",
+                    0, () -> b(UserInputValidator.isPositiveIntegerOrZero("0")),
+                    0, () -> b(UserInputValidator.isPositiveIntegerOrZero("-1"))),
+            budget("UserInputValidator.isIntegerGreaterEqualThan(String,int)",
+                    0, () -> b(UserInputValidator.isIntegerGreaterEqualThan("18", 18)),
+                    0, () -> b(UserInputValidator.isIntegerGreaterEqualThan("17", 18))),
+            budget("UserInputValidator.isIntegerGreaterThan(String,int)",
+                    0, () -> b(UserInputValidator.isIntegerGreaterThan("19", 18)),
+                    0, () -> b(UserInputValidator.isIntegerGreaterThan("18", 18))),
+            budget("UserInputValidator.isIntegerLessEqualThan(String,int)",
+                    0, () -> b(UserInputValidator.isIntegerLessEqualThan("18", 18)),
+                    0, () -> b(UserInputValidator.isIntegerLessEqualThan("19", 18))),
+            budget("UserInputValidator.isIntegerLessThan(String,int)",
+                    0, () -> b(UserInputValidator.isIntegerLessThan("17", 18)),
+                    0, () -> b(UserInputValidator.isIntegerLessThan("18", 18))),
+            budget("UserInputValidator.isValidDate(String,String)",
+                    0, () -> b(UserInputValidator.isValidDate("29/02/2024", "dd/MM/yyyy")),
+                    0, () -> b(UserInputValidator.isValidDate("29/02/2023", "dd/MM/yyyy"))),
+            budget("UserInputValidator.isDateWithinRange(String,String,String,String)",
+                    0, () -> b(UserInputValidator.isDateWithinRange("15/06/2024", "dd/MM/yyyy", "01/01/2024", "31/12/2024")),
+                    0, () -> b(UserInputValidator.isDateWithinRange("15/06/2025", "dd/MM/yyyy", "01/01/2024", "31/12/2024"))),
+            budget("UserInputValidator.isValidEmail(String)",
+                    3_072, () -> b(UserInputValidator.isValidEmail("jean.dupont@exemple.fr")),
+                    3_072, () -> b(UserInputValidator.isValidEmail("jean.dupont@exemple"))),
+            budget("UserInputValidator.isValidPhoneNumber(String)",
+                    2_048, () -> b(UserInputValidator.isValidPhoneNumber("+33 6 12 34 56 78")),
+                    2_048, () -> b(UserInputValidator.isValidPhoneNumber("06-12"))),
+            budget("UserInputValidator.isValidUrl(String)",
+                    4_096, () -> b(UserInputValidator.isValidUrl("https://www.exemple.fr/page?id=1")),
+                    4_096, () -> b(UserInputValidator.isValidUrl("exemple.fr"))),
+            budget("UserInputValidator.isValidPostalCode(String)",
+                    0, () -> b(UserInputValidator.isValidPostalCode("75001")),
+                    0, () -> b(UserInputValidator.isValidPostalCode("750"))),
+            budget("UserInputValidator.isValidCreditCardNumber(String)",
+                    1_536, () -> b(UserInputValidator.isValidCreditCardNumber("4539 1488 0343 6467")),
+                    1_536, () -> b(UserInputValidator.isValidCreditCardNumber("4539 1488 0343 6468"))),
+
+            // UserInputFormatter
+            budget("UserInputFormatter.toUpperCase(String)",
+                    128, () -> s(UserInputFormatter.toUpperCase(" bonjour ")),
+                    0, () -> s(UserInputFormatter.toUpperCase(null))),
+            budget("UserInputFormatter.toLowerCase(String)",
+                    128, () -> s(UserInputFormatter.toLowerCase(" BONJOUR ")),
+                    0, () -> s(UserInputFormatter.toLowerCase(null))),
+            budget("UserInputFormatter.capitalizeWords(String)",
+                    2_048, () -> s(UserInputFormatter.capitalizeWords("jean dupont")),
+                    0, () -> s(UserInputFormatter.capitalizeWords(null))),
+            budget("UserInputFormatter.getInitials(String)",
+                    1_536, () -> s(UserInputFormatter.getInitials("Jean Pierre Dupont")),
+                    0, () -> s(UserInputFormatter.getInitials("   "))),
+            budget("UserInputFormatter.removeAccents(String)",
+                    2_560, () -> s(UserInputFormatter.removeAccents("Élève à Noël")),
+                    0, () -> s(UserInputFormatter.removeAccents(null))),
+            budget("UserInputFormatter.formatEmail(String)",
+                    160, () -> s(UserInputFormatter.formatEmail(" Jean@Exemple.FR ")),
+                    0, () -> s(UserInputFormatter.formatEmail(null))),
+            budget("UserInputFormatter.truncateText(String,int)",
+                    160, () -> s(UserInputFormatter.truncateText("Un texte bien trop long", 10)),
+                    0, () -> s(UserInputFormatter.truncateText(null, 10))),
+            budget("UserInputFormatter.formatAmount(double)",
+                    3_072, () -> s(UserInputFormatter.formatAmount(1234.5)),
+                    1_024, () -> s(UserInputFormatter.formatAmount(Double.NaN))),
+            budget("UserInputFormatter.maskCreditCard(String)",
+                    2_048, () -> s(UserInputFormatter.maskCreditCard("4539 1488 0343 6467")),
+                    0, () -> s(UserInputFormatter.maskCreditCard("123"))),
+            budget("UserInputFormatter.formatPrice(double,String)",
+                    3_072, () -> s(UserInputFormatter.formatPrice(19.99, "EUR")),
+                    1_024, () -> s(UserInputFormatter.formatPrice(Double.NaN, null))),
+
+            // DateUtils
+            budget("DateUtils.isFutureDate(LocalDate)",
+                    0, () -> b(DateUtils.isFutureDate(DAY)),
+                    0, () -> b(DateUtils.isFutureDate(null))),
+            budget("DateUtils.isFutureDate(LocalDate,Clock)",
+                    192, () -> b(DateUtils.isFutureDate(DAY, CLOCK)),
+                    0, () -> b(DateUtils.isFutureDate(DAY, (Clock) null))),
+            budget("DateUtils.isFutureDate(LocalDate,LocalDate)",
+                    0, () -> b(DateUtils.isFutureDate(YEAR_END, DAY)),
+                    0, () -> b(DateUtils.isFutureDate(DAY, (LocalDate) null))),
+            budget("DateUtils.isPastDate(LocalDate)",
+                    0, () -> b(DateUtils.isPastDate(DAY)),
+                    0, () -> b(DateUtils.isPastDate(null))),
+            budget("DateUtils.isPastDate(LocalDate,Clock)",
+                    192, () -> b(DateUtils.isPastDate(BIRTH, CLOCK)),
+                    0, () -> b(DateUtils.isPastDate(BIRTH, (Clock) null))),
+            budget("DateUtils.isPastDate(LocalDate,LocalDate)",
+                    0, () -> b(DateUtils.isPastDate(BIRTH, DAY)),
+                    0, () -> b(DateUtils.isPastDate(BIRTH, (LocalDate) null))),
+            budget("DateUtils.calculateAge(LocalDate)",
+                    0, () -> DateUtils.calculateAge(BIRTH),
+                    0, () -> DateUtils.calculateAge(null)),
+            budget("DateUtils.calculateAge(LocalDate,Clock)",
+                    192, () -> DateUtils.calculateAge(BIRTH, CLOCK),
+                    0, () -> DateUtils.calculateAge(BIRTH, (Clock) null)),
+            budget("DateUtils.calculateAge(LocalDate,LocalDate)",
+                    0, () -> DateUtils.calculateAge(BIRTH, DAY),
+                    32, () -> DateUtils.calculateAge(YEAR_END, DAY)),
+            budget("DateUtils.isHoliday(LocalDate)",
+                    0, () -> b(DateUtils.isHoliday(BASTILLE_DAY)),
+                    0, () -> b(DateUtils.isHoliday(null))),
+            budget("DateUtils.isHoliday(LocalDate,HolidayCalendar)",
+                    0, () -> b(DateUtils.isHoliday(DAY, HolidayCalendar.FRANCE)),
+                    0, () -> b(DateUtils.isHoliday(DAY, null))),
+            budget("DateUtils.isWorkingDay(LocalDate)",
+                    0, () -> b(DateUtils.isWorkingDay(DAY)),
+                    0, () -> b(DateUtils.isWorkingDay(null))),
+            budget("DateUtils.isWorkingDay(LocalDate,HolidayCalendar)",
+                    0, () -> b(DateUtils.isWorkingDay(SATURDAY, HolidayCalendar.FRANCE)),
+                    0, () -> b(DateUtils.isWorkingDay(DAY, null))),
+            budget("DateUtils.isWeekend(LocalDate)",
+                    0, () -> b(DateUtils.isWeekend(SATURDAY)),
+                    0, () -> b(DateUtils.isWeekend(null))),
+            budget("DateUtils.countWorkingDays(LocalDate,LocalDate)",
+                    0, () -> DateUtils.countWorkingDays(YEAR_START, YEAR_END),
+                    0, () -> DateUtils.countWorkingDays(null, YEAR_END)),
+            budget("DateUtils.addWorkingDays(LocalDate,long)",
+                    32, () -> d(DateUtils.addWorkingDays(DAY, 30)),
+                    0, () -> d(DateUtils.addWorkingDays(null, 30))),
+            budget("DateUtils.nextWorkingDay(LocalDate)",
+                    32, () -> d(DateUtils.nextWorkingDay(SATURDAY)),
+                    0, () -> d(DateUtils.nextWorkingDay(null))),
+            budget("DateUtils.previousWorkingDay(LocalDate)",
+                    32, () -> d(DateUtils.previousWorkingDay(SATURDAY)),
+                    0, () -> d(DateUtils.previousWorkingDay(null))),
+            budget("DateUtils.periodsOverlap(LocalDate,LocalDate,LocalDate,LocalDate)",
+                    0, () -> b(DateUtils.periodsOverlap(YEAR_START, DAY, BIRTH, YEAR_END)),
+                    0, () -> b(DateUtils.periodsOverlap(YEAR_START, null, BIRTH, YEAR_END))),
+            budget("DateUtils.generateRecurringDates(LocalDate,LocalDate,int)",
+                    4_096, () -> DateUtils.generateRecurringDates(YEAR_START, YEAR_END, 7).size(),
+                    32, () -> DateUtils.generateRecurringDates(YEAR_START, YEAR_END, 0).size()),
+            budget("DateUtils.getNextDayOfWeek(DayOfWeek)",
+                    64, () -> d(DateUtils.getNextDayOfWeek(DayOfWeek.MONDAY)),
+                    0, () -> d(DateUtils.getNextDayOfWeek((DayOfWeek) null))),
+            budget("DateUtils.getNextDayOfWeek(DayOfWeek,Clock)",
+                    256, () -> d(DateUtils.getNextDayOfWeek(DayOfWeek.MONDAY, CLOCK)),
+                    0, () -> d(DateUtils.getNextDayOfWeek(DayOfWeek.MONDAY, (Clock) null))),
+            budget("DateUtils.getNextDayOfWeek(DayOfWeek,LocalDate)",
+                    64, () -> d(DateUtils.getNextDayOfWeek(DayOfWeek.MONDAY, DAY)),
+                    0, () -> d(DateUtils.getNextDayOfWeek(null, DAY))),
+            budget("DateUtils.getLastDayOfMonth(LocalDate)",
+                    32, () -> d(DateUtils.getLastDayOfMonth(DAY)),
+                    0, () -> d(DateUtils.getLastDayOfMonth(null))),
+            budget("DateUtils.isLeapYear(int)",
+                    0, () -> b(DateUtils.isLeapYear(2024)),
+                    0, () -> b(DateUtils.isLeapYear(2023))),
+            budget("DateUtils.getDaysBetween(LocalDate,LocalDate)",
+                    0, () -> DateUtils.getDaysBetween(BIRTH, DAY),
+                    0, () -> DateUtils.getDaysBetween(null, DAY)),
+            budget("DateUtils.formatDate(LocalDate,String)",
+                    128, () -> s(DateUtils.formatDate(DAY, "dd/MM/yyyy")),
+                    0, () -> s(DateUtils.formatDate(null, "dd/MM/yyyy"))),
+            budget("DateUtils.isBirthday(LocalDate,LocalDate)",
+                    0, () -> b(DateUtils.isBirthday(BIRTH, DAY)),
+                    0, () -> b(DateUtils.isBirthday(BIRTH, null))),
+            budget("DateUtils.getMonthsBetween(LocalDate,LocalDate)",
+                    0, () -> DateUtils.getMonthsBetween(BIRTH, DAY),
+                    0, () -> DateUtils.getMonthsBetween(null, DAY)),
+            budget("DateUtils.getMostRecentDate(List)",
+                    384, () -> d(DateUtils.getMostRecentDate(DATES)),
+                    0, () -> d(DateUtils.getMostRecentDate(List.of()))),
+            budget("DateUtils.getOldestDate(List)",
+                    384, () -> d(DateUtils.getOldestDate(DATES)),
+                    0, () -> d(DateUtils.getOldestDate(null))),
+            budget("DateUtils.isDateInRange(LocalDate,LocalDate,LocalDate)",
+                    0, () -> b(DateUtils.isDateInRange(DAY, YEAR_START, YEAR_END)),
+                    0, () -> b(DateUtils.isDateInRange(BIRTH, YEAR_START, YEAR_END)))
+    );
+
+
+    @Test
+    public void testEveryPublicMethodHasBudget() {
+        Set<String> declared = BUDGETS.stream().map(budget -> budget.signature).collect(Collectors.toCollection(TreeSet::new));
+        assertEquals(BUDGETS.size(), declared.size(), "Budget déclaré deux fois.");
+        Set<String> methods = new TreeSet<>();
+        for (Class<?> type : List.of(UserInputValidator.class, UserInputFormatter.class, DateUtils.class)) {
+            for (Method method : type.getDeclaredMethods()) {
+                if (Modifier.isPublic(method.getModifiers()) && !method.isSynthetic()) methods.add(signature(method));
+            }
+        }
+        assertEquals(methods, declared);
+    }
+
+    @Test
+    public void testUserInputValidatorBudgets() {
+        assertBudgets("UserInputValidator.");
+    }
+
+    @Test
+    public void testUserInputFormatterBudgets() {
+        assertBudgets("UserInputFormatter.");
+    }
+
+    @Test
+    public void testDateUtilsBudgets() {
+        assertBudgets("DateUtils.");
+    }
+
+    @Test
+    public void testHarnessMeasuresAllocations() {
+        assertEquals(0, bytesPerCall(() -> 42));
+        long bytes = bytesPerCall(() -> new long[16].length);
+        assertTrue(bytes >= 16 * Long.BYTES, "mesuré : " + bytes);
+    }
+
+
+    private static void assertBudgets(String prefix) {
+        boolean report = Boolean.getBoolean("allocation.report");
+        List<String> failures = new ArrayList<>();
+        for (Budget budget : BUDGETS) {
+            if (!budget.signature.startsWith(prefix)) continue;
+            long valid = bytesPerCall(budget.validCall);
+            long invalid = bytesPerCall(budget.invalidCall);
+            if (report) System.out.printf("%-75s valide %6d o, invalide %6d o%n", budget.signature, valid, invalid);
+            if (valid > budget.validBytes) {
+                failures.add(budget.signature + " (valide) : " + valid + " o > " + budget.validBytes + " o");
+            }
+            if (invalid > budget.invalidBytes) {
+                failures.add(budget.signature + " (invalide) : " + invalid + " o > " + budget.invalidBytes + " o");
+            }
+        }
+        assertTrue(failures.isEmpty(), "Budgets d'allocation dépassés :\n" + String.join("\n", failures));
+    }
+
+    /**
+     * Octets alloués par appel après compilation : la plus petite de plusieurs mesures, car le bruit
+     * (compilation, chargement de classes) ne peut qu'ajouter des octets.
+     */
+    private static long bytesPerCall(LongSupplier call) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threads.isThreadAllocatedMemorySupported(), "Mesure des allocations non disponible.");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        long sink = 0;
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            sink += call.getAsLong();
+        }
+        long best = Long.MAX_VALUE;
+        for (int measurement = 0; measurement < MEASUREMENTS; measurement++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < MEASURED_CALLS; i++) {
+                sink += call.getAsLong();
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+            best = Math.min(best, allocated / MEASURED_CALLS);
+        }
+        if (sink == 42) System.out.print("");
+        return best;
+    }
+
+    private static String signature(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName() + Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName).collect(Collectors.joining(",", "(", ")"));
+    }
+
+    private static Budget budget(String signature, long validBytes, LongSupplier validCall, long invalidBytes, LongSupplier invalidCall) {
+        return new Budget(signature, validBytes, validCall, invalidBytes, invalidCall);
+    }
+
+    private static long b(boolean value) {
+        return value ? 1 : 0;
+    }
+
+    private static long s(String value) {
+        return value == null ? -1 : value.length();
+    }
+
+    private static long d(LocalDate value) {
+        return value == null ? Long.MIN_VALUE : value.toEpochDay();
+    }
+
+
+    private static final class Budget {
+        final String signature;
+        final long validBytes;
+        final LongSupplier validCall;
+        final long invalidBytes;
+        final LongSupplier invalidCall;
+
+        Budget(String signature, long validBytes, LongSupplier validCall, long invalidBytes, LongSupplier invalidCall) {
+            this.signature = signature;
+            this.validBytes = validBytes;
+            this.validCall = validCall;
+            this.invalidBytes = invalidBytes;
+            this.invalidCall = invalidCall;
+        }
+    }
+
+}
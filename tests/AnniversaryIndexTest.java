@@ -0,0 +1,83 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.AnniversaryIndex;
+import src.DateUtils;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+
+
+public class AnniversaryIndexTest {
+
+    @Test
+    public void testDueOnMatchesIsBirthday() {
+        Random random = new Random(8);
+        LocalDate[] births = new LocalDate[5_000];
+        AnniversaryIndex index = new AnniversaryIndex(AnniversaryIndex.LeapDayRule.SKIP);
+        for (int id = 0; id < births.length; id++) {
+            births[id] = LocalDate.of(1950, 1, 1).plusDays(random.nextInt(25_000));
+            index.add(id, births[id]);
+        }
+        assertEquals(births.length, index.size());
+
+        for (LocalDate day = LocalDate.of(2024, 1, 1); day.getYear() == 2024; day = day.plusDays(1)) {
+            int[] due = index.dueOn(day);
+            Arrays.sort(due);
+            LocalDate today = day;
+            int[] expected = java.util.stream.IntStream.range(0, births.length)
+                    .filter(id -> DateUtils.isBirthday(births[id], today))
+                    .toArray();
+            assertArrayEquals(expected, due);
+        }
+    }
+
+    @Test
+    public void testLeapDayRules() {
+        LocalDate leapBirth = LocalDate.of(2000, 2, 29);
+
+        AnniversaryIndex february = new AnniversaryIndex();
+        february.add(1, leapBirth);
+        assertArrayEquals(new int[]{1}, february.dueOn(LocalDate.of(2023, 2, 28)));
+        assertArrayEquals(new int[0], february.dueOn(LocalDate.of(2024, 2, 28)));
+        assertArrayEquals(new int[]{1}, february.dueOn(LocalDate.of(2024, 2, 29)));
+
+        AnniversaryIndex march = new AnniversaryIndex(AnniversaryIndex.LeapDayRule.MARCH_1);
+        march.add(1, leapBirth);
+        assertArrayEquals(new int[]{1}, march.dueOn(LocalDate.of(2023, 3, 1)));
+        assertArrayEquals(new int[0], march.dueOn(LocalDate.of(2023, 2, 28)));
+
+        AnniversaryIndex skip = new AnniversaryIndex(AnniversaryIndex.LeapDayRule.SKIP);
+        skip.add(1, leapBirth);
+        assertEquals(0, skip.dueWithin(LocalDate.of(2023, 1, 1), 365).length);
+    }
+
+    @Test
+    public void testDueWithin() {
+        AnniversaryIndex index = new AnniversaryIndex();
+        index.add(1, LocalDate.of(1990, 12, 30));
+        index.add(2, LocalDate.of(1985, 1, 2));
+        index.add(3, LocalDate.of(1970, 6, 1));
+        assertArrayEquals(new int[]{1, 2}, index.dueWithin(LocalDate.of(2024, 12, 29), 5));
+        assertArrayEquals(new int[0], index.dueWithin(LocalDate.of(2024, 12, 29), 0));
+    }
+
+    @Test
+    public void testRemove() {
+        AnniversaryIndex index = new AnniversaryIndex();
+        LocalDate date = LocalDate.of(1990, 5, 17);
+        for (int id = 0; id < 10; id++) {
+            index.add(id, date);
+        }
+        assertTrue(index.remove(4, date));
+        assertFalse(index.remove(4, date));
+        assertFalse(index.remove(5, LocalDate.of(1990, 5, 18)));
+        assertEquals(9, index.size());
+        int[] due = index.dueOn(LocalDate.of(2024, 5, 17));
+        Arrays.sort(due);
+        assertArrayEquals(new int[]{0, 1, 2, 3, 5, 6, 7, 8, 9}, due);
+    }
+
+}
@@ -0,0 +1,95 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.BatchNormalizer;
+import src.UserInputFormatter;
+
+import java.util.Arrays;
+import java.util.List;
+
+
+public class BatchNormalizerTest {
+
+    @Test
+    public void testNormalizeAppliesStepsInOrder() {
+        BatchNormalizer normalizer = new BatchNormalizer(
+                UserInputFormatter::removeAccents,
+                UserInputFormatter::capitalizeWords);
+        assertEquals("Eloise Dupre", normalizer.normalize("  éloïse   DUPRÉ "));
+    }
+
+    @Test
+    public void testEqualResultsShareOneInstance() {
+        BatchNormalizer normalizer = new BatchNormalizer(UserInputFormatter::toUpperCase);
+        String[] column = {"paris", " Paris ", "PARIS", "lyon"};
+
+        String[] results = normalizer.normalizeColumn(column);
+
+        assertEquals("PARIS", results[0]);
+        assertEquals("LYON", results[3]);
+        assertSame(results[0], results[1]);
+        assertSame(results[0], results[2]);
+        assertEquals(4, normalizer.getProcessedCount());
+        assertEquals(2, normalizer.getDistinctCount());
+    }
+
+    @Test
+    public void testStatistics() {
+        BatchNormalizer normalizer = new BatchNormalizer(UserInputFormatter::formatEmail);
+        List<String> column = Arrays.asList("A@B.FR", "a@b.fr ", " a@B.fr", "c@d.fr");
+
+        List<String> results = normalizer.normalizeColumn(column);
+
+        assertEquals(Arrays.asList("a@b.fr", "a@b.fr", "a@b.fr", "c@d.fr"), results);
+        assertEquals(2, normalizer.getDeduplicatedCount());
+        assertTrue(normalizer.getEstimatedBytesSaved() > 0);
+
+        normalizer.clear();
+        assertEquals(0, normalizer.getDistinctCount());
+        assertEquals(0, normalizer.getDeduplicatedCount());
+        assertEquals(0, normalizer.getEstimatedBytesSaved());
+    }
+
+    @Test
+    public void testUnchangedInputsSaveNothing() {
+        BatchNormalizer normalizer = new BatchNormalizer(UserInputFormatter::toLowerCase);
+        String first = new String("paris");
+        String second = new String("paris");
+
+        assertSame(first, normalizer.normalize(first));
+        assertSame(first, normalizer.normalize(second));
+        assertEquals(1, normalizer.getDeduplicatedCount());
+        assertEquals(0, normalizer.getEstimatedBytesSaved());
+
+        normalizer.normalize("PARIS");
+        assertEquals(2, normalizer.getDeduplicatedCount());
+        assertTrue(normalizer.getEstimatedBytesSaved() > 0);
+    }
+
+    @Test
+    public void testParallelColumnKeepsOrder() {
+        BatchNormalizer normalizer = new BatchNormalizer(UserInputFormatter::toLowerCase);
+        String[] column = new String[10_000];
+        for (int i = 0; i < column.length; i++) {
+            column[i] = "VILLE" + (i % 10);
+        }
+
+        String[] results = normalizer.normalizeColumn(column);
+
+        for (int i = 0; i < column.length; i++) {
+            assertEquals("ville" + (i % 10), results[i]);
+        }
+        assertEquals(10, normalizer.getDistinctCount());
+    }
+
+    @Test
+    public void testNullInputs() {
+        BatchNormalizer normalizer = new BatchNormalizer(UserInputFormatter::toUpperCase);
+        assertEquals(0, normalizer.normalizeColumn((String[]) null).length);
+        assertTrue(normalizer.normalizeColumn((List<String>) null).isEmpty());
+        assertEquals("", normalizer.normalize(null));
+        assertThrows(IllegalArgumentException.class, BatchNormalizer::new);
+    }
+
+}
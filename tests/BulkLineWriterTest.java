@@ -0,0 +1,150 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.BulkLineWriter;
+import src.DateUtils;
+import src.UserInputFormatter;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Random;
+
+
+public class BulkLineWriterTest {
+
+    @Test
+    public void testWritesLikeFormatterMethods() throws IOException {
+        BulkLineWriter.Template line = BulkLineWriter.template("{date:dd/MM/yyyy};{card};{price};{amount};{text};{number}\n");
+        assertEquals(6, line.fieldCount());
+        LocalDate day = LocalDate.of(2024, 3, 9);
+        String expected = DateUtils.formatDate(day, "dd/MM/yyyy") + ";"
+                + UserInputFormatter.maskCreditCard("4539-1488-0343-6467") + ";"
+                + UserInputFormatter.formatPrice(1234.5, "€") + ";"
+                + UserInputFormatter.formatAmount(-0.004) + ";"
+                + "Éric 😀;-42\n";
+
+        String written = write(out -> out.begin(line).date(day).card("4539-1488-0343-6467")
+                .price(1234.5, "€").amount(-0.004).text("Éric 😀").number(-42).end());
+
+        assertEquals(expected, written);
+    }
+
+    @Test
+    public void testAmountsMatchStringFormatAcrossLocales() throws IOException {
+        Locale saved = Locale.getDefault(Locale.Category.FORMAT);
+        try {
+            for (Locale locale : new Locale[]{Locale.FRANCE, Locale.US, new Locale("ar", "SA")}) {
+                Locale.setDefault(Locale.Category.FORMAT, locale);
+                Random random = new Random(7);
+                double[] amounts = new double[20_000];
+                for (int i = 0; i < amounts.length; i++) {
+                    amounts[i] = i < 12 ? new double[]{0.005, 0.015, 1.005, 2.675, -0.0, -0.001, 0.125, 1e9, 1e12,
+                            Double.NaN, Double.NEGATIVE_INFINITY, 999_999_999.995}[i]
+                            : random.nextInt(3) == 0 ? random.nextInt(100_000) / 1000.0 : (random.nextDouble() - 0.5) * 2e6;
+                }
+                StringBuilder expected = new StringBuilder();
+                for (double amount : amounts) {
+                    expected.append(UserInputFormatter.formatAmount(amount)).append('\n');
+                }
+                BulkLineWriter.Template line = BulkLineWriter.template("{amount}\n");
+                String written = write(out -> {
+                    for (double amount : amounts) {
+                        out.begin(line).amount(amount).end();
+                    }
+                });
+                assertEquals(expected.toString(), written, locale.toString());
+            }
+        } finally {
+            Locale.setDefault(Locale.Category.FORMAT, saved);
+        }
+    }
+
+    @Test
+    public void testDatesAndCardsMatchOnEdgeCases() throws IOException {
+        BulkLineWriter.Template line = BulkLineWriter.template("{date:yyyy.MM.dd}|{date:d MMM yyyy}|{card}\n");
+        LocalDate[] dates = {LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31), LocalDate.of(12345, 6, 7), LocalDate.of(-5, 2, 3), null};
+        String[] cards = {"1234", "12 34 56", "ab-1234", null, "4111111111111111"};
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < dates.length; i++) {
+            expected.append(DateUtils.formatDate(dates[i], "yyyy.MM.dd")).append('|')
+                    .append(DateUtils.formatDate(dates[i], "d MMM yyyy")).append('|')
+                    .append(UserInputFormatter.maskCreditCard(cards[i])).append('\n');
+        }
+        String written = write(out -> {
+            for (int i = 0; i < dates.length; i++) {
+                out.begin(line).date(dates[i]).date(dates[i]).card(cards[i]).end();
+            }
+        });
+        assertEquals(expected.toString(), written);
+
+        // Moins de quatre chiffres : même exception que maskCreditCard.
+        assertThrows(StringIndexOutOfBoundsException.class, () -> UserInputFormatter.maskCreditCard("abcd"));
+        write(out -> assertThrows(StringIndexOutOfBoundsException.class,
+                () -> out.begin(BulkLineWriter.template("{card}")).card("abcd")));
+    }
+
+    @Test
+    public void testSmallBufferFlushesInBlocks() throws IOException {
+        Path file = Files.createTempFile("bulk", ".txt");
+        try {
+            BulkLineWriter.Template line = BulkLineWriter.template("ligne {number} : {text}\n");
+            StringBuilder expected = new StringBuilder();
+            BulkLineWriter out = new BulkLineWriter(FileChannel.open(file, StandardOpenOption.WRITE), 64);
+            for (int i = 0; i < 1_000; i++) {
+                String text = "é".repeat(i % 50);
+                out.begin(line).number(i).text(text).end();
+                expected.append("ligne ").append(i).append(" : ").append(text).append('\n');
+            }
+            assertTrue(out.getBytesWritten() > 0);
+            out.close();
+            assertEquals(1_000, out.getLineCount());
+            assertEquals(expected.toString(), Files.readString(file, StandardCharsets.UTF_8));
+            assertEquals(Files.size(file), out.getBytesWritten());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testTemplateErrors() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> BulkLineWriter.template("{inconnu}"));
+        assertThrows(IllegalArgumentException.class, () -> BulkLineWriter.template("{amount"));
+        assertThrows(IllegalArgumentException.class, () -> BulkLineWriter.template("{date:}"));
+        assertEquals("{x} 1\n", write(out -> out.begin(BulkLineWriter.template("{{x} {number}\n")).number(1).end()));
+
+        BulkLineWriter.Template line = BulkLineWriter.template("{amount};{text}\n");
+        write(out -> {
+            assertThrows(IllegalStateException.class, () -> out.amount(1));
+            out.begin(line);
+            assertThrows(IllegalStateException.class, () -> out.text("x"));
+            assertThrows(IllegalStateException.class, out::end);
+            assertThrows(IllegalStateException.class, () -> out.begin(line));
+            out.amount(1).text("x").end();
+        });
+    }
+
+
+    private interface Lines {
+        void write(BulkLineWriter out) throws IOException;
+    }
+
+    private static String write(Lines lines) throws IOException {
+        Path file = Files.createTempFile("bulk", ".txt");
+        try {
+            try (BulkLineWriter out = BulkLineWriter.open(file)) {
+                lines.write(out);
+            }
+            return Files.readString(file, StandardCharsets.UTF_8);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.CharClass;
+
+import java.util.BitSet;
+import java.util.Random;
+
+
+public class CharClassTest {
+
+    @Test
+    public void testPredefinedClasses() {
+        assertTrue(CharClass.ASCII_LETTERS.matchesAll("AbcXyz"));
+        assertFalse(CharClass.ASCII_LETTERS.matchesAll("Abc1"));
+        assertFalse(CharClass.ASCII_LETTERS.matchesAll("é"));
+        assertTrue(CharClass.DIGITS.matchesAll("0123456789"));
+        assertTrue(CharClass.ASCII_ALPHANUMERIC.matchesAll("a1Z9"));
+        assertTrue(CharClass.ASCII_ALPHANUMERIC.matchesAll(""));
+        assertFalse(CharClass.ASCII_ALPHANUMERIC.matchesAll(null));
+        assertEquals(3, CharClass.DIGITS.indexOfMismatch("123-45"));
+    }
+
+    @Test
+    public void testCustomClasses() {
+        CharClass hexa = CharClass.of("0123456789abcdefABCDEF");
+        assertTrue(hexa.contains('c'));
+        assertFalse(hexa.contains('g'));
+        CharClass accented = CharClass.of("éèêàç").union(CharClass.range('a', 'z'));
+        assertTrue(accented.contains('ç'));
+        assertTrue(accented.contains('m'));
+        assertFalse(accented.contains('É'));
+        assertFalse(CharClass.of("").contains('a'));
+        assertEquals(0, CharClass.of("").indexOfMismatch(new char[40], 0, 40));
+        assertThrows(IllegalArgumentException.class, () -> CharClass.range('z', 'a'));
+    }
+
+    @Test
+    public void testLongInputsAgreeWithScalarPath() {
+        Random random = new Random(4);
+        CharClass[] classes = {CharClass.ASCII_LETTERS, CharClass.DIGITS, CharClass.ASCII_ALPHANUMERIC,
+                CharClass.of("._-@").union(CharClass.range('a', 'z')), CharClass.of("é€\uffff")};
+        String alphabet = "abcXYZ019._-@é€\uffff ";
+        for (int run = 0; run < 2_000; run++) {
+            char[] chars = new char[random.nextInt(300)];
+            CharClass charClass = classes[random.nextInt(classes.length)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+                if (random.nextInt(4) > 0) {
+                    while (!charClass.contains(chars[i])) chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+                }
+            }
+            int from = chars.length == 0 ? 0 : random.nextInt(chars.length);
+            int expected = charClass.indexOfMismatchScalar(chars, from, chars.length);
+            assertEquals(expected, charClass.indexOfMismatch(chars, from, chars.length));
+            int inString = charClass.indexOfMismatch(new String(chars, from, chars.length - from));
+            assertEquals(expected < 0 ? -1 : expected - from, inString);
+            if (CharClass.isVectorAvailable()) {
+                assertEquals(expected, charClass.indexOfMismatchVector(chars, from, chars.length));
+            }
+        }
+    }
+
+    @Test
+    public void testMatchingRows() {
+        String[] column = {"12345", "12a45", null, "", "9".repeat(5_000)};
+        BitSet expected = new BitSet();
+        expected.set(0);
+        expected.set(3);
+        expected.set(4);
+        assertEquals(expected, CharClass.DIGITS.matchingRows(column));
+        assertEquals(new BitSet(), CharClass.DIGITS.matchingRows(null));
+        assertEquals(new BitSet(), CharClass.DIGITS.matchingRows(new String[0]));
+
+        // Au-delà du seuil, la vérification parallèle donne le même résultat.
+        String[] large = new String[10_000];
+        BitSet expectedLarge = new BitSet();
+        for (int i = 0; i < large.length; i++) {
+            large[i] = i % 7 == 0 ? "x" + i : Integer.toString(i);
+            if (i % 7 != 0) expectedLarge.set(i);
+        }
+        assertEquals(expectedLarge, CharClass.DIGITS.matchingRows(large));
+    }
+}
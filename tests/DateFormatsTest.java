@@ -0,0 +1,86 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.DateFormats;
+import src.DateUtils;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Random;
+
+
+public class DateFormatsTest {
+
+    @Test
+    public void testFastPathsMatchDateTimeFormatter() {
+        String[] patterns = {DateFormats.ISO, DateFormats.FRENCH, DateFormats.COMPACT};
+        Random random = new Random(9);
+        long first = LocalDate.of(1, 1, 1).toEpochDay();
+        long last = LocalDate.of(9999, 12, 31).toEpochDay();
+        for (int i = 0; i < 20_000; i++) {
+            LocalDate date = LocalDate.ofEpochDay(first + (long) (random.nextDouble() * (last - first + 1)));
+            for (String pattern : patterns) {
+                String expected = date.format(DateTimeFormatter.ofPattern(pattern));
+                assertEquals(expected, DateFormats.format(date, pattern));
+
+                StringBuilder out = new StringBuilder("> ");
+                DateFormats.formatTo(date, pattern, out);
+                assertEquals("> " + expected, out.toString());
+
+                char[] buffer = new char[12];
+                int length = DateFormats.writeDigits(date, pattern, buffer, 1);
+                assertEquals(expected, new String(buffer, 1, length));
+            }
+        }
+    }
+
+    @Test
+    public void testOtherPatternsAndYears() {
+        LocalDate date = LocalDate.of(2024, 3, 5);
+        assertEquals("05.03.24", DateFormats.format(date, "dd.MM.yy"));
+        assertSame(DateFormats.formatter("dd.MM.yy"), DateFormats.formatter("dd.MM.yy"));
+
+        LocalDate farFuture = LocalDate.of(12345, 1, 2);
+        assertEquals(farFuture.format(DateTimeFormatter.ofPattern(DateFormats.ISO)),
+                DateFormats.format(farFuture, DateFormats.ISO));
+        assertEquals(-1, DateFormats.writeDigits(farFuture, DateFormats.ISO, new char[16], 0));
+        assertEquals(-1, DateFormats.writeDigits(date, "dd.MM.yy", new char[16], 0));
+    }
+
+    @Test
+    public void testFormatterCacheEvictsLeastRecentlyUsed() {
+        DateTimeFormatter kept = DateFormats.formatter("yyyy/dd/MM");
+        DateTimeFormatter forgotten = DateFormats.formatter("MM/yyyy/dd");
+        // Plus de patterns que le cache n'en garde : seul le pattern relu à chaque tour survit.
+        for (int i = 0; i < 2 * 256; i++) {
+            assertSame(kept, DateFormats.formatter("yyyy/dd/MM"));
+            assertEquals("2024" + i + "05", DateFormats.format(LocalDate.of(2024, 3, 5), "yyyy'" + i + "'dd"));
+        }
+        assertSame(kept, DateFormats.formatter("yyyy/dd/MM"));
+        assertNotSame(forgotten, DateFormats.formatter("MM/yyyy/dd"));
+    }
+
+    @Test
+    public void testFormatterFollowsDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            LocalDate date = LocalDate.of(2024, 3, 5);
+            Locale.setDefault(Locale.ENGLISH);
+            assertEquals("5 March 2024", DateUtils.formatDate(date, "d MMMM yyyy"));
+            Locale.setDefault(Locale.FRENCH);
+            assertEquals("5 mars 2024", DateUtils.formatDate(date, "d MMMM yyyy"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void testNullInputs() {
+        assertEquals("", DateFormats.format(null, DateFormats.ISO));
+        assertEquals("", DateUtils.formatDate(LocalDate.of(2024, 1, 1), null));
+        assertEquals(-1, DateFormats.writeDigits(null, DateFormats.ISO, new char[10], 0));
+    }
+
+}
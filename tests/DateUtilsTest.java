@@ -4,22 +4,34 @@ package tests;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import src.DateUtils;
+import src.HolidayCalendar;
 
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneId;
 import java.util.Date;
 import java.util.List;
 
 
 public class DateUtilsTest {
 
+    private static final Clock FIXED_CLOCK =
+            Clock.fixed(Instant.parse("2024-12-15T10:00:00Z"), ZoneId.of("Europe/Paris"));
+
     @Test
     public void testIsFutureDate() {
         LocalDate futureDate = LocalDate.of(2025, 12, 31);
         LocalDate pastDate = LocalDate.of(2020, 1, 1);
-        LocalDate today = LocalDate.now();
-        assertTrue(DateUtils.isFutureDate(futureDate));
-        assertFalse(DateUtils.isFutureDate(pastDate));
-        assertFalse(DateUtils.isFutureDate(today));
+        LocalDate today = LocalDate.now(FIXED_CLOCK);
+        assertTrue(DateUtils.isFutureDate(futureDate, FIXED_CLOCK));
+        assertFalse(DateUtils.isFutureDate(pastDate, FIXED_CLOCK));
+        assertFalse(DateUtils.isFutureDate(today, FIXED_CLOCK));
+        assertTrue(DateUtils.isFutureDate(futureDate, today));
+        assertFalse(DateUtils.isFutureDate(LocalDate.now()));
+        assertTrue(DateUtils.isFutureDate(LocalDate.now().plusDays(1)));
 
     }
 
@@ -27,16 +39,32 @@ public class DateUtilsTest {
     public void testIsPastDate() {
         LocalDate futureDate = LocalDate.of(2025, 12, 31);
         LocalDate pastDate = LocalDate.of(2020, 1, 1);
-        LocalDate today = LocalDate.now();
-        assertTrue(DateUtils.isPastDate(pastDate));
-        assertFalse(DateUtils.isPastDate(futureDate));
-        assertFalse(DateUtils.isPastDate(today));
+        LocalDate today = LocalDate.now(FIXED_CLOCK);
+        assertTrue(DateUtils.isPastDate(pastDate, FIXED_CLOCK));
+        assertFalse(DateUtils.isPastDate(futureDate, FIXED_CLOCK));
+        assertFalse(DateUtils.isPastDate(today, FIXED_CLOCK));
+        assertTrue(DateUtils.isPastDate(pastDate, today));
+        assertFalse(DateUtils.isPastDate(LocalDate.now()));
+        assertTrue(DateUtils.isPastDate(LocalDate.now().minusDays(1)));
     }
 
     @Test
     public void testCalculateAge() {
         LocalDate birthDate = LocalDate.of(2002, 6, 5);
-        assertEquals(22, DateUtils.calculateAge(birthDate));
+        assertEquals(22, DateUtils.calculateAge(birthDate, FIXED_CLOCK));
+        assertEquals(21, DateUtils.calculateAge(birthDate, LocalDate.of(2024, 6, 4)));
+        assertEquals(22, DateUtils.calculateAge(birthDate, LocalDate.of(2024, 6, 5)));
+        assertEquals(3, DateUtils.calculateAge(LocalDate.of(2020, 2, 29), LocalDate.of(2024, 2, 28)));
+        assertEquals(4, DateUtils.calculateAge(LocalDate.of(2020, 2, 29), LocalDate.of(2024, 2, 29)));
+        assertEquals(0, DateUtils.calculateAge(null, FIXED_CLOCK));
+        assertEquals(Period.between(birthDate, LocalDate.now()).getYears(), DateUtils.calculateAge(birthDate));
+    }
+
+    @Test
+    public void testGetNextDayOfWeek() {
+        assertEquals(LocalDate.of(2024, 12, 16), DateUtils.getNextDayOfWeek(DayOfWeek.MONDAY, FIXED_CLOCK));
+        assertEquals(LocalDate.of(2024, 12, 22), DateUtils.getNextDayOfWeek(DayOfWeek.SUNDAY, FIXED_CLOCK));
+        assertNull(DateUtils.getNextDayOfWeek(null, FIXED_CLOCK));
     }
 
     @Test
@@ -45,6 +73,8 @@ public class DateUtilsTest {
         LocalDate notHoliday = LocalDate.of(2024, 12, 26);
         assertTrue(DateUtils.isHoliday(holiday));
         assertFalse(DateUtils.isHoliday(notHoliday));
+        assertTrue(DateUtils.isHoliday(LocalDate.of(2024, 4, 1)));  // Lundi de Pâques
+        assertTrue(DateUtils.isHoliday(LocalDate.of(2024, 5, 9), HolidayCalendar.FRANCE)); // Ascension
     }
 
     @Test
@@ -76,6 +106,17 @@ public class DateUtilsTest {
 
     }
 
+    @Test
+    public void testWorkingDayArithmetic() {
+        assertEquals(LocalDate.of(2024, 12, 30), DateUtils.nextWorkingDay(LocalDate.of(2024, 12, 27)));
+        assertEquals(LocalDate.of(2024, 12, 26), DateUtils.nextWorkingDay(LocalDate.of(2024, 12, 24)));
+        assertEquals(LocalDate.of(2024, 12, 31), DateUtils.previousWorkingDay(LocalDate.of(2025, 1, 2)));
+        assertEquals(LocalDate.of(2025, 1, 6), DateUtils.addWorkingDays(LocalDate.of(2024, 12, 27), 5));
+        assertEquals(LocalDate.of(2024, 12, 27), DateUtils.addWorkingDays(LocalDate.of(2025, 1, 6), -5));
+        assertEquals(LocalDate.of(2024, 12, 28), DateUtils.addWorkingDays(LocalDate.of(2024, 12, 28), 0));
+        assertNull(DateUtils.nextWorkingDay(null));
+    }
+
     @Test
     public void testPeriodOverLap() {
         LocalDate startDate1 = LocalDate.of(2024, 12, 27);
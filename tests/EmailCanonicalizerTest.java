@@ -0,0 +1,72 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.EmailCanonicalizer;
+import src.LongHashSet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+public class EmailCanonicalizerTest {
+
+    private final EmailCanonicalizer common = EmailCanonicalizer.withCommonProviders();
+
+    @Test
+    public void testProviderRules() {
+        assertEquals("jeanmartin@gmail.com", common.canonicalize("  Jean.Martin+promo@GoogleMail.com "));
+        assertEquals("jean.martin@outlook.com", common.canonicalize("Jean.Martin+news@outlook.com"));
+        assertEquals("jean.martin+news@exemple.fr", common.canonicalize("Jean.Martin+news@Exemple.FR"));
+        assertEquals("a.b@proton.me", common.canonicalize("a.b+x@protonmail.com"));
+
+        EmailCanonicalizer plain = new EmailCanonicalizer();
+        assertEquals("jean.martin+promo@gmail.com", plain.canonicalize("Jean.Martin+promo@gmail.com"));
+
+        EmailCanonicalizer custom = plain.withProvider("exemple.fr", true, false);
+        assertEquals("jeanmartin+news@exemple.fr", custom.canonicalize("jean.martin+news@exemple.fr"));
+        assertEquals("jean.martin+news@exemple.fr",
+                custom.withProvider("exemple.fr", false, false).canonicalize("jean.martin+news@exemple.fr"));
+    }
+
+    @Test
+    public void testFingerprintMatchesCanonicalForm() {
+        String[] emails = {"Jean.Martin+promo@googlemail.com", "jeanmartin@gmail.com", "j.martin@exemple.fr",
+                "  J.Martin@Exemple.fr", "élodie@exemple.fr", "x+y@icloud.com"};
+        for (String email : emails) {
+            assertEquals(common.fingerprint(common.canonicalize(email)), common.fingerprint(email), email);
+        }
+        assertEquals(common.fingerprint(emails[0]), common.fingerprint(emails[1]));
+        assertEquals(common.fingerprint(emails[2]), common.fingerprint(emails[3]));
+        assertNotEquals(common.fingerprint(emails[1]), common.fingerprint(emails[2]));
+        assertNotEquals(new EmailCanonicalizer().fingerprint(emails[0]), new EmailCanonicalizer().fingerprint(emails[1]));
+    }
+
+    @Test
+    public void testInvalidAddresses() {
+        for (String email : new String[]{null, "", "   ", "sans-arobase", "@exemple.fr", "jean@", "+tag@gmail.com"}) {
+            assertEquals(EmailCanonicalizer.INVALID, common.fingerprint(email));
+            assertNull(common.canonicalize(email));
+        }
+    }
+
+    @Test
+    public void testDeduplicationAndCollisions() {
+        List<String> emails = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            emails.add("client." + i + "@exemple.fr");
+            emails.add("Client." + i + "@EXEMPLE.fr");
+        }
+        LongHashSet seen = new LongHashSet(emails.size());
+        int distinct = 0;
+        for (String email : emails) {
+            if (seen.add(common.fingerprint(email))) distinct++;
+        }
+        assertEquals(50_000, distinct);
+        assertTrue(common.findCollisions(emails).isEmpty());
+        assertTrue(common.findCollisions(null).isEmpty());
+
+        assertEquals(0.0, EmailCanonicalizer.expectedCollisions(1));
+        assertEquals(2.7e-4, EmailCanonicalizer.expectedCollisions(100_000_000L), 1e-5);
+    }
+}
@@ -0,0 +1,98 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.DateUtils;
+import src.EpochDayColumns;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+
+public class EpochDayColumnsTest {
+
+    private static int[] randomDays(int n, long seed) {
+        Random random = new Random(seed);
+        int[] days = new int[n];
+        int origin = (int) LocalDate.of(1920, 1, 1).toEpochDay();
+        for (int i = 0; i < n; i++) {
+            days[i] = i % 97 == 0 ? EpochDayColumns.MISSING : origin + random.nextInt(40_000);
+        }
+        return days;
+    }
+
+    @Test
+    public void testConversions() {
+        List<LocalDate> dates = Arrays.asList(LocalDate.of(2024, 1, 1), null, LocalDate.of(1950, 6, 15));
+        int[] days = EpochDayColumns.fromDates(dates);
+        assertEquals(EpochDayColumns.MISSING, days[1]);
+        assertEquals(dates, EpochDayColumns.toDates(days));
+    }
+
+    @Test
+    public void testMinAndMaxMatchDateUtils() {
+        int[] days = randomDays(100_000, 1);
+        List<LocalDate> dates = EpochDayColumns.toDates(days);
+        assertEquals(DateUtils.getMostRecentDate(dates).toEpochDay(), EpochDayColumns.max(days));
+        assertEquals(DateUtils.getOldestDate(dates).toEpochDay(), EpochDayColumns.min(days));
+        assertEquals(EpochDayColumns.MISSING, EpochDayColumns.min(new int[]{EpochDayColumns.MISSING}));
+        assertEquals(EpochDayColumns.MISSING, EpochDayColumns.max(new int[0]));
+    }
+
+    @Test
+    public void testFilterInRange() {
+        int[] days = randomDays(70_000, 2);
+        LocalDate start = LocalDate.of(1980, 1, 1);
+        LocalDate end = LocalDate.of(1990, 12, 31);
+        BitSet selected = EpochDayColumns.filterInRange(days, (int) start.toEpochDay(), (int) end.toEpochDay());
+        for (int i = 0; i < days.length; i++) {
+            LocalDate date = days[i] == EpochDayColumns.MISSING ? null : LocalDate.ofEpochDay(days[i]);
+            assertEquals(DateUtils.isDateInRange(date, start, end), selected.get(i));
+        }
+    }
+
+    @Test
+    public void testAgesMatchCalculateAge() {
+        int[] days = randomDays(50_000, 3);
+        LocalDate today = LocalDate.of(2024, 2, 29);
+        int[] ages = EpochDayColumns.ages(days, today);
+        for (int i = 0; i < days.length; i++) {
+            LocalDate birth = days[i] == EpochDayColumns.MISSING ? null : LocalDate.ofEpochDay(days[i]);
+            assertEquals(DateUtils.calculateAge(birth, today), ages[i]);
+        }
+    }
+
+    @Test
+    public void testAgeHistogram() {
+        LocalDate today = LocalDate.of(2024, 6, 1);
+        int[] days = EpochDayColumns.fromDates(Arrays.asList(
+                LocalDate.of(2020, 1, 1),   // 4 ans
+                LocalDate.of(2010, 6, 2),   // 13 ans
+                LocalDate.of(1900, 1, 1),   // 124 ans
+                LocalDate.of(2030, 1, 1),   // futur, ignoré
+                null));
+        assertArrayEquals(new long[]{1, 1, 0, 1}, EpochDayColumns.ageHistogram(days, today, 10, 4));
+
+        int[] many = randomDays(100_000, 4);
+        long total = Arrays.stream(EpochDayColumns.ageHistogram(many, today, 5, 30)).sum();
+        long expected = Arrays.stream(many)
+                .filter(day -> day != EpochDayColumns.MISSING && day <= today.toEpochDay())
+                .count();
+        assertEquals(expected, total);
+        assertThrows(IllegalArgumentException.class, () -> EpochDayColumns.ageHistogram(days, today, 0, 4));
+    }
+
+    @Test
+    public void testDaysOfWeek() {
+        int[] days = randomDays(1_000, 5);
+        byte[] daysOfWeek = EpochDayColumns.daysOfWeek(days);
+        for (int i = 0; i < days.length; i++) {
+            int expected = days[i] == EpochDayColumns.MISSING ? 0 : LocalDate.ofEpochDay(days[i]).getDayOfWeek().getValue();
+            assertEquals(expected, daysOfWeek[i]);
+        }
+    }
+
+}
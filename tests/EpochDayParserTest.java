@@ -0,0 +1,104 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.EpochDayParser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+
+public class EpochDayParserTest {
+
+    @Test
+    public void testMatchesLocalDate() {
+        EpochDayParser iso = EpochDayParser.forPattern("yyyy-MM-dd");
+        EpochDayParser french = EpochDayParser.forPattern("dd/MM/yyyy");
+        DateTimeFormatter frenchFormatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        Random random = new Random(5);
+        for (int i = 0; i < 10_000; i++) {
+            LocalDate date = LocalDate.of(1, 1, 1).plusDays(random.nextInt(3_652_000));
+            assertEquals(date.toEpochDay(), iso.parse(date.toString()));
+            assertEquals(date.toEpochDay(), french.parse(date.format(frenchFormatter)));
+        }
+    }
+
+    @Test
+    public void testStrictValidation() {
+        EpochDayParser parser = EpochDayParser.forPattern("dd/MM/yyyy");
+        assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), parser.parse("29/02/2024"));
+        assertEquals(EpochDayParser.INVALID, parser.parse("29/02/2023"));
+        assertEquals(EpochDayParser.INVALID, parser.parse("31/04/2024"));
+        assertEquals(EpochDayParser.INVALID, parser.parse("00/01/2024"));
+        assertEquals(EpochDayParser.INVALID, parser.parse("01/13/2024"));
+        assertEquals(EpochDayParser.INVALID, parser.parse("1/1/2024"));
+        assertEquals(EpochDayParser.INVALID, parser.parse("01-01-2024"));
+        assertEquals(EpochDayParser.INVALID, parser.parse("01/01/2O24"));
+        assertEquals(EpochDayParser.INVALID, parser.parse("01/01/20245"));
+        assertEquals(EpochDayParser.INVALID, parser.parse(null));
+    }
+
+    @Test
+    public void testYearZeroAndProlepticGregorian() {
+        EpochDayParser parser = EpochDayParser.forPattern("dd/MM/yyyy");
+        // L'année 0 n'existe pas, dans aucun des deux chemins d'analyse.
+        assertEquals(EpochDayParser.INVALID, parser.parse("01/01/0000"));
+        assertEquals(EpochDayParser.INVALID,
+                parser.parse(ByteBuffer.wrap("01/01/0000".getBytes(StandardCharsets.US_ASCII)), 0, 10));
+        assertEquals(LocalDate.of(1, 1, 1).toEpochDay(), parser.parse("01/01/0001"));
+        // Grégorien proleptique : pas de trou d'octobre 1582, pas de 29 février julien en 1500.
+        assertEquals(LocalDate.of(1582, 10, 10).toEpochDay(), parser.parse("10/10/1582"));
+        assertEquals(EpochDayParser.INVALID, parser.parse("29/02/1500"));
+    }
+
+    @Test
+    public void testSlicesAndByteBuffers() {
+        EpochDayParser parser = EpochDayParser.forPattern("yyyyMMdd");
+        long expected = LocalDate.of(2024, 12, 31).toEpochDay();
+        assertEquals(expected, parser.parse("id;20241231;x", 3, 11));
+
+        ByteBuffer buffer = ByteBuffer.wrap("id;20241231;x".getBytes(StandardCharsets.US_ASCII));
+        buffer.position(5);
+        assertEquals(expected, parser.parse(buffer, 3, 8));
+        assertEquals(5, buffer.position());
+        assertEquals(EpochDayParser.INVALID, parser.parse(buffer, 8, 8));
+    }
+
+    @Test
+    public void testSupportedPatterns() {
+        assertNotNull(EpochDayParser.forPattern("MM-dd-yyyy"));
+        assertSame(EpochDayParser.forPattern("yyyy.MM.dd"), EpochDayParser.forPattern("yyyy.MM.dd"));
+        assertEquals(10, EpochDayParser.forPattern("yyyy.MM.dd").length());
+        assertNull(EpochDayParser.forPattern("dd/MM/yy"));
+        assertNull(EpochDayParser.forPattern("d/M/yyyy"));
+        assertNull(EpochDayParser.forPattern("dd MMM yyyy"));
+        assertNull(EpochDayParser.forPattern("yyyy-MM-dd HH:mm"));
+        assertNull(EpochDayParser.forPattern(null));
+    }
+
+    @Test
+    public void testParserCacheEvictsLeastRecentlyUsed() {
+        EpochDayParser kept = EpochDayParser.forPattern("yyyy_MM_dd");
+        EpochDayParser forgotten = EpochDayParser.forPattern("dd_MM_yyyy");
+        // Plus de patterns que le cache n'en garde : seul le pattern relu à chaque tour survit.
+        for (int i = 1; i <= 2 * 64; i++) {
+            assertSame(kept, EpochDayParser.forPattern("yyyy_MM_dd"));
+            EpochDayParser parser = EpochDayParser.forPattern("yyyy" + "-".repeat(i) + "MMdd");
+            assertEquals(19838, parser.parse("2024" + "-".repeat(i) + "0425"));
+        }
+        assertSame(kept, EpochDayParser.forPattern("yyyy_MM_dd"));
+        assertNotSame(forgotten, EpochDayParser.forPattern("dd_MM_yyyy"));
+    }
+
+    @Test
+    public void testToEpochDay() {
+        assertEquals(LocalDate.of(-44, 3, 15).toEpochDay(), EpochDayParser.toEpochDay(-44, 3, 15));
+        assertEquals(0, EpochDayParser.toEpochDay(1970, 1, 1));
+        assertEquals(EpochDayParser.INVALID, EpochDayParser.toEpochDay(1900, 2, 29));
+        assertEquals(LocalDate.of(2000, 2, 29).toEpochDay(), EpochDayParser.toEpochDay(2000, 2, 29));
+    }
+
+}
@@ -0,0 +1,256 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.FlowStage;
+import src.UserInputFormatter;
+import src.UserInputValidator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+
+public class FlowStageTest {
+
+    private static final Executor SAME_THREAD = Runnable::run;
+
+    @Test
+    public void testValidatesAndNormalizesInOrder() throws InterruptedException {
+        FlowStage<String, String> validation = FlowStage.filter(UserInputValidator::isValidEmail, ForkJoinPool.commonPool(), 2, 8);
+        FlowStage<String, String> normalization = FlowStage.map(UserInputFormatter::formatEmail, ForkJoinPool.commonPool(), 2, 8);
+        RangePublisher<String> source = new RangePublisher<>(100, i -> i % 3 == 0 ? "pas-un-email-" + i : "User" + i + "@Exemple.FR");
+        Collector<String> sink = new Collector<>(Long.MAX_VALUE);
+
+        source.subscribe(validation);
+        validation.subscribe(normalization);
+        normalization.subscribe(sink);
+        sink.await();
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            if (i % 3 != 0) expected.add("user" + i + "@exemple.fr");
+        }
+        assertEquals(expected, sink.items);
+        assertTrue(sink.completed.get());
+        assertEquals(expected.size(), normalization.getEmittedCount());
+        assertTrue(validation.getBatchCount() >= 100 / 8);
+    }
+
+    @Test
+    public void testSlowSubscriberBoundsBufferedItems() throws InterruptedException {
+        FlowStage<Integer, Integer> stage = FlowStage.map(i -> i * 2, ForkJoinPool.commonPool(), 1, 16);
+        RangePublisher<Integer> source = new RangePublisher<>(2_000, i -> i);
+        Collector<Integer> sink = new Collector<>(1);
+
+        source.subscribe(stage);
+        stage.subscribe(sink);
+        sink.await();
+
+        assertEquals(2_000, sink.items.size());
+        assertEquals(Integer.valueOf(3_998), sink.items.get(1_999));
+        assertTrue(stage.getHighWaterMark() <= 32, "retenus : " + stage.getHighWaterMark());
+        assertTrue(source.maxOutstanding.get() <= 32, "demandés : " + source.maxOutstanding.get());
+    }
+
+    @Test
+    public void testParallelBatchesKeepOrder() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            FlowStage<Integer, String> stage = FlowStage.map(i -> "#" + i, executor, 4, 64);
+            RangePublisher<Integer> source = new RangePublisher<>(5_000, i -> i);
+            Collector<String> sink = new Collector<>(100);
+            source.subscribe(stage);
+            stage.subscribe(sink);
+            sink.await();
+
+            assertEquals(5_000, sink.items.size());
+            for (int i = 0; i < 5_000; i++) {
+                assertEquals("#" + i, sink.items.get(i));
+            }
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testFusedStagesRunOnOneThread() throws InterruptedException {
+        FlowStage<String, String> trim = FlowStage.map(String::trim, SAME_THREAD, 1, 4);
+        FlowStage<String, String> upper = FlowStage.map(UserInputFormatter::toUpperCase, SAME_THREAD, 1, 4);
+        FlowStage<String, String> other = FlowStage.map(String::trim, ForkJoinPool.commonPool(), 1, 4);
+        assertTrue(trim.canFuse(upper));
+        assertFalse(trim.canFuse(other));
+        assertThrows(IllegalArgumentException.class, () -> trim.fuse(other));
+
+        FlowStage<String, String> fused = trim.fuse(upper);
+        Thread caller = Thread.currentThread();
+        AtomicBoolean sameThread = new AtomicBoolean(true);
+        FlowStage<String, Integer> length = FlowStage.map(s -> {
+            if (Thread.currentThread() != caller) sameThread.set(false);
+            return s.length();
+        }, SAME_THREAD, 1, 4);
+        FlowStage<String, Integer> all = fused.fuse(length);
+
+        Collector<Integer> sink = new Collector<>(Long.MAX_VALUE);
+        new RangePublisher<>(10, i -> " ab" + i + " ").subscribe(all);
+        all.subscribe(sink);
+        sink.await();
+
+        assertEquals(List.of(3, 3, 3, 3, 3, 3, 3, 3, 3, 3), sink.items);
+        assertTrue(sameThread.get());
+        assertFalse(all.canFuse(FlowStage.map(String::valueOf, SAME_THREAD, 1, 4)));
+    }
+
+    @Test
+    public void testOperationFailureCancelsUpstream() throws InterruptedException {
+        FlowStage<Integer, Integer> stage = FlowStage.map(i -> 10 / (i - 5), SAME_THREAD, 1, 2);
+        RangePublisher<Integer> source = new RangePublisher<>(100, i -> i);
+        Collector<Integer> sink = new Collector<>(Long.MAX_VALUE);
+        source.subscribe(stage);
+        stage.subscribe(sink);
+        sink.await();
+
+        assertTrue(sink.error instanceof ArithmeticException);
+        assertFalse(sink.completed.get());
+        assertTrue(source.cancelled.get());
+        assertTrue(source.next.get() < 100);
+    }
+
+    @Test
+    public void testUpstreamErrorIsForwarded() throws InterruptedException {
+        FlowStage<Integer, Integer> stage = FlowStage.map(i -> i, SAME_THREAD, 1, 4);
+        Collector<Integer> sink = new Collector<>(Long.MAX_VALUE);
+        stage.subscribe(sink);
+        stage.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        stage.onNext(1);
+        stage.onError(new IllegalStateException("source"));
+        sink.await();
+
+        assertEquals(List.of(1), sink.items);
+        assertEquals("source", sink.error.getMessage());
+    }
+
+    @Test
+    public void testSecondSubscriberAndInvalidArguments() throws InterruptedException {
+        FlowStage<Integer, Integer> stage = FlowStage.map(i -> i, SAME_THREAD, 1, 4);
+        stage.subscribe(new Collector<>(1));
+        Collector<Integer> second = new Collector<>(1);
+        stage.subscribe(second);
+        second.await();
+        assertTrue(second.error instanceof IllegalStateException);
+
+        assertThrows(IllegalArgumentException.class, () -> FlowStage.map(i -> i, SAME_THREAD, 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> FlowStage.map(i -> i, SAME_THREAD, 1, 0));
+        assertThrows(NullPointerException.class, () -> FlowStage.map(null, SAME_THREAD, 1, 4));
+    }
+
+
+    /** Éditeur synchrone des éléments 0..count-1, qui mesure la demande en attente. */
+    private static final class RangePublisher<E> implements Flow.Publisher<E> {
+        final int count;
+        final IntFunction<E> element;
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicLong requested = new AtomicLong();
+        final AtomicLong maxOutstanding = new AtomicLong();
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final AtomicBoolean completed = new AtomicBoolean();
+        final AtomicInteger wip = new AtomicInteger();
+
+        RangePublisher(int count, IntFunction<E> element) {
+            this.count = count;
+            this.element = element;
+        }
+
+        @Override
+        public void subscribe(Flow.Subscriber<? super E> subscriber) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    long outstanding = requested.addAndGet(n);
+                    maxOutstanding.accumulateAndGet(outstanding, Math::max);
+                    if (wip.getAndIncrement() != 0) return;
+                    do {
+                        while (requested.get() > 0 && next.get() < count && !cancelled.get()) {
+                            requested.decrementAndGet();
+                            subscriber.onNext(element.apply(next.getAndIncrement()));
+                        }
+                        if (next.get() == count && !cancelled.get() && !completed.getAndSet(true)) subscriber.onComplete();
+                    } while (wip.decrementAndGet() != 0);
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled.set(true);
+                }
+            });
+        }
+    }
+
+    /** Abonné qui demande {@code step} éléments à la fois et les conserve. */
+    private static final class Collector<E> implements Flow.Subscriber<E> {
+        final long step;
+        final List<E> items = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicBoolean completed = new AtomicBoolean();
+        volatile Throwable error;
+        Flow.Subscription subscription;
+        long remaining;
+
+        Collector(long step) {
+            this.step = step;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            remaining = step;
+            subscription.request(step);
+        }
+
+        @Override
+        public void onNext(E item) {
+            items.add(item);
+            if (step != Long.MAX_VALUE && --remaining == 0) {
+                remaining = step;
+                subscription.request(step);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.set(true);
+            done.countDown();
+        }
+
+        void await() throws InterruptedException {
+            assertTrue(done.await(10, TimeUnit.SECONDS), "Le flux ne s'est pas terminé.");
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.DateUtils;
+import src.HolidayCalendar;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.List;
+
+
+public class HolidayCalendarTest {
+
+    @Test
+    public void testEasterSunday() {
+        assertEquals(LocalDate.of(2000, 4, 23), HolidayCalendar.easterSunday(2000));
+        assertEquals(LocalDate.of(2024, 3, 31), HolidayCalendar.easterSunday(2024));
+        assertEquals(LocalDate.of(2025, 4, 20), HolidayCalendar.easterSunday(2025));
+        assertEquals(LocalDate.of(2038, 4, 25), HolidayCalendar.easterSunday(2038));
+    }
+
+    @Test
+    public void testEasterSundayForYearZeroAndNegativeYears() {
+        // Le calendrier de Pâques se répète tous les 5 700 000 ans.
+        for (int year = -10_000; year <= 0; year++) {
+            LocalDate easter = HolidayCalendar.easterSunday(year);
+            LocalDate shifted = HolidayCalendar.easterSunday(year + 5_700_000);
+            assertEquals(year, easter.getYear());
+            assertEquals(shifted.getMonth(), easter.getMonth(), Integer.toString(year));
+            assertEquals(shifted.getDayOfMonth(), easter.getDayOfMonth(), Integer.toString(year));
+        }
+        assertEquals(LocalDate.of(0, 4, 9), HolidayCalendar.easterSunday(0));
+
+        LocalDate day = LocalDate.of(-9989, 3, 1);
+        assertFalse(DateUtils.isHoliday(day));
+        assertTrue(DateUtils.isHoliday(LocalDate.of(0, 1, 1)));
+        assertTrue(DateUtils.isHoliday(HolidayCalendar.easterSunday(-1).plusDays(1)));
+        assertTrue(DateUtils.isWorkingDay(LocalDate.of(0, 1, 3)));  // lundi
+        assertTrue(DateUtils.countWorkingDays(LocalDate.of(-1, 12, 1), LocalDate.of(0, 12, 31)) > 0);
+    }
+
+    @Test
+    public void testFrenchMovableHolidays() {
+        HolidayCalendar france = HolidayCalendar.FRANCE;
+        assertTrue(france.isHoliday(LocalDate.of(2025, 4, 21)));  // Lundi de Pâques
+        assertTrue(france.isHoliday(LocalDate.of(2025, 5, 29)));  // Ascension
+        assertTrue(france.isHoliday(LocalDate.of(2025, 6, 9)));   // Lundi de Pentecôte
+        assertFalse(france.isHoliday(LocalDate.of(2025, 4, 22)));
+        assertFalse(france.isWorkingDay(LocalDate.of(2025, 4, 21)));
+        assertTrue(france.isWorkingDay(LocalDate.of(2025, 4, 22)));
+    }
+
+    @Test
+    public void testGetHolidays() {
+        List<LocalDate> holidays = HolidayCalendar.FRANCE.getHolidays(2024);
+        assertEquals(11, holidays.size());
+        assertEquals(LocalDate.of(2024, 1, 1), holidays.get(0));
+        assertEquals(LocalDate.of(2024, 4, 1), holidays.get(1));
+        assertEquals(LocalDate.of(2024, 12, 25), holidays.get(10));
+    }
+
+    @Test
+    public void testCustomCalendarAndRegistry() {
+        HolidayCalendar custom = HolidayCalendar.of(List.of(MonthDay.of(2, 29), MonthDay.of(12, 31)), -2);
+        assertTrue(custom.isHoliday(LocalDate.of(2024, 2, 29)));
+        assertTrue(custom.isHoliday(LocalDate.of(2024, 12, 31))); // jour 366
+        assertTrue(custom.isHoliday(LocalDate.of(2025, 4, 18)));  // Vendredi saint
+        assertEquals(2, custom.getHolidays(2025).size());
+
+        HolidayCalendar.register("TEST", custom);
+        assertSame(custom, HolidayCalendar.forId("TEST"));
+        assertSame(HolidayCalendar.FRANCE, HolidayCalendar.forId("FR"));
+        assertNull(HolidayCalendar.forId("XX"));
+    }
+
+    @Test
+    public void testComputedOncePerYear() {
+        int[] calls = {0};
+        HolidayCalendar counting = new HolidayCalendar() {
+            @Override
+            protected List<LocalDate> computeHolidays(int year) {
+                calls[0]++;
+                return List.of(LocalDate.of(year, 3, 1));
+            }
+        };
+        for (int day = 1; day <= 31; day++) {
+            counting.isHoliday(LocalDate.of(2030, 3, day));
+        }
+        assertTrue(counting.isHoliday(LocalDate.of(2030, 3, 1)));
+        assertEquals(1, calls[0]);
+        assertFalse(counting.isHoliday(null));
+    }
+
+}
@@ -0,0 +1,119 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.IncrementalValidator;
+import src.IncrementalValidator.Status;
+import src.UserInputValidator;
+
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+
+public class IncrementalValidatorTest {
+
+    @Test
+    public void testEmailKeystrokes() {
+        IncrementalValidator validator = IncrementalValidator.email();
+        assertEquals(Status.PREFIX, validator.status());
+        assertEquals(Status.PREFIX, validator.append("jean.martin@exemple"));
+        assertEquals(Status.PREFIX, validator.append('.'));
+        assertEquals(Status.PREFIX, validator.append('f'));
+        assertEquals(Status.VALID, validator.append('r'));
+        assertEquals(Status.DEAD, validator.append('@'));
+        assertEquals(Status.VALID, validator.deleteLast());
+        assertEquals(Status.PREFIX, validator.deleteLast());
+        assertEquals(19 + 2, validator.length());
+
+        validator.reset();
+        assertEquals(0, validator.length());
+        assertEquals(Status.DEAD, validator.append('@'));
+    }
+
+    @Test
+    public void testCardRunningLuhn() {
+        IncrementalValidator validator = IncrementalValidator.creditCardNumber();
+        assertEquals(Status.PREFIX, validator.append("4539 1488 0343 646"));
+        assertEquals(Status.VALID, validator.append('7'));
+        assertEquals(Status.PREFIX, validator.append('1'));
+        assertEquals(Status.DEAD, validator.append('x'));
+        assertEquals(Status.PREFIX, validator.deleteLast());
+    }
+
+    @Test
+    public void testPhoneAndDate() {
+        IncrementalValidator phone = IncrementalValidator.phoneNumber();
+        assertEquals(Status.PREFIX, phone.append(" +33 6"));
+        assertEquals(Status.VALID, phone.append(" 12 34"));
+        assertEquals(Status.VALID, phone.append("  "));
+        assertEquals(Status.DEAD, phone.append("56 78 90 12"));
+        assertEquals(Status.DEAD, IncrementalValidator.phoneNumber().append("06+"));
+
+        IncrementalValidator date = IncrementalValidator.date("dd/MM/yyyy");
+        assertEquals(Status.PREFIX, date.append("29/02/20"));
+        assertEquals(Status.PREFIX, date.append('2'));
+        assertEquals(Status.VALID, date.append('4'));
+        assertEquals(Status.PREFIX, date.deleteLast());
+        assertEquals(Status.DEAD, date.append('3'));
+        assertEquals(Status.DEAD, IncrementalValidator.date("dd/MM/yyyy").append("31/04"));
+        assertEquals(Status.DEAD, IncrementalValidator.date("dd/MM/yyyy").append("4"));
+        assertEquals(Status.DEAD, IncrementalValidator.date("yyyy-MM-dd").append("2024-13"));
+        assertEquals(Status.DEAD, IncrementalValidator.date("yyyy-MM-dd").append("2024-02-3"));
+        assertEquals(Status.DEAD, IncrementalValidator.date("dd/MM/yyyy").append("01/01/0000"));
+        assertEquals(Status.VALID, IncrementalValidator.date("dd/MM/yyyy").append("01/01/0001"));
+        assertNull(IncrementalValidator.date("dd MMMM yyyy"));
+    }
+
+    @Test
+    public void testUrlAndPostalCode() {
+        IncrementalValidator url = IncrementalValidator.url();
+        assertEquals(Status.PREFIX, url.append("  https://exemple"));
+        assertEquals(Status.PREFIX, url.append('.'));
+        assertEquals(Status.VALID, url.append("fr/page?id=1"));
+        assertEquals(Status.VALID, url.append(' '));
+        assertEquals(Status.DEAD, url.append('x'));
+        assertEquals(Status.DEAD, IncrementalValidator.url().append("htp"));
+
+        IncrementalValidator postalCode = IncrementalValidator.postalCode();
+        assertEquals(Status.PREFIX, postalCode.append(" 7500"));
+        assertEquals(Status.VALID, postalCode.append('8'));
+        assertEquals(Status.DEAD, postalCode.append(" 1"));
+        assertEquals(Status.DEAD, IncrementalValidator.postalCode().append("12345678901"));
+    }
+
+    @Test
+    public void testMatchesWholeValueValidators() {
+        Random random = new Random(8);
+        check(random, IncrementalValidator::email, UserInputValidator::isValidEmail, "ab.Z9_-%+@ x");
+        check(random, IncrementalValidator::phoneNumber, UserInputValidator::isValidPhoneNumber, "0123456789 .()-+\tx");
+        check(random, IncrementalValidator::creditCardNumber, UserInputValidator::isValidCreditCardNumber, "0123456789 -\tx");
+        check(random, IncrementalValidator::url, UserInputValidator::isValidUrl, "htps:/f.w-9#?&= \tx");
+        check(random, IncrementalValidator::postalCode, UserInputValidator::isValidPostalCode, "0123456789 \tx");
+        check(random, () -> IncrementalValidator.date("dd/MM/yyyy"), s -> UserInputValidator.isValidDate(s, "dd/MM/yyyy"),
+                "0123456789012/ ");
+    }
+
+    /**
+     * Compare le statut après chaque frappe à la méthode de UserInputValidator, et vérifie qu'une valeur
+     * déclarée DEAD ne redevient jamais valide.
+     */
+    private static void check(Random random, Supplier<IncrementalValidator> factory, Predicate<String> whole,
+                              String alphabet) {
+        for (int run = 0; run < 3_000; run++) {
+            IncrementalValidator validator = factory.get();
+            StringBuilder value = new StringBuilder();
+            boolean dead = false;
+            int length = 1 + random.nextInt(20);
+            for (int i = 0; i < length; i++) {
+                char c = alphabet.charAt(random.nextInt(alphabet.length()));
+                value.append(c);
+                Status status = validator.append(c);
+                boolean valid = whole.test(value.toString());
+                assertEquals(valid, status == Status.VALID, value.toString());
+                assertFalse(dead && valid, value.toString());
+                dead |= status == Status.DEAD;
+            }
+        }
+    }
+}
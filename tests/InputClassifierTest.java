@@ -0,0 +1,76 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.InputClassifier;
+import src.UserInputValidator;
+
+import java.util.BitSet;
+import java.util.Random;
+
+
+public class InputClassifierTest {
+
+    @Test
+    public void testClassifiesLikeValidators() {
+        Random random = new Random(5);
+        String[] pieces = {"a", "Z", "0", "4", "9", ".", "-", "_", "@", "+", "/", ":", " ", "\t", "(", ")", "?", "=",
+                "http://", "https://", "ftp://", "exemple.fr", "jean@", "4539 1488 0343 6467", "75008", "06 12 34 56 78"};
+        for (int run = 0; run < 20_000; run++) {
+            StringBuilder value = new StringBuilder();
+            int count = random.nextInt(6);
+            for (int i = 0; i < count; i++) {
+                value.append(pieces[random.nextInt(pieces.length)]);
+            }
+            String s = value.toString();
+            assertEquals(expected(s), InputClassifier.classify(s), s);
+        }
+    }
+
+    @Test
+    public void testTypicalValues() {
+        assertEquals(InputClassifier.EMAIL, InputClassifier.classify("jean.dupont@exemple.fr"));
+        assertEquals(InputClassifier.URL, InputClassifier.classify(" https://www.exemple.fr/contact?id=3 "));
+        assertEquals(InputClassifier.PHONE_NUMBER, InputClassifier.classify("+33 612 345 678"));
+        assertEquals(InputClassifier.CREDIT_CARD_NUMBER, InputClassifier.classify("4539-1488-0343-6467"));
+        // Un numéro de carte de 15 chiffres sans séparateur est aussi un numéro de téléphone plausible.
+        assertEquals(InputClassifier.PHONE_NUMBER | InputClassifier.CREDIT_CARD_NUMBER,
+                InputClassifier.classify("378282246310005"));
+        assertEquals(InputClassifier.PHONE_NUMBER | InputClassifier.POSTAL_CODE,
+                InputClassifier.classify("7500813"));
+        assertEquals(InputClassifier.POSTAL_CODE | InputClassifier.CREDIT_CARD_NUMBER, InputClassifier.classify("00000"));
+        assertEquals(0, InputClassifier.classify("bonjour"));
+        assertEquals(0, InputClassifier.classify(null));
+        assertEquals(0, InputClassifier.classify("jean@exemple.fr", InputClassifier.URL));
+        assertEquals("[PHONE_NUMBER, CREDIT_CARD_NUMBER]", InputClassifier.toString(InputClassifier.classify("378282246310005")));
+        assertEquals("[]", InputClassifier.toString(0));
+    }
+
+    @Test
+    public void testColumns() {
+        int size = 10_000;
+        String[] column = new String[size];
+        String[] samples = {"jean@exemple.fr", "http://a.b", "06 12 34 56 78", "75008", "4539 1488 0343 6467", "texte", null};
+        for (int i = 0; i < size; i++) {
+            column[i] = samples[i % samples.length];
+        }
+        byte[] classes = InputClassifier.classifyColumn(column);
+        BitSet emailsOrUrls = InputClassifier.matchingRows(column, InputClassifier.EMAIL | InputClassifier.URL);
+        for (int i = 0; i < size; i++) {
+            assertEquals(expected(column[i]), classes[i]);
+            assertEquals((classes[i] & (InputClassifier.EMAIL | InputClassifier.URL)) != 0, emailsOrUrls.get(i));
+        }
+        assertEquals(0, InputClassifier.classifyColumn(null).length);
+    }
+
+    private static int expected(String s) {
+        int types = 0;
+        if (UserInputValidator.isValidEmail(s)) types |= InputClassifier.EMAIL;
+        if (UserInputValidator.isValidPhoneNumber(s)) types |= InputClassifier.PHONE_NUMBER;
+        if (UserInputValidator.isValidUrl(s)) types |= InputClassifier.URL;
+        if (UserInputValidator.isValidPostalCode(s)) types |= InputClassifier.POSTAL_CODE;
+        if (UserInputValidator.isValidCreditCardNumber(s)) types |= InputClassifier.CREDIT_CARD_NUMBER;
+        return types;
+    }
+
+}
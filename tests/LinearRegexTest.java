@@ -0,0 +1,134 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.LinearRegex;
+import src.UserInputValidator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+
+public class LinearRegexTest {
+
+    private static final String[] PATTERNS = {
+            "abc", "a*b", "(a|b)*abb", "[a-z]+[0-9]{2,4}", "\\d{3}-\\d{2}", "[^abc]*", "a.c", "(ab|a)(bc|c)?",
+            "^[\\w.+-]+@[\\w-]+\\.[a-z]{2,}$", "x{0}y", "(a?){3}a{3}", "\\Q.*\\E+", "[\\s\\d]*z", "(?:ab)+?c",
+            "(?<n>[a-c])+", "\\x41\\u00e9", "[-a]+", "[a-]*", "a|", "()", "[\\d\\x2e\\-]+\\.\\d",
+    };
+
+    @Test
+    public void testAgreesWithStringMatches() {
+        Random random = new Random(11);
+        String alphabet = "abcxyz019-.@ \néA";
+        for (String pattern : PATTERNS) {
+            LinearRegex regex = LinearRegex.compile(pattern);
+            for (int i = 0; i < 2_000; i++) {
+                StringBuilder input = new StringBuilder();
+                int length = random.nextInt(12);
+                for (int j = 0; j < length; j++) {
+                    input.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                String s = input.toString();
+                assertEquals(s.matches(pattern), regex.matches(s), pattern + " / " + s);
+            }
+        }
+        assertTrue(LinearRegex.compile("^[\\w.+-]+@[\\w-]+\\.[a-z]{2,}$").matches("jean.dupont@exemple.fr"));
+        assertFalse(LinearRegex.compile("abc").matches(null));
+    }
+
+    @Test
+    public void testCatastrophicPatternRunsInLinearTime() {
+        LinearRegex regex = LinearRegex.compile("(a+)+b");
+        String input = "a".repeat(30_000);
+        long start = System.nanoTime();
+        assertFalse(regex.matches(input));
+        assertTrue(regex.matches(input + "b"));
+        assertTrue(System.nanoTime() - start < 2_000_000_000L);
+        assertFalse(UserInputValidator.matchesPatternLinear(input + "!", "(a|aa)*"));
+    }
+
+    @Test
+    public void testRejectsUnsupportedPatterns() {
+        String[] unsupported = {"(a)\\1", "(?=a)", "(?i)a", "a*+", "\\bfoo", "\\p{L}", "[a&&b]", "a{2000}",
+                "a(", "[abc", "a^b", "*a", "[]"};
+        for (String pattern : unsupported) {
+            assertFalse(LinearRegex.isSupported(pattern), pattern);
+            assertThrows(IllegalArgumentException.class, () -> LinearRegex.compile(pattern));
+        }
+        assertTrue(LinearRegex.isSupported("a{1000}"));
+        assertFalse(LinearRegex.isSupported(null));
+        assertThrows(IllegalArgumentException.class, () -> LinearRegex.compile("a", 16));
+    }
+
+    @Test
+    public void testSmallCacheResetsAndStaysCorrect() {
+        String pattern = "(a|b)*a(a|b){12}";
+        LinearRegex regex = LinearRegex.compile(pattern, 4096);
+        Random random = new Random(3);
+        for (int i = 0; i < 300; i++) {
+            StringBuilder input = new StringBuilder();
+            for (int j = 0; j < 40; j++) {
+                input.append(random.nextBoolean() ? 'a' : 'b');
+            }
+            String s = input.toString();
+            assertEquals(s.matches(pattern), regex.matches(s), s);
+        }
+        assertTrue(regex.getCacheResetCount() > 0);
+        assertTrue(regex.getCachedStateCount() > 0);
+        assertEquals(pattern, regex.pattern());
+    }
+
+    @Test
+    public void testSharedInstanceAcrossThreads() throws Exception {
+        LinearRegex regex = LinearRegex.compile("[a-z]+(\\d{2}|x)*");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int seed = t;
+                results.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    for (int i = 0; i < 5_000; i++) {
+                        String s = Integer.toString(random.nextInt(1_000), 36) + random.nextInt(10_000);
+                        if (regex.matches(s) != s.matches("[a-z]+(\\d{2}|x)*")) return false;
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testValidatorRejectsOrFallsBack() {
+        assertTrue(UserInputValidator.matchesPatternLinear("abc123", "[a-z]+\\d+"));
+        assertFalse(UserInputValidator.matchesPatternLinear(null, "a"));
+        assertFalse(UserInputValidator.matchesPatternLinear("a", null));
+        assertThrows(IllegalArgumentException.class, () -> UserInputValidator.matchesPatternLinear("abab", "(ab)\\1"));
+        // Le refus est mis en cache : la seconde demande échoue de la même façon.
+        assertThrows(IllegalArgumentException.class, () -> UserInputValidator.matchesPatternLinear("abab", "(ab)\\1"));
+        assertTrue(UserInputValidator.matchesPatternLinear("abab", "(ab)\\1", true));
+        assertFalse(UserInputValidator.matchesPatternLinear("abac", "(ab)\\1", true));
+    }
+
+    @Test
+    public void testValidatorCacheEvictsLeastRecentlyUsed() {
+        // Plus de motifs que le cache n'en garde : les plus anciens sont oubliés, les résultats restent justes.
+        for (int i = 0; i < 600; i++) {
+            String pattern = "x{" + i + "}y?";
+            assertTrue(UserInputValidator.matchesPatternLinear("x".repeat(i), pattern), pattern);
+            assertFalse(UserInputValidator.matchesPatternLinear("x".repeat(i + 1) + "z", pattern), pattern);
+            assertTrue(UserInputValidator.matchesPatternLinear("abc123", "[a-z]+\\d+"));
+        }
+    }
+
+}
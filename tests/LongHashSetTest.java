@@ -0,0 +1,58 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.LongHashSet;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+
+public class LongHashSetTest {
+
+    @Test
+    public void testAddContainsRemove() {
+        LongHashSet set = new LongHashSet();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(33612345678L));
+        assertFalse(set.add(33612345678L));
+        assertTrue(set.add(0));
+        assertTrue(set.add(-5));
+        assertEquals(3, set.size());
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(-5));
+        assertFalse(set.contains(33612345679L));
+
+        long[] values = set.toArray();
+        Arrays.sort(values);
+        assertArrayEquals(new long[]{-5, 0, 33612345678L}, values);
+
+        assertTrue(set.remove(0));
+        assertFalse(set.remove(0));
+        assertFalse(set.contains(0));
+        set.clear();
+        assertEquals(0, set.size());
+        assertFalse(set.contains(-5));
+    }
+
+    @Test
+    public void testMatchesHashSet() {
+        Random random = new Random(11);
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> reference = new HashSet<>();
+        for (int i = 0; i < 200_000; i++) {
+            long key = 33600000000L + random.nextInt(50_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(key), set.remove(key));
+            } else {
+                assertEquals(reference.add(key), set.add(key));
+            }
+        }
+        assertEquals(reference.size(), set.size());
+        for (long key = 33600000000L; key < 33600050000L; key++) {
+            assertEquals(reference.contains(key), set.contains(key));
+        }
+    }
+}
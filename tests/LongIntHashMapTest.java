@@ -0,0 +1,57 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.LongIntHashMap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+
+public class LongIntHashMapTest {
+
+    @Test
+    public void testPutGetRemove() {
+        LongIntHashMap map = new LongIntHashMap(0);
+        assertEquals(-1, map.getMissingValue());
+        assertEquals(-1, map.put(33612345678L, 7));
+        assertEquals(7, map.put(33612345678L, 8));
+        assertEquals(8, map.get(33612345678L));
+        assertEquals(-1, map.putIfAbsent(0, 3));
+        assertEquals(3, map.putIfAbsent(0, 4));
+        assertEquals(3, map.get(0));
+        assertEquals(2, map.size());
+
+        assertEquals(8, map.remove(33612345678L));
+        assertEquals(-1, map.remove(33612345678L));
+        assertFalse(map.containsKey(33612345678L));
+        assertEquals(-1, map.get(42));
+
+        LongIntHashMap zeroDefault = new LongIntHashMap(10, 0);
+        assertEquals(0, zeroDefault.get(1));
+        assertEquals(0, zeroDefault.putIfAbsent(1, 0));
+        assertTrue(zeroDefault.containsKey(1));
+    }
+
+    @Test
+    public void testMatchesHashMap() {
+        Random random = new Random(5);
+        LongIntHashMap map = new LongIntHashMap(16);
+        Map<Long, Integer> reference = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(40_000) * 1_000_003L;
+            if (random.nextInt(4) == 0) {
+                Integer removed = reference.remove(key);
+                assertEquals(removed == null ? -1 : removed, map.remove(key));
+            } else {
+                Integer previous = reference.put(key, i);
+                assertEquals(previous == null ? -1 : previous, map.put(key, i));
+            }
+        }
+        assertEquals(reference.size(), map.size());
+        for (Map.Entry<Long, Integer> entry : reference.entrySet()) {
+            assertEquals(entry.getValue().intValue(), map.get(entry.getKey()));
+        }
+    }
+}
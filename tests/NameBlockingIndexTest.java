@@ -0,0 +1,106 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.NameBlockingIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+
+public class NameBlockingIndexTest {
+
+    private static final List<String> NAMES = Arrays.asList(
+            "Jean Martin",      // 0
+            "MARTIN Jéan",      // 1 : mots inversés, accent
+            "Jean Martinn",     // 2 : lettre en trop
+            "Kean Martin",      // 3 : faute sur la première lettre
+            "Marie Dupont",     // 4
+            "marie dupond",     // 5
+            "Pierre Durand",    // 6
+            null,               // 7
+            "  ");              // 8
+
+    @Test
+    public void testFindDuplicatePairs() {
+        NameBlockingIndex index = NameBlockingIndex.build(NAMES, 100);
+        assertEquals(9, index.size());
+        assertEquals("jean martin", index.foldedName(1));
+        assertEquals("", index.foldedName(7));
+
+        long[] pairs = index.findDuplicatePairs(1);
+        List<String> found = new ArrayList<>();
+        for (long pair : pairs) {
+            found.add(NameBlockingIndex.firstOf(pair) + "-" + NameBlockingIndex.secondOf(pair));
+        }
+        assertEquals(List.of("0-1", "0-2", "0-3", "1-2", "1-3", "4-5"), found);
+        assertEquals(1, index.findDuplicatePairs(0).length);
+        assertEquals(0, index.findDuplicatePairs(-1).length);
+    }
+
+    @Test
+    public void testCandidates() {
+        NameBlockingIndex index = NameBlockingIndex.build(NAMES, 100);
+        int[] candidates = index.candidatesOf(0);
+        assertTrue(Arrays.binarySearch(candidates, 1) >= 0);
+        assertTrue(Arrays.binarySearch(candidates, 3) >= 0);
+        assertTrue(Arrays.binarySearch(candidates, 6) < 0);
+        assertArrayEquals(new int[0], index.candidatesOf(7));
+    }
+
+    @Test
+    public void testLargeBlocksAreSkipped() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 20; i++) names.add("Jean Martin");
+        NameBlockingIndex index = NameBlockingIndex.build(names, 10);
+        assertEquals(index.blockCount(), index.skippedBlockCount());
+        assertEquals(0, index.findDuplicatePairs(2).length);
+        assertEquals(190, NameBlockingIndex.build(names, 20).findDuplicatePairs(0).length);
+        assertThrows(IllegalArgumentException.class, () -> NameBlockingIndex.build(names, 1));
+    }
+
+    @Test
+    public void testOnlyTruePairsAreReported() {
+        Random random = new Random(2);
+        String[] first = {"jean", "marie", "pierre", "sophie", "luc", "camille", "nicolas", "julie"};
+        String[] last = {"martin", "bernard", "dubois", "thomas", "robert", "richard", "petit", "durand"};
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            StringBuilder name = new StringBuilder(first[random.nextInt(first.length)] + " " + last[random.nextInt(last.length)]);
+            if (random.nextBoolean()) name.setCharAt(1 + random.nextInt(name.length() - 1), 'x');
+            names.add(name.toString() + random.nextInt(4));
+        }
+        NameBlockingIndex index = NameBlockingIndex.build(names, 5_000);
+        long[] pairs = index.findDuplicatePairs(1);
+        assertTrue(pairs.length > 0);
+        for (long pair : pairs) {
+            String a = index.foldedName(NameBlockingIndex.firstOf(pair));
+            String b = index.foldedName(NameBlockingIndex.secondOf(pair));
+            assertTrue(NameBlockingIndex.boundedEditDistance(a, b, 1) <= 1, a + " / " + b);
+        }
+        for (int i = 1; i < pairs.length; i++) {
+            assertTrue(pairs[i - 1] < pairs[i]);
+        }
+
+        int identical = 0;
+        for (int a = 0; a < names.size(); a++) {
+            for (int b = a + 1; b < names.size(); b++) {
+                if (index.foldedName(a).equals(index.foldedName(b))) identical++;
+            }
+        }
+        assertEquals(identical, index.findDuplicatePairs(0).length);
+    }
+
+    @Test
+    public void testBoundedEditDistance() {
+        assertEquals(0, NameBlockingIndex.boundedEditDistance("martin", "martin", 2));
+        assertEquals(1, NameBlockingIndex.boundedEditDistance("martin", "martinn", 2));
+        assertEquals(2, NameBlockingIndex.boundedEditDistance("dupont", "dupnot", 2));
+        assertEquals(3, NameBlockingIndex.boundedEditDistance("jean", "pierre", 2));
+        assertEquals(3, NameBlockingIndex.boundedEditDistance("a", "abcdef", 2));
+        assertEquals(2, NameBlockingIndex.boundedEditDistance("", "ab", 2));
+        assertEquals(3, NameBlockingIndex.boundedEditDistance(null, "ab", 2));
+    }
+}
@@ -0,0 +1,133 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.NormalizationCache;
+import src.UserInputFormatter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+
+public class NormalizationCacheTest {
+
+    @Test
+    public void testReturnsSameResultsAsOperation() {
+        NormalizationCache cache = new NormalizationCache(UserInputFormatter::removeAccents, 100);
+        assertEquals("Helene", cache.apply("Hélène"));
+        assertEquals("Helene", cache.apply("Hélène"));
+        assertEquals("", cache.apply(null));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate(), 1e-9);
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+        NormalizationCache cache = new NormalizationCache(UserInputFormatter::toUpperCase, 50);
+        for (int i = 0; i < 10_000; i++) {
+            cache.apply("valeur" + i);
+        }
+        assertTrue(cache.size() <= 50);
+    }
+
+    @Test
+    public void testOneOffValuesDoNotFlushHotSet() {
+        AtomicInteger computations = new AtomicInteger();
+        UnaryOperator<String> counting = s -> {
+            computations.incrementAndGet();
+            return UserInputFormatter.capitalizeWords(s);
+        };
+        NormalizationCache cache = new NormalizationCache(counting, 10);
+        String[] hot = {"jean", "marie", "pierre", "sophie", "luc"};
+
+        for (int round = 0; round < 20; round++) {
+            for (String name : hot) {
+                cache.apply(name);
+            }
+        }
+        for (int i = 0; i < 1_000; i++) {
+            cache.apply("unique" + i);
+            cache.apply(hot[i % hot.length]);
+        }
+
+        computations.set(0);
+        for (String name : hot) {
+            assertEquals(UserInputFormatter.capitalizeWords(name), cache.apply(name));
+        }
+        assertEquals(0, computations.get());
+    }
+
+    @Test
+    public void testHitProtectsValueFromEviction() {
+        AtomicInteger computations = new AtomicInteger();
+        UnaryOperator<String> counting = s -> {
+            computations.incrementAndGet();
+            return UserInputFormatter.toUpperCase(s);
+        };
+        NormalizationCache cache = new NormalizationCache(counting, 100);
+        for (int i = 0; i < 99; i++) {
+            cache.apply("k" + i);
+        }
+        // k0 est la plus ancienne valeur et elle est moins fréquente que les candidats, mais un succès la fait
+        // passer dans la partie protégée : les victimes sont prises en probation.
+        cache.apply("k0");
+        for (int i = 0; i < 30; i++) {
+            for (int j = 0; j < 3; j++) {
+                cache.apply("candidat" + i);
+            }
+        }
+
+        computations.set(0);
+        assertEquals("K0", cache.apply("k0"));
+        assertEquals(0, computations.get());
+        assertEquals("K1", cache.apply("k1"));
+        assertEquals(1, computations.get());
+        assertTrue(cache.size() <= 100);
+    }
+
+    @Test
+    public void testAgingLetsNewHotSetReplaceOldOne() {
+        AtomicInteger computations = new AtomicInteger();
+        UnaryOperator<String> counting = s -> {
+            computations.incrementAndGet();
+            return UserInputFormatter.toUpperCase(s);
+        };
+        NormalizationCache cache = new NormalizationCache(counting, 20);
+        for (int round = 0; round < 30; round++) {
+            for (int i = 0; i < 20; i++) {
+                cache.apply("ancien" + i);
+            }
+        }
+        // Sans vieillissement, les anciennes valeurs garderaient des compteurs saturés et bloqueraient
+        // l'admission des nouvelles.
+        for (int round = 0; round < 200; round++) {
+            for (int i = 0; i < 16; i++) {
+                cache.apply("nouveau" + i);
+            }
+        }
+
+        computations.set(0);
+        for (int i = 0; i < 16; i++) {
+            assertEquals("NOUVEAU" + i, cache.apply("nouveau" + i));
+        }
+        assertEquals(0, computations.get());
+    }
+
+    @Test
+    public void testClear() {
+        NormalizationCache cache = new NormalizationCache(UserInputFormatter::formatEmail, 10);
+        cache.apply("A@B.FR");
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0.0, cache.getHitRate(), 1e-9);
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new NormalizationCache(UserInputFormatter::formatEmail, 0));
+        assertThrows(NullPointerException.class, () -> new NormalizationCache(null, 10));
+    }
+
+}
@@ -0,0 +1,44 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.OffHeapLongHashSet;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+
+public class OffHeapLongHashSetTest {
+
+    @Test
+    public void testMatchesHashSet() {
+        Random random = new Random(17);
+        OffHeapLongHashSet set = new OffHeapLongHashSet(100_000);
+        Set<Long> reference = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(60_000) - 30_000L;
+            assertEquals(reference.add(key), set.add(key));
+        }
+        assertEquals(reference.size(), set.size());
+        for (long key = -30_000; key < 30_000; key++) {
+            assertEquals(reference.contains(key), set.contains(key));
+        }
+        assertEquals(262_144 * 8L, set.memoryBytes());
+
+        set.clear();
+        assertEquals(0, set.size());
+        assertFalse(set.contains(0));
+    }
+
+    @Test
+    public void testFixedCapacity() {
+        OffHeapLongHashSet set = new OffHeapLongHashSet(10);
+        for (int i = 1; i <= 12; i++) {
+            assertTrue(set.add(i));
+        }
+        assertFalse(set.add(5));
+        assertThrows(IllegalStateException.class, () -> set.add(13));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapLongHashSet(-1));
+    }
+}
@@ -0,0 +1,78 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.DateUtils;
+import src.PeriodIndex;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+
+public class PeriodIndexTest {
+
+    @Test
+    public void testFindOverlapping() {
+        List<LocalDate> starts = List.of(LocalDate.of(2024, 12, 27), LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 1));
+        List<LocalDate> ends = List.of(LocalDate.of(2025, 1, 3), LocalDate.of(2025, 1, 17), LocalDate.of(2025, 1, 10));
+        PeriodIndex index = PeriodIndex.of(starts, ends);
+
+        assertEquals(3, index.size());
+        assertArrayEquals(new int[]{0, 2}, index.findOverlapping(LocalDate.of(2025, 1, 2), LocalDate.of(2025, 1, 2)));
+        assertArrayEquals(new int[]{1, 2}, index.findOverlapping(LocalDate.of(2025, 1, 10), LocalDate.of(2025, 1, 12)));
+        assertArrayEquals(new int[0], index.findOverlapping(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 3)));
+        assertArrayEquals(new int[0], index.findOverlapping(null, LocalDate.of(2025, 2, 3)));
+    }
+
+    @Test
+    public void testMatchesPairwiseComparison() {
+        Random random = new Random(3);
+        int n = 500;
+        List<LocalDate> starts = new ArrayList<>();
+        List<LocalDate> ends = new ArrayList<>();
+        LocalDate origin = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < n; i++) {
+            LocalDate start = origin.plusDays(random.nextInt(730));
+            starts.add(start);
+            ends.add(start.plusDays(random.nextInt(20)));
+        }
+        PeriodIndex index = PeriodIndex.of(starts, ends);
+
+        List<Long> expectedPairs = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            List<Integer> expected = new ArrayList<>();
+            for (int j = 0; j < n; j++) {
+                if (DateUtils.periodsOverlap(starts.get(i), ends.get(i), starts.get(j), ends.get(j))) {
+                    expected.add(j);
+                    if (i < j) expectedPairs.add(((long) i << 32) | j);
+                }
+            }
+            int[] found = index.findOverlapping(starts.get(i), ends.get(i));
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), found);
+            assertEquals(expected.size(), index.countOverlapping(
+                    (int) starts.get(i).toEpochDay(), (int) ends.get(i).toEpochDay()));
+        }
+
+        long[] pairs = index.findAllOverlappingPairs();
+        assertArrayEquals(expectedPairs.stream().mapToLong(Long::longValue).sorted().toArray(), pairs);
+    }
+
+    @Test
+    public void testPairEncoding() {
+        PeriodIndex index = PeriodIndex.of(new int[]{10, 0}, new int[]{20, 10});
+        long[] pairs = index.findAllOverlappingPairs();
+        assertEquals(1, pairs.length);
+        assertEquals(0, PeriodIndex.firstOf(pairs[0]));
+        assertEquals(1, PeriodIndex.secondOf(pairs[0]));
+    }
+
+    @Test
+    public void testInvalidPeriods() {
+        assertThrows(IllegalArgumentException.class, () -> PeriodIndex.of(new int[]{5}, new int[]{4}));
+        assertThrows(IllegalArgumentException.class, () -> PeriodIndex.of(new int[]{5}, new int[0]));
+        assertEquals(0, PeriodIndex.of(new int[0], new int[0]).findAllOverlappingPairs().length);
+    }
+
+}
@@ -0,0 +1,49 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.PhoneNormalizer;
+
+
+public class PhoneNormalizerTest {
+
+    private final PhoneNormalizer france = new PhoneNormalizer(33);
+
+    @Test
+    public void testEquivalentFormatsGiveSameKey() {
+        long expected = 33612345678L;
+        assertEquals(expected, france.normalize("06 12 34 56 78"));
+        assertEquals(expected, france.normalize("06.12.34.56.78"));
+        assertEquals(expected, france.normalize("0612345678"));
+        assertEquals(expected, france.normalize("+33 6 12 34 56 78"));
+        assertEquals(expected, france.normalize("+33 (0)6 12 34 56 78"));
+        assertEquals(expected, france.normalize("0033 6 12 34 56 78"));
+        assertEquals(expected, france.normalize("  (06) 12-34-56-78 "));
+        assertEquals("+33612345678", PhoneNormalizer.toE164String(expected));
+    }
+
+    @Test
+    public void testDefaultCountryCode() {
+        PhoneNormalizer northAmerica = new PhoneNormalizer(1);
+        assertEquals(14155550123L, northAmerica.normalize("(415) 555-0123"));
+        assertEquals(14155550123L, france.normalize("+1 415 555 0123"));
+        assertEquals(1, northAmerica.getDefaultCountryCode());
+        assertThrows(IllegalArgumentException.class, () -> new PhoneNormalizer(0));
+        assertThrows(IllegalArgumentException.class, () -> new PhoneNormalizer(1000));
+    }
+
+    @Test
+    public void testInvalidNumbers() {
+        assertEquals(PhoneNormalizer.INVALID, france.normalize(null));
+        assertEquals(PhoneNormalizer.INVALID, france.normalize(""));
+        assertEquals(PhoneNormalizer.INVALID, france.normalize("06 12 AB 56 78"));
+        assertEquals(PhoneNormalizer.INVALID, france.normalize("+0612345678"));
+        assertEquals(PhoneNormalizer.INVALID, france.normalize("000612345678"));
+        assertEquals(PhoneNormalizer.INVALID, france.normalize("12 34"));
+        assertEquals(PhoneNormalizer.INVALID, france.normalize("+1234567890123456"));
+        assertEquals(PhoneNormalizer.INVALID, france.normalize("06 12 + 34 56 78"));
+        assertFalse(france.isValid("abc"));
+        assertTrue(france.isValid("01 23 45 67 89"));
+        assertEquals("", PhoneNormalizer.toE164String(PhoneNormalizer.INVALID));
+    }
+}
@@ -0,0 +1,88 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.DateUtils;
+import src.Recurrence;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+
+public class RecurrenceTest {
+
+    @Test
+    public void testDailyMatchesGenerateRecurringDates() {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        LocalDate end = LocalDate.of(2024, 3, 1);
+        List<LocalDate> lazy = Recurrence.daily(start, end, 3).stream().collect(Collectors.toList());
+        assertEquals(DateUtils.generateRecurringDates(start, end, 3), lazy);
+    }
+
+    @Test
+    public void testWeekly() {
+        Recurrence weekly = Recurrence.weekly(LocalDate.of(2024, 1, 1), null, 2);
+        List<LocalDate> dates = weekly.stream().limit(3).collect(Collectors.toList());
+        assertEquals(List.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 29)), dates);
+    }
+
+    @Test
+    public void testMonthlyOnDayClampsShortMonths() {
+        Recurrence monthly = Recurrence.monthlyOnDay(LocalDate.of(2024, 1, 15), null, 31);
+        List<LocalDate> dates = monthly.stream().limit(4).collect(Collectors.toList());
+        assertEquals(List.of(LocalDate.of(2024, 1, 31), LocalDate.of(2024, 2, 29),
+                LocalDate.of(2024, 3, 31), LocalDate.of(2024, 4, 30)), dates);
+    }
+
+    @Test
+    public void testLastDayOfMonth() {
+        Recurrence recurrence = Recurrence.lastDayOfMonth(LocalDate.of(2023, 1, 31), LocalDate.of(2023, 4, 30));
+        assertEquals(List.of(LocalDate.of(2023, 1, 31), LocalDate.of(2023, 2, 28),
+                LocalDate.of(2023, 3, 31), LocalDate.of(2023, 4, 30)),
+                recurrence.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testWorkingDays() {
+        Recurrence recurrence = Recurrence.workingDays(LocalDate.of(2024, 12, 24), LocalDate.of(2024, 12, 31));
+        assertEquals(List.of(LocalDate.of(2024, 12, 24), LocalDate.of(2024, 12, 26),
+                LocalDate.of(2024, 12, 27), LocalDate.of(2024, 12, 30), LocalDate.of(2024, 12, 31)),
+                recurrence.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testJumpToFirstOccurrence() {
+        Recurrence daily = Recurrence.daily(LocalDate.of(2000, 1, 1), LocalDate.of(2030, 12, 31), 10);
+        assertEquals(LocalDate.of(2024, 1, 5), daily.firstOnOrAfter(LocalDate.of(2024, 1, 1)));
+        assertEquals(LocalDate.of(2024, 1, 5), daily.firstAfter(LocalDate.of(2023, 12, 26)));
+        assertEquals(LocalDate.of(2000, 1, 1), daily.firstOnOrAfter(LocalDate.of(1990, 1, 1)));
+        assertNull(daily.firstOnOrAfter(LocalDate.of(2031, 1, 1)));
+        assertEquals(LocalDate.of(2024, 1, 15),
+                daily.streamFrom(LocalDate.of(2024, 1, 6)).findFirst().orElse(null));
+    }
+
+    @Test
+    public void testIteratorsAndEpochDays() {
+        Recurrence daily = Recurrence.daily(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 5), 2);
+        Iterator<LocalDate> iterator = daily.iterator();
+        assertEquals(LocalDate.of(2024, 1, 1), iterator.next());
+        assertEquals(LocalDate.of(2024, 1, 3), iterator.next());
+        assertEquals(LocalDate.of(2024, 1, 5), iterator.next());
+        assertFalse(iterator.hasNext());
+
+        long first = LocalDate.of(2024, 1, 1).toEpochDay();
+        assertArrayEquals(new long[]{first, first + 2, first + 4}, daily.epochDays().toArray());
+        assertEquals(first, daily.epochDayIterator().nextLong());
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> Recurrence.daily(LocalDate.of(2024, 1, 1), null, 0));
+        assertThrows(IllegalArgumentException.class, () -> Recurrence.monthlyOnDay(LocalDate.of(2024, 1, 1), null, 32));
+        assertThrows(NullPointerException.class, () -> Recurrence.lastDayOfMonth(null, null));
+        assertEquals(0, Recurrence.daily(LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 1), 1).stream().count());
+    }
+
+}
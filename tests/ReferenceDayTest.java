@@ -0,0 +1,80 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.ReferenceDay;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+
+public class ReferenceDayTest {
+
+    /** Horloge réglable pour simuler le passage de minuit. */
+    private static final class MutableClock extends Clock {
+        private final ZoneId zone;
+        private Instant instant;
+
+        MutableClock(Instant instant, ZoneId zone) {
+            this.instant = instant;
+            this.zone = zone;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new MutableClock(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    @Test
+    public void testRollsOverAtMidnightInClockZone() {
+        ZoneId paris = ZoneId.of("Europe/Paris");
+        MutableClock clock = new MutableClock(Instant.parse("2024-12-31T22:59:59Z"), paris);
+        ReferenceDay reference = new ReferenceDay(clock);
+
+        assertEquals(LocalDate.of(2024, 12, 31), reference.today());
+        clock.instant = Instant.parse("2024-12-31T23:00:00Z");
+        assertEquals(LocalDate.of(2025, 1, 1), reference.today());
+        assertEquals(LocalDate.of(2025, 1, 1).toEpochDay(), reference.epochDay());
+    }
+
+    @Test
+    public void testClockGoingBackwards() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-06-02T12:00:00Z"), ZoneOffset.UTC);
+        ReferenceDay reference = new ReferenceDay(clock);
+        clock.instant = Instant.parse("2024-06-01T12:00:00Z");
+        assertEquals(LocalDate.of(2024, 6, 1), reference.today());
+    }
+
+    @Test
+    public void testEpochDayComparisons() {
+        ReferenceDay reference = new ReferenceDay(
+                Clock.fixed(Instant.parse("2024-06-01T12:00:00Z"), ZoneOffset.UTC));
+        long today = LocalDate.of(2024, 6, 1).toEpochDay();
+        assertTrue(reference.isFuture(today + 1));
+        assertFalse(reference.isFuture(today));
+        assertTrue(reference.isPast(today - 1));
+        assertFalse(reference.isPast(today));
+    }
+
+    @Test
+    public void testSystemReference() {
+        assertSame(ReferenceDay.system(), ReferenceDay.system());
+        assertEquals(LocalDate.now(), ReferenceDay.system().today());
+        assertThrows(NullPointerException.class, () -> new ReferenceDay(null));
+    }
+
+}
@@ -0,0 +1,82 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.StreamingCli;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+
+public class StreamingCliTest {
+
+    private static String run(String input, String... args) {
+        StringWriter out = new StringWriter();
+        int code = StreamingCli.run(args, new StringReader(input), out, new PrintStream(new ByteArrayOutputStream()));
+        assertEquals(0, code);
+        return out.toString().replace(System.lineSeparator(), "\n");
+    }
+
+    @Test
+    public void testChainOnWholeLines() {
+        assertEquals("Eloise Dupre\nJean Martin\n", run("éloïse DUPRÉ\n  jean   martin \n", "accents", "capitalize"));
+    }
+
+    @Test
+    public void testValidatorsDropOrBlank() {
+        String input = "a@b.fr\nnot-an-email\nC@D.COM\n";
+        assertEquals("a@b.fr\nc@d.com\n", run(input, "email", "is-email"));
+        assertEquals("a@b.fr\n\nc@d.com\n", run(input, "--invalid=blank", "email", "is-email"));
+    }
+
+    @Test
+    public void testColumnAndDates() {
+        String input = "1;29/02/2024;x\n2;31/04/2024;y\n3;01/01/2025\n";
+        assertEquals("1;2024-02-29;x\n3;2025-01-01\n",
+                run(input, "--column=1", "date:dd/MM/yyyy>yyyy-MM-dd"));
+        assertEquals("1|A|x\n", run("1|a|x\n", "--delimiter=|", "--column=1", "upper"));
+        assertEquals("", run("1;2\n", "--column=5", "upper"));
+    }
+
+    @Test
+    public void testPhoneNormalization() {
+        assertEquals("1;+33612345678\n3;+14155550123\n",
+                run("1;06 12 34 56 78\n2;inconnu\n3;+1 (415) 555-0123\n", "--column=1", "e164:33"));
+    }
+
+    @Test
+    public void testParallelKeepsOrder() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            input.append(i % 3 == 0 ? "ligne-" : "ligne").append(i).append('\n');
+        }
+        String sequential = run(input.toString(), "upper", "is-alnum");
+        String parallel = run(input.toString(), "--parallel", "--batch=333", "upper", "is-alnum");
+
+        assertEquals(sequential, parallel);
+        assertTrue(parallel.startsWith("LIGNE1\nLIGNE2\nLIGNE4\n"));
+        assertEquals(6_666, parallel.split("\n").length);
+    }
+
+    @Test
+    public void testTruncateAcceptsShortLengths() {
+        assertEquals("Un texte...\nCourt\n", run("Un texte bien trop long\nCourt\n", "truncate:11"));
+        assertEquals("Un\nCo\n", run("Un texte\nCourt\n", "truncate:2"));
+        assertEquals("\n\n", run("Un texte\nCourt\n", "truncate:0"));
+    }
+
+    @Test
+    public void testUsageErrors() {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        PrintStream errStream = new PrintStream(err);
+        assertEquals(2, StreamingCli.run(new String[0], new StringReader(""), new StringWriter(), errStream));
+        assertEquals(2, StreamingCli.run(new String[]{"frobnicate"}, new StringReader(""), new StringWriter(), errStream));
+        assertEquals(2, StreamingCli.run(new String[]{"is-date:dd MMM yyyy"}, new StringReader(""), new StringWriter(), errStream));
+        assertEquals(2, StreamingCli.run(new String[]{"--batch=0", "upper"}, new StringReader(""), new StringWriter(), errStream));
+        assertEquals(2, StreamingCli.run(new String[]{"truncate:-1"}, new StringReader(""), new StringWriter(), errStream));
+        assertTrue(err.toString().contains("Usage"));
+    }
+
+}
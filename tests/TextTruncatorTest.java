@@ -0,0 +1,103 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.TextTruncator;
+import src.UserInputFormatter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Random;
+
+
+public class TextTruncatorTest {
+
+    @Test
+    public void testMatchesTruncateTextOnBmpText() throws IOException {
+        Random random = new Random(4);
+        for (int run = 0; run < 2_000; run++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(40);
+            for (int i = 0; i < length; i++) {
+                text.append("abc éà-".charAt(random.nextInt(7)));
+            }
+            String s = text.toString();
+            int maxLength = 3 + random.nextInt(40);
+            String expected = UserInputFormatter.truncateText(s, maxLength);
+
+            StringBuilder out = new StringBuilder();
+            assertEquals(!expected.equals(s), TextTruncator.truncate(s, maxLength, false, out));
+            assertEquals(expected, out.toString());
+            assertEquals(expected, TextTruncator.excerpt(new StringReader(s), maxLength, false));
+        }
+    }
+
+    @Test
+    public void testCountsCodePoints() throws IOException {
+        String emojis = "😀😁😂🤣😃";
+        assertEquals(emojis, TextTruncator.excerpt(new StringReader(emojis), 5, false));
+        assertEquals("😀...", TextTruncator.excerpt(new StringReader(emojis), 4, false));
+        assertEquals("😀😁...", TextTruncator.excerpt(new StringReader(emojis + "😄"), 5, false));
+        assertEquals("😀😁", TextTruncator.excerpt(new StringReader(emojis), 2, false));
+        assertEquals("", TextTruncator.excerpt(new StringReader(emojis), 0, false));
+
+        StringBuilder out = new StringBuilder();
+        assertTrue(TextTruncator.truncate("a😀b😁c", 4, false, out));
+        assertEquals("a...", out.toString());
+        assertFalse(TextTruncator.truncate((CharSequence) null, 4, false, out));
+        assertEquals("", TextTruncator.excerpt(null, 10, true));
+        assertThrows(IllegalArgumentException.class, () -> TextTruncator.excerpt(new StringReader("abc"), -1, false));
+    }
+
+    @Test
+    public void testCutsAtWordBoundaries() {
+        assertEquals("Le petit...", TextTruncator.excerpt(new StringReader("Le petit chat dort"), 12, true));
+        assertEquals("Le petit...", TextTruncator.excerpt(new StringReader("Le petit  chat dort"), 13, true));
+        assertEquals("Le petit chat...", TextTruncator.excerpt(new StringReader("Le petit chat dort"), 16, true));
+        assertEquals("Le petit chat dort", TextTruncator.excerpt(new StringReader("Le petit chat dort"), 18, true));
+        // Un premier mot trop long est coupé au code point.
+        assertEquals("Anticonst...", TextTruncator.excerpt(new StringReader("Anticonstitutionnellement"), 12, true));
+        assertEquals("Le", TextTruncator.excerpt(new StringReader("Le petit"), 2, true));
+    }
+
+    @Test
+    public void testReadsOnlyWhatItNeeds() {
+        CountingReader endless = new CountingReader();
+        String excerpt = TextTruncator.excerpt(endless, 200, true);
+        assertTrue(excerpt.endsWith("..."));
+        assertTrue(excerpt.codePointCount(0, excerpt.length()) <= 200);
+        assertTrue(endless.read <= 2 * 201, Long.toString(endless.read));
+    }
+
+    @Test
+    public void testTruncateTextEdgeCases() {
+        assertEquals("a...", UserInputFormatter.truncateText("a😀bcdef", 5));
+        assertEquals("ab", UserInputFormatter.truncateText("abcdef", 2));
+        assertEquals("", UserInputFormatter.truncateText("abcdef", 0));
+        assertEquals("", UserInputFormatter.truncateText("abcdef", -1));
+        assertEquals("ab", UserInputFormatter.truncateText("ab", 2));
+    }
+
+
+    /**
+     * Texte sans fin (mots et emojis) qui compte les caractères lus.
+     */
+    private static final class CountingReader extends Reader {
+        private static final String TEXT = "mot 😀 phrase, ";
+        private long read;
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            for (int i = 0; i < length; i++) {
+                buffer[offset + i] = TEXT.charAt((int) (read++ % TEXT.length()));
+            }
+            return length;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
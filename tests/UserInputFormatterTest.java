@@ -4,6 +4,8 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import src.UserInputFormatter;
 
+import java.util.Locale;
+
 
 public class UserInputFormatterTest {
 
@@ -30,6 +32,31 @@ public class UserInputFormatterTest {
     }
 
 
+    @Test
+    public void testCaseFoldingReturnsSameInstanceWhenNormalized() {
+        String upper = "ABC123";
+        String lower = "jean.dupont@mail.fr";
+        assertSame(upper, UserInputFormatter.toUpperCase(upper));
+        assertSame(lower, UserInputFormatter.toLowerCase(lower));
+        assertSame(lower, UserInputFormatter.formatEmail(lower));
+        assertNotSame(lower, UserInputFormatter.formatEmail(" " + lower));
+        assertEquals("ÉCOLE", UserInputFormatter.toUpperCase(" école "));
+        assertEquals("", UserInputFormatter.toUpperCase("   "));
+    }
+
+    @Test
+    public void testCaseFoldingIgnoresDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        try {
+            Locale.setDefault(new Locale("tr", "TR"));
+            assertEquals("title", UserInputFormatter.toLowerCase("TITLE"));
+            assertEquals("TITLE", UserInputFormatter.toUpperCase("title"));
+            assertEquals("info@mail.fr", UserInputFormatter.formatEmail("INFO@MAIL.FR"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
     @Test
     public void testCapitalizeWords() {
         String userInput = "abc123";
@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import src.UserInputValidator;
 
+import java.util.Random;
+
 
 public class UserInputValidatorTest {
 
@@ -127,6 +129,39 @@ public class UserInputValidatorTest {
         assertTrue(UserInputValidator.isValidDouble(" 123.45 "));
     }
 
+    @Test
+    public void testNumberScansAgreeWithParse() {
+        Random random = new Random(9);
+        String alphabet = "0123456789+-.eExXpPaAfFdDNIn ٤";
+        String[] samples = {"2147483647", "2147483648", "-2147483648", "-2147483649", "99999999999", "+", "-",
+                "NaN", "-Infinity", "+NaN", "NaNa", "Infinityx", ".5", "5.", ".", "1e", "1e+", "1e-3", "1.5f", "2D",
+                "0x1p3", "0x1.8P-2d", "0x", "0xp1", "١٢٣", " 42 ", "4 2", "1e5f", "e5"};
+        for (int run = 0; run < 20_000; run++) {
+            String s;
+            if (run < samples.length) {
+                s = samples[run];
+            } else {
+                StringBuilder sb = new StringBuilder();
+                int length = 1 + random.nextInt(8);
+                for (int i = 0; i < length; i++) {
+                    sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                }
+                s = sb.toString();
+            }
+            assertEquals(parses(() -> Integer.parseInt(s.trim())) && !s.trim().isEmpty(), UserInputValidator.isValidInteger(s), s);
+            assertEquals(parses(() -> Double.parseDouble(s.trim())) && !s.trim().isEmpty(), UserInputValidator.isValidDouble(s), s);
+        }
+    }
+
+    private static boolean parses(Runnable parse) {
+        try {
+            parse.run();
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
 
     @Test
     public void testCompareInteger() {
@@ -159,6 +194,17 @@ public class UserInputValidatorTest {
 
         assertTrue(UserInputValidator.isValidDate(validUSDate, usFormat));
         assertFalse(UserInputValidator.isValidDate(validDate, usFormat));
+
+        assertTrue(UserInputValidator.isValidDate(" 29/02/2024 ", format));
+        assertFalse(UserInputValidator.isValidDate("29/02/2023", format));
+        assertFalse(UserInputValidator.isValidDate("20/12/2024abc", format));
+        assertTrue(UserInputValidator.isValidDate("20.12.24", "dd.MM.yy"));
+
+        // Année 0 refusée ; calendrier grégorien proleptique avant 1583.
+        assertFalse(UserInputValidator.isValidDate("01/01/0000", format));
+        assertTrue(UserInputValidator.isValidDate("10/10/1582", format));
+        assertFalse(UserInputValidator.isValidDate("29/02/1500", format));
+        assertFalse(UserInputValidator.isDateWithinRange("01/01/0000", format, "01/01/0000", "31/12/2024"));
     }
 
 
@@ -0,0 +1,87 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.UserInputValidator;
+import src.ValidatorChain;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+
+public class ValidatorChainTest {
+
+    @Test
+    public void testValidatesLikeConjunction() {
+        ValidatorChain chain = new ValidatorChain()
+                .add("email", UserInputValidator::isValidEmail)
+                .add("longueur", s -> UserInputValidator.hasMaximumLength(s, 20));
+        assertTrue(chain.test("jean@exemple.fr"));
+        assertFalse(chain.test("jean.martin.dupont@exemple.fr"));
+        assertFalse(chain.test("pas-un-email"));
+        assertEquals(3, chain.getTestedCount());
+        assertEquals(2, chain.getRejectedCount());
+        assertEquals(List.of("email", "longueur"), chain.getOrder());
+    }
+
+    @Test
+    public void testCheapSelectiveRuleMovesFirst() {
+        AtomicInteger expensiveCalls = new AtomicInteger();
+        ValidatorChain chain = new ValidatorChain(1, 100)
+                .add("coûteuse", s -> {
+                    expensiveCalls.incrementAndGet();
+                    long deadline = System.nanoTime() + 20_000;
+                    while (System.nanoTime() < deadline) {
+                        Thread.onSpinWait();
+                    }
+                    return true;
+                })
+                .add("longueur", s -> s.length() >= 8);
+        for (int i = 0; i < 100; i++) {
+            chain.test(i % 10 == 0 ? "assez-long" : "court");
+        }
+        assertEquals(List.of("longueur", "coûteuse"), chain.getOrder());
+
+        ValidatorChain.RuleStatistics length = chain.getStatistics().get(0);
+        assertEquals("longueur", length.getName());
+        assertEquals(100, length.getSampledCount());
+        assertEquals(0.9, length.getRejectRate(), 1e-9);
+        assertEquals(0.0, chain.getStatistics().get(1).getRejectRate());
+        assertTrue(chain.getStatistics().get(1).getAverageNanos() >= 20_000);
+        assertEquals(100, expensiveCalls.get());
+    }
+
+    @Test
+    public void testRulesThatNeverRejectGoLastByCost() {
+        ValidatorChain chain = new ValidatorChain(1, 50)
+                .add("lente", s -> {
+                    long deadline = System.nanoTime() + 20_000;
+                    while (System.nanoTime() < deadline) {
+                        Thread.onSpinWait();
+                    }
+                    return true;
+                })
+                .add("rapide", s -> true)
+                .add("sélective", s -> !s.isEmpty());
+        for (int i = 0; i < 50; i++) {
+            chain.test(i % 2 == 0 ? "" : "x");
+        }
+        assertEquals(List.of("sélective", "rapide", "lente"), chain.getOrder());
+    }
+
+    @Test
+    public void testConcurrentUse() {
+        ValidatorChain chain = new ValidatorChain(4, 16)
+                .add("entier", UserInputValidator::isValidInteger)
+                .add("positif", UserInputValidator::isPositiveInteger)
+                .add("non vide", UserInputValidator::isValidString);
+        long valid = IntStream.range(-50_000, 50_000).parallel()
+                .filter(i -> chain.test(Integer.toString(i)))
+                .count();
+        assertEquals(49_999, valid);
+        assertEquals(100_000, chain.getTestedCount());
+        assertEquals(3, chain.getOrder().size());
+        assertThrows(IllegalArgumentException.class, () -> new ValidatorChain(0, 1));
+    }
+}
@@ -0,0 +1,71 @@
+package tests;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import src.DateUtils;
+import src.WorkingDayCalendar;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+
+public class WorkingDayCalendarTest {
+
+    private static long countByScan(LocalDate start, LocalDate end) {
+        return start.datesUntil(end.plusDays(1)).filter(DateUtils::isWorkingDay).count();
+    }
+
+    @Test
+    public void testCountMatchesDayByDayScan() {
+        WorkingDayCalendar calendar = new WorkingDayCalendar(DateUtils::isWorkingDay, 2000, 2030);
+        Random random = new Random(7);
+        LocalDate origin = LocalDate.of(1995, 1, 1);
+        for (int i = 0; i < 200; i++) {
+            LocalDate start = origin.plusDays(random.nextInt(14_000));
+            LocalDate end = start.plusDays(random.nextInt(3_000));
+            assertEquals(countByScan(start, end), calendar.countWorkingDays(start, end));
+        }
+    }
+
+    @Test
+    public void testCountEdgeCases() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.defaultCalendar();
+        assertEquals(0, calendar.countWorkingDays(LocalDate.of(2025, 1, 10), LocalDate.of(2025, 1, 1)));
+        assertEquals(0, calendar.countWorkingDays(null, LocalDate.of(2025, 1, 1)));
+        assertEquals(1, calendar.countWorkingDays(LocalDate.of(2025, 1, 2), LocalDate.of(2025, 1, 2)));
+        assertEquals(0, calendar.countWorkingDays(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 1)));
+    }
+
+    @Test
+    public void testAddWorkingDaysMatchesStepping() {
+        WorkingDayCalendar calendar = new WorkingDayCalendar(DateUtils::isWorkingDay, 2020, 2022);
+        Random random = new Random(11);
+        for (int i = 0; i < 200; i++) {
+            LocalDate date = LocalDate.of(2019, 6, 1).plusDays(random.nextInt(1_500));
+            int n = random.nextInt(121) - 60;
+
+            LocalDate expected = date;
+            for (int remaining = Math.abs(n); remaining > 0; ) {
+                expected = expected.plusDays(n > 0 ? 1 : -1);
+                if (DateUtils.isWorkingDay(expected)) remaining--;
+            }
+            assertEquals(expected, calendar.addWorkingDays(date, n));
+        }
+    }
+
+    @Test
+    public void testNextAndPreviousWorkingDay() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.defaultCalendar();
+        assertEquals(LocalDate.of(2025, 1, 2), calendar.nextWorkingDay(LocalDate.of(2024, 12, 31)));
+        assertEquals(LocalDate.of(2024, 12, 27), calendar.previousWorkingDay(LocalDate.of(2024, 12, 30)));
+        assertTrue(calendar.isWorkingDay(LocalDate.of(2024, 12, 26)));
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2024, 12, 25)));
+    }
+
+    @Test
+    public void testInvalidRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new WorkingDayCalendar(DateUtils::isWorkingDay, 2030, 2020));
+    }
+
+}
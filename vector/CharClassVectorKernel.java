@@ -0,0 +1,49 @@
+package vector;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+
+/**
+ * Noyau vectoriel de {@code src.CharClass}, compilé et lancé avec {@code --add-modules jdk.incubator.vector}.
+ *
+ * <p>Les caractères sont chargés par blocs de {@code SPECIES.length()} valeurs de 16 bits. Pour chaque
+ * intervalle [bas, bas + écart], un caractère en fait partie si {@code c - bas <= écart} en comparaison
+ * non signée ; le premier bloc où un caractère n'appartient à aucun intervalle donne la position cherchée.</p>
+ */
+public final class CharClassVectorKernel {
+
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+    private CharClassVectorKernel() {
+        throw new UnsupportedOperationException("Cette classe utilitaire ne peut pas être instanciée.");
+    }
+
+
+    /**
+     * @param chars Les caractères.
+     * @param from  Début de la portion (inclus).
+     * @param to    Fin de la portion (exclue).
+     * @param lows  Premiers caractères des intervalles.
+     * @param spans Écarts entre dernier et premier caractère de chaque intervalle.
+     * @return La position du premier caractère hors des intervalles ; à défaut, {@code -1 - fin} où {@code fin}
+     *         est la fin de la partie traitée par blocs complets, le reste étant laissé à l'appelant.
+     */
+    public static int indexOfMismatch(char[] chars, int from, int to, char[] lows, char[] spans) {
+        int i = from;
+        int bound = from + SPECIES.loopBound(to - from);
+        if (lows.length == 0) return from < bound ? from : -1 - from;
+        for (; i < bound; i += SPECIES.length()) {
+            ShortVector v = ShortVector.fromCharArray(SPECIES, chars, i);
+            VectorMask<Short> inside = v.sub((short) lows[0]).compare(VectorOperators.UNSIGNED_LE, (short) spans[0]);
+            for (int r = 1; r < lows.length; r++) {
+                inside = inside.or(v.sub((short) lows[r]).compare(VectorOperators.UNSIGNED_LE, (short) spans[r]));
+            }
+            if (!inside.allTrue()) return i + inside.not().firstTrue();
+        }
+        return -1 - bound;
+    }
+
+}